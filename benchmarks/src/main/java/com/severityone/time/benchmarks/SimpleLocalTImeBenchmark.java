@@ -0,0 +1,203 @@
+package com.severityone.time.benchmarks;
+
+import com.severityone.time.SimpleLocalTIme;
+import com.severityone.time.SimpleLocalTImeCodec;
+import com.severityone.time.TimeOfDayConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the factories, arithmetic, formatting and comparison of {@link SimpleLocalTIme}. Every benchmark has a
+ * {@code baseline} counterpart that does the same with {@link LocalTime}. The inputs are cycled through a table of
+ * random values, so that the JIT compiler cannot fold them into constants.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimpleLocalTImeBenchmark
+{
+    private static final int VALUES = 1024;
+    private static final int MASK = VALUES - 1;
+
+    private final int[] hours = new int[VALUES];
+    private final int[] minutes = new int[VALUES];
+    private final int[] minutesOfDay = new int[VALUES];
+    private final Instant[] instants = new Instant[VALUES];
+    private final SimpleLocalTIme[] times = new SimpleLocalTIme[VALUES];
+    private final LocalTime[] localTimes = new LocalTime[VALUES];
+    private final String[] strings = new String[VALUES];
+    private final StringBuilder builder = new StringBuilder();
+
+    private final ZoneId zoneId = ZoneId.of("Europe/Amsterdam");
+    private final TimeOfDayConverter converter = TimeOfDayConverter.of(zoneId);
+    private final long[] epochMillis = new long[VALUES];
+    private final short[] minutesOfDayOut = new short[VALUES];
+    private int index;
+
+    @Setup
+    public void setUp()
+    {
+        final SplittableRandom random = new SplittableRandom(42);
+        final long now = Instant.parse("2019-06-01T00:00:00Z").getEpochSecond();
+        for (int value = 0; value < VALUES; value++)
+        {
+            hours[value] = random.nextInt(24);
+            minutes[value] = random.nextInt(60);
+            minutesOfDay[value] = hours[value] * 60 + minutes[value];
+            instants[value] = Instant.ofEpochSecond(now + random.nextInt(365 * 24 * 60 * 60));
+            epochMillis[value] = instants[value].toEpochMilli();
+            times[value] = SimpleLocalTIme.of(hours[value], minutes[value]);
+            localTimes[value] = LocalTime.of(hours[value], minutes[value]);
+            strings[value] = localTimes[value].toString();
+        }
+    }
+
+    private int next()
+    {
+        return index++ & MASK;
+    }
+
+    @Benchmark
+    public SimpleLocalTIme of()
+    {
+        final int value = next();
+        return SimpleLocalTIme.of(hours[value], minutes[value]);
+    }
+
+    @Benchmark
+    public LocalTime ofBaseline()
+    {
+        final int value = next();
+        return LocalTime.of(hours[value], minutes[value]);
+    }
+
+    @Benchmark
+    public SimpleLocalTIme ofMinuteOfDay()
+    {
+        return SimpleLocalTIme.ofMinuteOfDay(minutesOfDay[next()]);
+    }
+
+    @Benchmark
+    public LocalTime ofMinuteOfDayBaseline()
+    {
+        return LocalTime.ofSecondOfDay(minutesOfDay[next()] * 60L);
+    }
+
+    @Benchmark
+    public SimpleLocalTIme ofInstant()
+    {
+        return SimpleLocalTIme.ofInstant(instants[next()], zoneId);
+    }
+
+    @Benchmark
+    public LocalTime ofInstantBaseline()
+    {
+        return LocalDateTime.ofInstant(instants[next()], zoneId).toLocalTime();
+    }
+
+    @Benchmark
+    public SimpleLocalTIme ofInstantConverter()
+    {
+        return converter.toSimpleLocalTIme(instants[next()]);
+    }
+
+    @Benchmark
+    public SimpleLocalTIme now()
+    {
+        return SimpleLocalTIme.now(zoneId);
+    }
+
+    @Benchmark
+    public LocalTime nowBaseline()
+    {
+        return LocalTime.now(zoneId);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public short[] fromEpochMillisBulk()
+    {
+        converter.fromEpochMillis(epochMillis, 0, minutesOfDayOut, 0, VALUES);
+        return minutesOfDayOut;
+    }
+
+    @Benchmark
+    public SimpleLocalTIme plusMinutes()
+    {
+        final int value = next();
+        return times[value].plusMinutes(minutesOfDay[value]);
+    }
+
+    @Benchmark
+    public LocalTime plusMinutesBaseline()
+    {
+        final int value = next();
+        return localTimes[value].plusMinutes(minutesOfDay[value]);
+    }
+
+    @Benchmark
+    public String toStringSimple()
+    {
+        return times[next()].toString();
+    }
+
+    @Benchmark
+    public String toStringBaseline()
+    {
+        return localTimes[next()].toString();
+    }
+
+    @Benchmark
+    public SimpleLocalTIme parse()
+    {
+        return SimpleLocalTIme.parse(strings[next()]);
+    }
+
+    @Benchmark
+    public LocalTime parseBaseline()
+    {
+        return LocalTime.parse(strings[next()]);
+    }
+
+    @Benchmark
+    public StringBuilder appendTo()
+    {
+        builder.setLength(0);
+        return SimpleLocalTImeCodec.EXTENDED.appendTo(times[next()], builder);
+    }
+
+    @Benchmark
+    public int compareTo()
+    {
+        final int value = next();
+        return times[value].compareTo(times[(value + 1) & MASK]);
+    }
+
+    @Benchmark
+    public int compareToBaseline()
+    {
+        final int value = next();
+        return localTimes[value].compareTo(localTimes[(value + 1) & MASK]);
+    }
+
+    @Benchmark
+    public int hashCodeSimple()
+    {
+        return times[next()].hashCode();
+    }
+
+    @Benchmark
+    public int hashCodeBaseline()
+    {
+        return localTimes[next()].hashCode();
+    }
+}
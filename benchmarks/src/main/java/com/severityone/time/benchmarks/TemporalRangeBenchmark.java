@@ -0,0 +1,130 @@
+package com.severityone.time.benchmarks;
+
+import com.severityone.time.LocalDateRange;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures iteration over a {@link LocalDateRange}, sequentially and in parallel, for a month and for a range of
+ * roughly 2,700 years. The {@code baseline} benchmarks do the same work with a plain {@link LocalDate#plusDays}
+ * loop, which is the cost that the range should get as close to as possible.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemporalRangeBenchmark
+{
+    @Param({"31", "1000000"})
+    public int days;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDateRange range;
+    private LocalDate[] dates;
+    private long[] epochDays;
+
+    @Setup
+    public void setUp()
+    {
+        startDate = LocalDate.of(2000, Month.JANUARY, 1);
+        endDate = startDate.plusDays(days);
+        range = LocalDateRange.of(startDate, endDate);
+        dates = new LocalDate[days];
+        epochDays = new long[days];
+    }
+
+    @Benchmark
+    public void iterator(final Blackhole blackhole)
+    {
+        for (final LocalDate date : range)
+            blackhole.consume(date);
+    }
+
+    @Benchmark
+    public void iteratorExplicit(final Blackhole blackhole)
+    {
+        final Iterator<LocalDate> iterator = range.iterator();
+        while (iterator.hasNext())
+            blackhole.consume(iterator.next());
+    }
+
+    @Benchmark
+    public long stream()
+    {
+        return range.stream()
+                    .mapToLong(LocalDate::toEpochDay)
+                    .sum();
+    }
+
+    @Benchmark
+    public long parallelStream()
+    {
+        return range.parallelStream()
+                    .mapToLong(LocalDate::toEpochDay)
+                    .sum();
+    }
+
+    @Benchmark
+    public long epochDays()
+    {
+        return range.epochDays().sum();
+    }
+
+    @Benchmark
+    public long parallelEpochDays()
+    {
+        return range.parallelEpochDays().sum();
+    }
+
+    @Benchmark
+    public List<LocalDate> collectList()
+    {
+        return range.stream().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public LocalDate[] toArray()
+    {
+        return range.toArray(dates);
+    }
+
+    @Benchmark
+    public long[] fillEpochDays()
+    {
+        range.fillEpochDays(epochDays, 0);
+        return epochDays;
+    }
+
+    @Benchmark
+    public void baseline(final Blackhole blackhole)
+    {
+        for (int index = 0; index < days; index++)
+            blackhole.consume(startDate.plusDays(index));
+    }
+
+    @Benchmark
+    public void baselineIncremental(final Blackhole blackhole)
+    {
+        for (LocalDate date = startDate; date.isBefore(endDate); date = date.plusDays(1))
+            blackhole.consume(date);
+    }
+
+    @Benchmark
+    public long baselineStream()
+    {
+        long sum = 0;
+        for (int index = 0; index < days; index++)
+            sum += startDate.plusDays(index).toEpochDay();
+        return sum;
+    }
+}
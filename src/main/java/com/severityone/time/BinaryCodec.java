@@ -0,0 +1,640 @@
+package com.severityone.time;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads and writes a compact binary form of {@link SimpleLocalTIme}, {@link Timing} and {@link TemporalRange}, to
+ * and from {@link DataOutput}/{@link DataInput} and {@link ByteBuffer}.
+ * <ul>
+ * <li>A {@code SimpleLocalTIme} is written as its minute of day, in two bytes.</li>
+ * <li>A {@code Timing} is written in its packed form, in eight bytes: the minutes since 1970-01-01T00:00, times
+ * two, plus the ordinal of its {@link TimingType}.</li>
+ * <li>A sorted sequence of either is written as its number of elements, the first element, and the differences
+ * between consecutive elements, all as variable-length integers. Consecutive values tend to be close together, so
+ * most differences take only one or two bytes.</li>
+ * <li>A {@code TemporalRange} is written as the type of its origin, the origin, the number of elements, the amount
+ * of units per element, the {@link ChronoUnit}, and the number of units between the origin and the first element.
+ * The origin is the starting point of the range, unless the range is a view, such as a sub-range, of another
+ * range. Ranges are supported over {@link LocalDate}, {@link LocalDateTime}, {@link Instant} and
+ * {@link SimpleLocalTIme}.</li>
+ * </ul>
+ * Variable-length integers use seven bits per byte, least significant first, with the high bit set on all but the
+ * last byte. Signed values are zigzag-encoded first, so that small negative values are short, too.
+ */
+public final class BinaryCodec
+{
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final byte LOCAL_DATE_TYPE = 1;
+    private static final byte LOCAL_DATE_TIME_TYPE = 2;
+    private static final byte INSTANT_TYPE = 3;
+    private static final byte SIMPLE_LOCAL_TIME_TYPE = 4;
+
+    private static final ChronoUnit[] UNITS = ChronoUnit.values();
+
+    private BinaryCodec()
+    {
+    }
+
+    // --- SimpleLocalTIme
+
+    public static void writeSimpleLocalTIme(final DataOutput out, final SimpleLocalTIme time) throws IOException
+    {
+        out.writeShort(time.toMinuteOfDay());
+    }
+
+    public static SimpleLocalTIme readSimpleLocalTIme(final DataInput in) throws IOException
+    {
+        return simpleLocalTIme(in.readShort());
+    }
+
+    public static ByteBuffer putSimpleLocalTIme(final ByteBuffer buffer, final SimpleLocalTIme time)
+    {
+        return buffer.putShort((short) time.toMinuteOfDay());
+    }
+
+    public static SimpleLocalTIme getSimpleLocalTIme(final ByteBuffer buffer)
+    {
+        return SimpleLocalTIme.ofMinuteOfDay(buffer.getShort());
+    }
+
+    // --- Timing
+
+    public static void writeTiming(final DataOutput out, final Timing timing) throws IOException
+    {
+        out.writeLong(timing.toPacked());
+    }
+
+    public static Timing readTiming(final DataInput in) throws IOException
+    {
+        return timing(in.readLong());
+    }
+
+    public static ByteBuffer putTiming(final ByteBuffer buffer, final Timing timing)
+    {
+        return buffer.putLong(timing.toPacked());
+    }
+
+    public static Timing getTiming(final ByteBuffer buffer)
+    {
+        return Timing.ofPacked(buffer.getLong());
+    }
+
+    // --- Sorted sequences
+
+    /**
+     * Writes a sequence of times in ascending order, with delta encoding.
+     *
+     * @param out   the output to write to
+     * @param times the times to write, in ascending order
+     * @throws IOException              if the output throws it
+     * @throws IllegalArgumentException if the times are not in ascending order
+     */
+    public static void writeSortedTimes(final DataOutput out, final Collection<SimpleLocalTIme> times) throws IOException
+    {
+        writeVarLong(out, times.size());
+        int previous = 0;
+        for (final SimpleLocalTIme time : times)
+        {
+            final int minuteOfDay = time.toMinuteOfDay();
+            writeVarLong(out, delta(previous, minuteOfDay));
+            previous = minuteOfDay;
+        }
+    }
+
+    /**
+     * Reads a sequence of times that was written by {@link #writeSortedTimes(DataOutput, Collection)}.
+     *
+     * @param in the input to read from
+     * @return the times, in ascending order
+     * @throws IOException if the input throws it, or if the data is corrupt
+     */
+    public static List<SimpleLocalTIme> readSortedTimes(final DataInput in) throws IOException
+    {
+        final int size = size(readVarLong(in));
+        final List<SimpleLocalTIme> times = new ArrayList<>(Math.min(size, MINUTES_PER_DAY));
+        long minuteOfDay = 0;
+        for (int index = 0; index < size; index++)
+        {
+            minuteOfDay += readVarLong(in);
+            times.add(simpleLocalTIme(minuteOfDay));
+        }
+        return times;
+    }
+
+    /**
+     * Puts a sequence of times in ascending order, with delta encoding.
+     *
+     * @param buffer the buffer to write to
+     * @param times  the times to write, in ascending order
+     * @return the buffer
+     * @throws IllegalArgumentException if the times are not in ascending order
+     */
+    public static ByteBuffer putSortedTimes(final ByteBuffer buffer, final Collection<SimpleLocalTIme> times)
+    {
+        putVarLong(buffer, times.size());
+        int previous = 0;
+        for (final SimpleLocalTIme time : times)
+        {
+            final int minuteOfDay = time.toMinuteOfDay();
+            putVarLong(buffer, delta(previous, minuteOfDay));
+            previous = minuteOfDay;
+        }
+        return buffer;
+    }
+
+    /**
+     * Gets a sequence of times that was written by {@link #putSortedTimes(ByteBuffer, Collection)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the times, in ascending order
+     * @throws IllegalArgumentException if the data is corrupt
+     */
+    public static List<SimpleLocalTIme> getSortedTimes(final ByteBuffer buffer)
+    {
+        final long size = getVarLong(buffer);
+        if (size > buffer.remaining())
+            throw new IllegalArgumentException("Invalid number of elements: " + size);
+        final List<SimpleLocalTIme> times = new ArrayList<>((int) size);
+        long minuteOfDay = 0;
+        try
+        {
+            for (long index = 0; index < size; index++)
+            {
+                minuteOfDay += getVarLong(buffer);
+                times.add(SimpleLocalTIme.ofMinuteOfDay(minuteOfDay));
+            }
+        }
+        catch (final DateTimeException exception)
+        {
+            throw invalid(exception);
+        }
+        return times;
+    }
+
+    /**
+     * Writes a sequence of timings in ascending order, with delta encoding.
+     *
+     * @param out     the output to write to
+     * @param timings the timings to write, in ascending order
+     * @throws IOException              if the output throws it
+     * @throws IllegalArgumentException if the timings are not in ascending order
+     */
+    public static void writeSortedTimings(final DataOutput out, final Collection<Timing> timings) throws IOException
+    {
+        writeVarLong(out, timings.size());
+        long previous = 0;
+        boolean first = true;
+        for (final Timing timing : timings)
+        {
+            final long packed = timing.toPacked();
+            if (first)
+                writeVarLong(out, zigzag(packed));
+            else
+                writeVarLong(out, delta(previous, packed));
+            previous = packed;
+            first = false;
+        }
+    }
+
+    /**
+     * Reads a sequence of timings that was written by {@link #writeSortedTimings(DataOutput, Collection)}.
+     *
+     * @param in the input to read from
+     * @return the timings, in ascending order
+     * @throws IOException if the input throws it, or if the data is corrupt
+     */
+    public static List<Timing> readSortedTimings(final DataInput in) throws IOException
+    {
+        final int size = size(readVarLong(in));
+        final List<Timing> timings = new ArrayList<>(Math.min(size, 1 << 16));
+        long packed = 0;
+        for (int index = 0; index < size; index++)
+        {
+            if (index == 0)
+                packed = unzigzag(readVarLong(in));
+            else
+                packed += readVarLong(in);
+            timings.add(timing(packed));
+        }
+        return timings;
+    }
+
+    /**
+     * Puts a sequence of timings in ascending order, with delta encoding.
+     *
+     * @param buffer  the buffer to write to
+     * @param timings the timings to write, in ascending order
+     * @return the buffer
+     * @throws IllegalArgumentException if the timings are not in ascending order
+     */
+    public static ByteBuffer putSortedTimings(final ByteBuffer buffer, final Collection<Timing> timings)
+    {
+        putVarLong(buffer, timings.size());
+        long previous = 0;
+        boolean first = true;
+        for (final Timing timing : timings)
+        {
+            final long packed = timing.toPacked();
+            if (first)
+                putVarLong(buffer, zigzag(packed));
+            else
+                putVarLong(buffer, delta(previous, packed));
+            previous = packed;
+            first = false;
+        }
+        return buffer;
+    }
+
+    /**
+     * Gets a sequence of timings that was written by {@link #putSortedTimings(ByteBuffer, Collection)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the timings, in ascending order
+     * @throws IllegalArgumentException if the data is corrupt
+     */
+    public static List<Timing> getSortedTimings(final ByteBuffer buffer)
+    {
+        final long size = getVarLong(buffer);
+        if (size > buffer.remaining())
+            throw new IllegalArgumentException("Invalid number of elements: " + size);
+        final List<Timing> timings = new ArrayList<>((int) size);
+        long packed = 0;
+        try
+        {
+            for (long index = 0; index < size; index++)
+            {
+                if (index == 0)
+                    packed = unzigzag(getVarLong(buffer));
+                else
+                    packed += getVarLong(buffer);
+                timings.add(Timing.ofPacked(packed));
+            }
+        }
+        catch (final DateTimeException exception)
+        {
+            throw invalid(exception);
+        }
+        return timings;
+    }
+
+    // --- TemporalRange
+
+    /**
+     * Writes a temporal range.
+     *
+     * @param out   the output to write to
+     * @param range the range to write
+     * @throws IOException              if the output throws it
+     * @throws IllegalArgumentException if the temporal type or the unit of the range is not supported
+     */
+    public static void writeRange(final DataOutput out, final TemporalRange<?> range) throws IOException
+    {
+        final Temporal start = range.getOrigin();
+        final byte type = type(start);
+        final byte unit = unit(range.getUnit());
+        out.writeByte(type);
+        switch (type)
+        {
+            case LOCAL_DATE_TYPE:
+                writeVarLong(out, zigzag(((LocalDate) start).toEpochDay()));
+                break;
+            case LOCAL_DATE_TIME_TYPE:
+                writeVarLong(out, zigzag(((LocalDateTime) start).toLocalDate().toEpochDay()));
+                writeVarLong(out, ((LocalDateTime) start).toLocalTime().toNanoOfDay());
+                break;
+            case INSTANT_TYPE:
+                writeVarLong(out, zigzag(((Instant) start).getEpochSecond()));
+                writeVarLong(out, ((Instant) start).getNano());
+                break;
+            default:
+                writeSimpleLocalTIme(out, (SimpleLocalTIme) start);
+                break;
+        }
+        writeVarLong(out, range.getLength());
+        writeVarLong(out, zigzag(range.getAmount()));
+        out.writeByte(unit);
+        writeVarLong(out, zigzag(range.getBase()));
+    }
+
+    /**
+     * Reads a temporal range that was written by {@link #writeRange(DataOutput, TemporalRange)}. A range over
+     * {@code LocalDate} that steps in days is returned as a {@link LocalDateRange}, and one over
+     * {@code SimpleLocalTIme} that steps in minutes, as a {@link SimpleLocalTImeRange}.
+     *
+     * @param in the input to read from
+     * @return the range
+     * @throws IOException if the input throws it, or if the data is corrupt
+     */
+    public static TemporalRange<?> readRange(final DataInput in) throws IOException
+    {
+        try
+        {
+            final byte type = in.readByte();
+            final Temporal start;
+            switch (type)
+            {
+                case LOCAL_DATE_TYPE:
+                    start = LocalDate.ofEpochDay(unzigzag(readVarLong(in)));
+                    break;
+                case LOCAL_DATE_TIME_TYPE:
+                    start = LocalDateTime.of(LocalDate.ofEpochDay(unzigzag(readVarLong(in))),
+                                             LocalTime.ofNanoOfDay(readVarLong(in)));
+                    break;
+                case INSTANT_TYPE:
+                    start = Instant.ofEpochSecond(unzigzag(readVarLong(in)), readVarLong(in));
+                    break;
+                case SIMPLE_LOCAL_TIME_TYPE:
+                    start = readSimpleLocalTIme(in);
+                    break;
+                default:
+                    throw new StreamCorruptedException("Unknown temporal type: " + type);
+            }
+            final long length = readVarLong(in);
+            final long amount = unzigzag(readVarLong(in));
+            final int unit = in.readUnsignedByte();
+            if (unit >= UNITS.length)
+                throw new StreamCorruptedException("Unknown unit: " + unit);
+            return range(start, unzigzag(readVarLong(in)), length, amount, UNITS[unit]);
+        }
+        catch (final DateTimeException | ArithmeticException | IllegalArgumentException exception)
+        {
+            throw corrupted(exception);
+        }
+    }
+
+    /**
+     * Puts a temporal range, in the same format as {@link #writeRange(DataOutput, TemporalRange)}.
+     *
+     * @param buffer the buffer to write to
+     * @param range  the range to write
+     * @return the buffer
+     * @throws IllegalArgumentException if the temporal type or the unit of the range is not supported
+     */
+    public static ByteBuffer putRange(final ByteBuffer buffer, final TemporalRange<?> range)
+    {
+        final Temporal start = range.getOrigin();
+        final byte type = type(start);
+        final byte unit = unit(range.getUnit());
+        buffer.put(type);
+        switch (type)
+        {
+            case LOCAL_DATE_TYPE:
+                putVarLong(buffer, zigzag(((LocalDate) start).toEpochDay()));
+                break;
+            case LOCAL_DATE_TIME_TYPE:
+                putVarLong(buffer, zigzag(((LocalDateTime) start).toLocalDate().toEpochDay()));
+                putVarLong(buffer, ((LocalDateTime) start).toLocalTime().toNanoOfDay());
+                break;
+            case INSTANT_TYPE:
+                putVarLong(buffer, zigzag(((Instant) start).getEpochSecond()));
+                putVarLong(buffer, ((Instant) start).getNano());
+                break;
+            default:
+                putSimpleLocalTIme(buffer, (SimpleLocalTIme) start);
+                break;
+        }
+        putVarLong(buffer, range.getLength());
+        putVarLong(buffer, zigzag(range.getAmount()));
+        buffer.put(unit);
+        return putVarLong(buffer, zigzag(range.getBase()));
+    }
+
+    /**
+     * Gets a temporal range that was written by {@link #putRange(ByteBuffer, TemporalRange)}. A range over
+     * {@code LocalDate} that steps in days is returned as a {@link LocalDateRange}, and one over
+     * {@code SimpleLocalTIme} that steps in minutes, as a {@link SimpleLocalTImeRange}.
+     *
+     * @param buffer the buffer to read from
+     * @return the range
+     * @throws IllegalArgumentException if the data is corrupt
+     * @throws DateTimeException        if the starting point is out of range
+     */
+    public static TemporalRange<?> getRange(final ByteBuffer buffer)
+    {
+        final byte type = buffer.get();
+        final Temporal start;
+        switch (type)
+        {
+            case LOCAL_DATE_TYPE:
+                start = LocalDate.ofEpochDay(unzigzag(getVarLong(buffer)));
+                break;
+            case LOCAL_DATE_TIME_TYPE:
+                start = LocalDateTime.of(LocalDate.ofEpochDay(unzigzag(getVarLong(buffer))),
+                                         LocalTime.ofNanoOfDay(getVarLong(buffer)));
+                break;
+            case INSTANT_TYPE:
+                start = Instant.ofEpochSecond(unzigzag(getVarLong(buffer)), getVarLong(buffer));
+                break;
+            case SIMPLE_LOCAL_TIME_TYPE:
+                start = getSimpleLocalTIme(buffer);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown temporal type: " + type);
+        }
+        final long length = getVarLong(buffer);
+        final long amount = unzigzag(getVarLong(buffer));
+        final int unit = buffer.get() & 0xFF;
+        if (unit >= UNITS.length)
+            throw new IllegalArgumentException("Unknown unit: " + unit);
+        return range(start, unzigzag(getVarLong(buffer)), length, amount, UNITS[unit]);
+    }
+
+    // --- Variable-length integers
+
+    /**
+     * Writes a variable-length integer. Values from 0 to 127 take one byte; negative values take ten bytes, and
+     * should be zigzag-encoded first.
+     *
+     * @param out   the output to write to
+     * @param value the value to write
+     * @throws IOException if the output throws it
+     */
+    public static void writeVarLong(final DataOutput out, long value) throws IOException
+    {
+        while ((value & ~0x7FL) != 0)
+        {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads a variable-length integer that was written by {@link #writeVarLong(DataOutput, long)}.
+     *
+     * @param in the input to read from
+     * @return the value
+     * @throws IOException if the input throws it, or if the integer is longer than ten bytes
+     */
+    public static long readVarLong(final DataInput in) throws IOException
+    {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7)
+        {
+            final byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new StreamCorruptedException("Malformed variable-length integer");
+    }
+
+    /**
+     * Puts a variable-length integer, in the same format as {@link #writeVarLong(DataOutput, long)}.
+     *
+     * @param buffer the buffer to write to
+     * @param value  the value to write
+     * @return the buffer
+     */
+    public static ByteBuffer putVarLong(final ByteBuffer buffer, long value)
+    {
+        while ((value & ~0x7FL) != 0)
+        {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        return buffer.put((byte) value);
+    }
+
+    /**
+     * Gets a variable-length integer that was written by {@link #putVarLong(ByteBuffer, long)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the value
+     * @throws IllegalArgumentException if the integer is longer than ten bytes
+     */
+    public static long getVarLong(final ByteBuffer buffer)
+    {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7)
+        {
+            final byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IllegalArgumentException("Malformed variable-length integer");
+    }
+
+    private static long zigzag(final long value)
+    {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(final long value)
+    {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long delta(final long previous, final long current)
+    {
+        if (current < previous)
+            throw new IllegalArgumentException("Values are not in ascending order");
+        else
+            return current - previous;
+    }
+
+    private static int size(final long size) throws StreamCorruptedException
+    {
+        if (size < 0 || size > Integer.MAX_VALUE)
+            throw new StreamCorruptedException("Invalid number of elements: " + size);
+        else
+            return (int) size;
+    }
+
+    private static SimpleLocalTIme simpleLocalTIme(final long minuteOfDay) throws StreamCorruptedException
+    {
+        if (minuteOfDay < 0 || minuteOfDay >= MINUTES_PER_DAY)
+            throw new StreamCorruptedException("Invalid minute of day: " + minuteOfDay);
+        else
+            return SimpleLocalTIme.ofMinuteOfDay(minuteOfDay);
+    }
+
+    private static Timing timing(final long packed) throws StreamCorruptedException
+    {
+        try
+        {
+            return Timing.ofPacked(packed);
+        }
+        catch (final DateTimeException exception)
+        {
+            throw corrupted(exception);
+        }
+    }
+
+    private static StreamCorruptedException corrupted(final RuntimeException cause)
+    {
+        final StreamCorruptedException exception = new StreamCorruptedException(cause.getMessage());
+        exception.initCause(cause);
+        return exception;
+    }
+
+    private static IllegalArgumentException invalid(final RuntimeException cause)
+    {
+        return new IllegalArgumentException(cause.getMessage(), cause);
+    }
+
+    private static byte type(final Temporal start)
+    {
+        if (start instanceof LocalDate)
+            return LOCAL_DATE_TYPE;
+        else if (start instanceof LocalDateTime)
+            return LOCAL_DATE_TIME_TYPE;
+        else if (start instanceof Instant)
+            return INSTANT_TYPE;
+        else if (start instanceof SimpleLocalTIme)
+            return SIMPLE_LOCAL_TIME_TYPE;
+        else
+            throw new IllegalArgumentException("Unsupported temporal type: " + start.getClass().getName());
+    }
+
+    private static byte unit(final TemporalUnit unit)
+    {
+        if (unit instanceof ChronoUnit)
+            return (byte) ((ChronoUnit) unit).ordinal();
+        else
+            throw new IllegalArgumentException("Unsupported unit: " + unit);
+    }
+
+    /**
+     * Returns a range of the given number of elements, with the first element at the given number of units from
+     * the origin. Except for a {@code LocalDateRange} or a {@code SimpleLocalTImeRange}, a range is created as a
+     * view of an empty range at the origin, so that the elements are computed from the origin, as they were in the
+     * range that was written.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static TemporalRange<?> range(final Temporal origin,
+                                          final long base,
+                                          final long length,
+                                          final long amount,
+                                          final TemporalUnit unit)
+    {
+        Objects.requireNonNull(origin);
+        if (amount == 0 || length < 0)
+            throw new IllegalArgumentException("Invalid range: " + length + " elements of " + amount + ' ' + unit);
+        else if (origin instanceof LocalDate && unit == ChronoUnit.DAYS)
+            return LocalDateRange.of(((LocalDate) origin).plusDays(base), length, amount);
+        else if (origin instanceof SimpleLocalTIme && unit == ChronoUnit.MINUTES &&
+                 SimpleLocalTImeRange.isWithinDay(length, amount))
+            return SimpleLocalTImeRange.of(((SimpleLocalTIme) origin).plusMinutes(base), length, amount);
+        else
+            return new TemporalRange((Comparable & Temporal) origin, 0, 1, unit).view(base, amount, length);
+    }
+}
@@ -0,0 +1,29 @@
+package com.severityone.time;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the default executor for tasks that block on I/O, such as the actions of
+ * {@link TemporalRange#parallelForEach(int, java.util.function.Consumer)}. This version is a shared, unbounded pool
+ * of daemon threads, which are reused, and which end after a minute without work. On Java 21 and later, the
+ * multi-release jar replaces this class with one that starts a virtual thread for every task.
+ */
+final class BlockingExecutors
+{
+    private static final Executor DEFAULT = Executors.newCachedThreadPool(task ->
+    {
+        final Thread thread = new Thread(task, "time-ext-blocking");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private BlockingExecutors()
+    {
+    }
+
+    static Executor defaultExecutor()
+    {
+        return DEFAULT;
+    }
+}
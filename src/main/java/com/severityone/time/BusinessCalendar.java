@@ -0,0 +1,396 @@
+package com.severityone.time;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable calendar of business days within a fixed window of dates. Every date in the window is a bit in a
+ * bitmap, set for business days, and cleared for weekends and holidays. For every 64-bit word of the bitmap, the
+ * number of business days before it is stored as well, so that counting the business days in a range takes two
+ * look-ups and two population counts, and finding the <i>n</i>th business day after a date takes a binary search
+ * over those counts, and a search within a single word.
+ * <p>
+ * A calendar is built with a {@link Builder}. All methods throw a {@link DateTimeException} for dates outside of the
+ * window of the calendar.
+ */
+public final class BusinessCalendar
+{
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = (1 << WORD_SHIFT) - 1;
+
+    private final long startEpochDay;
+    private final long endEpochDay;
+    private final long[] words;
+
+    /**
+     * The number of business days before each word, with one extra element for the total.
+     */
+    private final int[] ranks;
+
+    private BusinessCalendar(final long startEpochDay, final long endEpochDay, final long[] words)
+    {
+        this.startEpochDay = startEpochDay;
+        this.endEpochDay = endEpochDay;
+        this.words = words;
+        this.ranks = new int[words.length + 1];
+        for (int index = 0; index < words.length; index++)
+            ranks[index + 1] = ranks[index] + Long.bitCount(words[index]);
+    }
+
+    /**
+     * Returns a builder for a calendar of the dates in the given range. By default, Saturdays and Sundays are
+     * weekend days, and there are no holidays.
+     *
+     * @param window the dates that the calendar covers
+     * @return a new builder
+     * @throws IllegalArgumentException if the range skips dates
+     */
+    public static Builder builder(final LocalDateRange window)
+    {
+        return new Builder(window.getMinEpochDay(), window.getMaxEpochDayExclusive());
+    }
+
+    /**
+     * Returns whether the given date is a business day.
+     *
+     * @param date the date to check
+     * @return true if the date is neither a weekend day nor a holiday
+     * @throws DateTimeException if the date is outside of the window of this calendar
+     */
+    public boolean isBusinessDay(final LocalDate date)
+    {
+        final long position = position(date.toEpochDay());
+        return (words[(int) (position >>> WORD_SHIFT)] & 1L << position) != 0;
+    }
+
+    /**
+     * Returns the number of business days in the given range.
+     *
+     * @param range the range of dates
+     * @return the number of business days
+     * @throws DateTimeException        if the range is not within the window of this calendar
+     * @throws IllegalArgumentException if the range skips dates
+     */
+    public long countBusinessDays(final LocalDateRange range)
+    {
+        if (range.isEmpty())
+            return 0;
+        final long from = position(range.getMinEpochDay());
+        return rank(checkFence(from + range.getLength())) - rank(from);
+    }
+
+    /**
+     * Returns the date that is the given number of business days after the given date. The given date itself is
+     * not counted, so that one business day after a Friday is usually the next Monday. If the number of business
+     * days is negative, the date is the given number of business days before the given date; if it is zero, the
+     * date itself is returned, whether it is a business day or not.
+     *
+     * @param date         the date to start counting from
+     * @param businessDays the number of business days to count
+     * @return the date that is the number of business days away
+     * @throws DateTimeException if either date is outside of the window of this calendar
+     */
+    public LocalDate nthBusinessDayAfter(final LocalDate date, final long businessDays)
+    {
+        final long position = position(date.toEpochDay());
+        final long target;
+        if (businessDays > 0)
+            target = rank(position + 1) + businessDays - 1;
+        else if (businessDays < 0)
+            target = rank(position) + businessDays;
+        else
+            return date;
+        if (target < 0 || target >= ranks[words.length])
+            throw new DateTimeException("Business day is outside of the calendar window: " + businessDays +
+                                        " business days after " + date);
+        return LocalDate.ofEpochDay(startEpochDay + select((int) target));
+    }
+
+    /**
+     * Returns a sequential stream of the business days in the given range, in order, also if the range goes back
+     * in time.
+     *
+     * @param range the range of dates
+     * @return the business days in the range
+     * @throws DateTimeException        if the range is not within the window of this calendar
+     * @throws IllegalArgumentException if the range skips dates
+     */
+    public Stream<LocalDate> businessDays(final LocalDateRange range)
+    {
+        return businessEpochDays(range).mapToObj(LocalDate::ofEpochDay);
+    }
+
+    /**
+     * Returns a sequential stream of the epoch days of the business days in the given range, in order, also if the
+     * range goes back in time. The stream skips over non-business days a whole word at a time.
+     *
+     * @param range the range of dates
+     * @return the epoch days of the business days in the range
+     * @throws DateTimeException        if the range is not within the window of this calendar
+     * @throws IllegalArgumentException if the range skips dates
+     */
+    public LongStream businessEpochDays(final LocalDateRange range)
+    {
+        if (range.isEmpty())
+            return LongStream.empty();
+        final long from = position(range.getMinEpochDay());
+        return StreamSupport.longStream(new BusinessDaySpliterator(from, checkFence(from + range.getLength())), false);
+    }
+
+    /**
+     * Returns the number of business days before the given position in the bitmap.
+     */
+    private long rank(final long position)
+    {
+        final int word = (int) (position >>> WORD_SHIFT);
+        final int bit = (int) position & WORD_MASK;
+        if (bit == 0)
+            return ranks[word];
+        else
+            return ranks[word] + Long.bitCount(words[word] & -1L >>> (Long.SIZE - bit));
+    }
+
+    /**
+     * Returns the position in the bitmap of the business day with the given rank, counting from zero.
+     */
+    private long select(final int rank)
+    {
+        int low = 0;
+        int high = words.length;
+        while (low < high - 1)
+        {
+            final int mid = (low + high) >>> 1;
+            if (ranks[mid] <= rank)
+                low = mid;
+            else
+                high = mid;
+        }
+        long word = words[low];
+        for (int skip = rank - ranks[low]; skip > 0; skip--)
+            word &= word - 1;
+        return ((long) low << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+    }
+
+    private long position(final long epochDay)
+    {
+        if (epochDay < startEpochDay || epochDay >= endEpochDay)
+            throw new DateTimeException("Date is outside of the calendar window: " + LocalDate.ofEpochDay(epochDay));
+        return epochDay - startEpochDay;
+    }
+
+    private long checkFence(final long fence)
+    {
+        if (fence > endEpochDay - startEpochDay)
+            throw new DateTimeException("Date is outside of the calendar window: " +
+                                        LocalDate.ofEpochDay(startEpochDay + fence - 1));
+        return fence;
+    }
+
+    /**
+     * Traverses the business days between two positions in the bitmap, skipping over cleared bits with
+     * {@link Long#numberOfTrailingZeros(long)}. Its size is exact, as it is the difference of two ranks.
+     */
+    private final class BusinessDaySpliterator implements Spliterator.OfLong
+    {
+        private static final int CHARACTERISTICS = ORDERED | DISTINCT | SORTED | SIZED | NONNULL | IMMUTABLE | SUBSIZED;
+
+        private long position;
+        private final long fence;
+
+        BusinessDaySpliterator(final long position, final long fence)
+        {
+            this.position = position;
+            this.fence = fence;
+        }
+
+        /**
+         * Returns the position of the next business day from the current position, or the fence if there is none.
+         */
+        private long next()
+        {
+            long current = position;
+            while (current < fence)
+            {
+                final int index = (int) (current >>> WORD_SHIFT);
+                final long word = words[index] & -1L << current;
+                if (word != 0)
+                    return Math.min(fence, ((long) index << WORD_SHIFT) + Long.numberOfTrailingZeros(word));
+                current = (long) (index + 1) << WORD_SHIFT;
+            }
+            return fence;
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action)
+        {
+            Objects.requireNonNull(action);
+            final long next = next();
+            if (next >= fence)
+            {
+                position = fence;
+                return false;
+            }
+            else
+            {
+                position = next + 1;
+                action.accept(startEpochDay + next);
+                return true;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(final LongConsumer action)
+        {
+            Objects.requireNonNull(action);
+            final long end = fence;
+            long current = position;
+            position = end;
+            while (current < end)
+            {
+                final int index = (int) (current >>> WORD_SHIFT);
+                final long base = (long) index << WORD_SHIFT;
+                long word = words[index] & -1L << current;
+                if (end - base < Long.SIZE)
+                    word &= -1L >>> (Long.SIZE - (end - base));
+                while (word != 0)
+                {
+                    action.accept(startEpochDay + base + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+                current = base + Long.SIZE;
+            }
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit()
+        {
+            final long low = position;
+            final long mid = (low + fence) >>> 1;
+            if (low >= mid)
+                return null;
+            else
+            {
+                position = mid;
+                return new BusinessDaySpliterator(low, mid);
+            }
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return rank(fence) - rank(position);
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return CHARACTERISTICS;
+        }
+
+        @Override
+        public Comparator<? super Long> getComparator()
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Collects weekend days and holidays for a new {@link BusinessCalendar}.
+     */
+    public static final class Builder
+    {
+        private final long startEpochDay;
+        private final long endEpochDay;
+        private final Set<DayOfWeek> weekend = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+        private final List<LocalDateRange> holidays = new ArrayList<>();
+
+        private Builder(final long startEpochDay, final long endEpochDay)
+        {
+            if (endEpochDay - startEpochDay > (long) Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Calendar window is too large");
+            this.startEpochDay = startEpochDay;
+            this.endEpochDay = endEpochDay;
+        }
+
+        /**
+         * Sets the days of the week that are not business days, replacing the default of Saturday and Sunday.
+         *
+         * @param days the weekend days, which may be none
+         * @return this builder
+         */
+        public Builder weekend(final DayOfWeek... days)
+        {
+            weekend.clear();
+            weekend.addAll(Arrays.asList(days));
+            return this;
+        }
+
+        /**
+         * Adds a holiday.
+         *
+         * @param date the holiday
+         * @return this builder
+         */
+        public Builder holiday(final LocalDate date)
+        {
+            holidays.add(LocalDateRange.of(date, date.plusDays(1)));
+            return this;
+        }
+
+        /**
+         * Adds the dates in the given set as holidays.
+         *
+         * @param dates the holidays
+         * @return this builder
+         */
+        public Builder holidays(final LocalDateRangeSet dates)
+        {
+            for (final LocalDateRange range : dates)
+                holidays.add(range);
+            return this;
+        }
+
+        /**
+         * Builds the calendar. Holidays outside of the window of the calendar are ignored, and holidays that are added
+         * more than once count once.
+         *
+         * @return a new calendar
+         */
+        public BusinessCalendar build()
+        {
+            final long length = endEpochDay - startEpochDay;
+            final long[] words = new long[(int) ((length + WORD_MASK) >>> WORD_SHIFT)];
+
+            // one week of bits, repeated over the whole bitmap, starting from the day of the week of the first date
+            long week = 0;
+            for (final DayOfWeek day : DayOfWeek.values())
+                if (!weekend.contains(day))
+                    week |= 1L << Math.floorMod(day.getValue() - 4 - startEpochDay, 7);
+            for (long position = 0; position < length; position++)
+                if ((week & 1L << position % 7) != 0)
+                    words[(int) (position >>> WORD_SHIFT)] |= 1L << position;
+
+            for (final LocalDateRange range : holidays)
+            {
+                final long from = Math.max(range.getMinEpochDay(), startEpochDay) - startEpochDay;
+                final long to = Math.min(range.getMaxEpochDayExclusive(), endEpochDay) - startEpochDay;
+                for (long position = from; position < to; position++)
+                    words[(int) (position >>> WORD_SHIFT)] &= ~(1L << position);
+            }
+            return new BusinessCalendar(startEpochDay, endEpochDay, words);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.severityone.time;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable set of minutes of the day, such as opening hours or a maintenance window, that repeats every day.
+ * The set is a bitmap of 1440 bits, one for every {@link SimpleLocalTIme}, in 23 {@code long}s, so that set
+ * operations are a handful of word-wise operations, and finding the next opening or closing time is a scan of at
+ * most 23 words. Bits beyond the last minute of the day are always clear.
+ * <p>
+ * The next opening and closing times wrap around past midnight. Combined with a {@link LocalDateRange}, a schedule
+ * produces its open intervals on those dates, where an interval that is open at midnight continues into the next
+ * day.
+ */
+public final class DailySchedule
+{
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_COUNT = (MINUTES_PER_DAY + Long.SIZE - 1) >>> WORD_SHIFT;
+    private static final long LAST_WORD_MASK = -1L >>> (WORD_COUNT * Long.SIZE - MINUTES_PER_DAY);
+
+    private static final DailySchedule NEVER = new DailySchedule(new long[WORD_COUNT]);
+    private static final DailySchedule ALWAYS = NEVER.complement();
+
+    private final long[] words;
+
+    private DailySchedule(final long[] words)
+    {
+        this.words = words;
+    }
+
+    /**
+     * Returns the schedule that is never open.
+     *
+     * @return the empty schedule
+     */
+    public static DailySchedule never()
+    {
+        return NEVER;
+    }
+
+    /**
+     * Returns the schedule that is always open.
+     *
+     * @return the full schedule
+     */
+    public static DailySchedule always()
+    {
+        return ALWAYS;
+    }
+
+    /**
+     * Returns the schedule that is open from the given time, inclusive, to the given time, exclusive. If the end
+     * is before the start, the schedule is open past midnight; if both are equal, it is always open.
+     *
+     * @param openInclusive the time at which the schedule opens
+     * @param closeExclusive the time at which the schedule closes
+     * @return the schedule
+     */
+    public static DailySchedule of(final SimpleLocalTIme openInclusive, final SimpleLocalTIme closeExclusive)
+    {
+        final int open = openInclusive.toMinuteOfDay();
+        final int close = closeExclusive.toMinuteOfDay();
+        final long[] words = new long[WORD_COUNT];
+        if (open < close)
+            set(words, open, close);
+        else
+        {
+            set(words, open, MINUTES_PER_DAY);
+            set(words, 0, close);
+        }
+        return new DailySchedule(words);
+    }
+
+    private static void set(final long[] words, final int from, final int to)
+    {
+        for (int minute = from; minute < to; )
+        {
+            final int word = minute >>> WORD_SHIFT;
+            final int wordEnd = Math.min(to, (word + 1) << WORD_SHIFT);
+            words[word] |= -1L >>> (Long.SIZE - (wordEnd - minute)) << minute;
+            minute = wordEnd;
+        }
+    }
+
+    /**
+     * Returns the schedule that is open whenever this schedule or the other schedule is open.
+     *
+     * @param other the other schedule
+     * @return the union of both schedules
+     */
+    public DailySchedule union(final DailySchedule other)
+    {
+        final long[] result = new long[WORD_COUNT];
+        for (int word = 0; word < WORD_COUNT; word++)
+            result[word] = words[word] | other.words[word];
+        return new DailySchedule(result);
+    }
+
+    /**
+     * Returns the schedule that is open whenever both this schedule and the other schedule are open.
+     *
+     * @param other the other schedule
+     * @return the intersection of both schedules
+     */
+    public DailySchedule intersect(final DailySchedule other)
+    {
+        final long[] result = new long[WORD_COUNT];
+        for (int word = 0; word < WORD_COUNT; word++)
+            result[word] = words[word] & other.words[word];
+        return new DailySchedule(result);
+    }
+
+    /**
+     * Returns the schedule that is open whenever this schedule is closed.
+     *
+     * @return the complement of this schedule
+     */
+    public DailySchedule complement()
+    {
+        final long[] result = new long[WORD_COUNT];
+        for (int word = 0; word < WORD_COUNT; word++)
+            result[word] = ~words[word];
+        result[WORD_COUNT - 1] &= LAST_WORD_MASK;
+        return new DailySchedule(result);
+    }
+
+    /**
+     * Returns whether this schedule is open at the given time.
+     *
+     * @param time the time to check
+     * @return true if the schedule is open
+     */
+    public boolean contains(final SimpleLocalTIme time)
+    {
+        final int minute = time.toMinuteOfDay();
+        return (words[minute >>> WORD_SHIFT] & 1L << minute) != 0;
+    }
+
+    /**
+     * Returns the first time at or after the given time at which this schedule is open, wrapping around past
+     * midnight.
+     *
+     * @param time the time to start looking from
+     * @return the next time at which the schedule is open, or null if it is never open
+     */
+    public SimpleLocalTIme nextOpen(final SimpleLocalTIme time)
+    {
+        int minute = nextSetBit(time.toMinuteOfDay());
+        if (minute == MINUTES_PER_DAY)
+            minute = nextSetBit(0);
+        return minute == MINUTES_PER_DAY ? null : SimpleLocalTIme.ofMinuteOfDay(minute);
+    }
+
+    /**
+     * Returns the first time at or after the given time at which this schedule is closed, wrapping around past
+     * midnight.
+     *
+     * @param time the time to start looking from
+     * @return the next time at which the schedule is closed, or null if it is always open
+     */
+    public SimpleLocalTIme nextClose(final SimpleLocalTIme time)
+    {
+        int minute = nextClearBit(time.toMinuteOfDay());
+        if (minute == MINUTES_PER_DAY)
+            minute = nextClearBit(0);
+        return minute == MINUTES_PER_DAY ? null : SimpleLocalTIme.ofMinuteOfDay(minute);
+    }
+
+    /**
+     * Returns the number of minutes per day that this schedule is open.
+     *
+     * @return the number of open minutes
+     */
+    public int openMinutes()
+    {
+        int count = 0;
+        for (final long word : words)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+    public boolean isNever()
+    {
+        return equals(NEVER);
+    }
+
+    public boolean isAlways()
+    {
+        return equals(ALWAYS);
+    }
+
+    /**
+     * Returns the first open minute at or after the given minute of the day, or the number of minutes per day.
+     */
+    private int nextSetBit(final int fromMinute)
+    {
+        int word = fromMinute >>> WORD_SHIFT;
+        long bits = words[word] & -1L << fromMinute;
+        while (bits == 0)
+        {
+            if (++word == WORD_COUNT)
+                return MINUTES_PER_DAY;
+            bits = words[word];
+        }
+        return (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Returns the first closed minute at or after the given minute of the day, or the number of minutes per day.
+     */
+    private int nextClearBit(final int fromMinute)
+    {
+        int word = fromMinute >>> WORD_SHIFT;
+        long bits = ~words[word] & -1L << fromMinute;
+        while (bits == 0)
+        {
+            if (++word == WORD_COUNT)
+                return MINUTES_PER_DAY;
+            bits = ~words[word];
+        }
+        return Math.min(MINUTES_PER_DAY, (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits));
+    }
+
+    /**
+     * Returns a lazy, sequential stream of the intervals during which this schedule is open on the dates in the
+     * given range, in order. An interval that is open at midnight continues into the next day, if that day is in
+     * the range, too. The intervals are in order, also if the range goes back in time.
+     *
+     * @param range the dates on which to apply this schedule
+     * @return the open intervals
+     * @throws IllegalArgumentException if the range skips dates
+     */
+    public Stream<TimingInterval> openIntervals(final LocalDateRange range)
+    {
+        final long startEpochMinute = range.getMinEpochDay() * MINUTES_PER_DAY;
+        final long endEpochMinute = range.getMaxEpochDayExclusive() * MINUTES_PER_DAY;
+        return StreamSupport.stream(new IntervalSpliterator(startEpochMinute, endEpochMinute), false);
+    }
+
+    private final class IntervalSpliterator extends Spliterators.AbstractSpliterator<TimingInterval>
+    {
+        private long position;
+        private final long fence;
+
+        IntervalSpliterator(final long position, final long fence)
+        {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED |
+                                  Spliterator.NONNULL | Spliterator.IMMUTABLE);
+            this.position = position;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super TimingInterval> action)
+        {
+            Objects.requireNonNull(action);
+            final long open = next(position, true);
+            if (open >= fence)
+            {
+                position = fence;
+                return false;
+            }
+            else
+            {
+                position = Math.min(fence, next(open, false));
+                action.accept(TimingInterval.ofEpochMinutes(open, position));
+                return true;
+            }
+        }
+
+        /**
+         * Returns the next epoch minute at or after the given one at which this schedule is open or closed, or a
+         * value at or beyond the fence.
+         */
+        private long next(final long from, final boolean open)
+        {
+            long dayStart = from - Math.floorMod(from, MINUTES_PER_DAY);
+            int minute = (int) (from - dayStart);
+            while (dayStart < fence)
+            {
+                final int next = open ? nextSetBit(minute) : nextClearBit(minute);
+                if (next < MINUTES_PER_DAY)
+                    return dayStart + next;
+                else if (minute == 0)
+                    return fence;
+                dayStart += MINUTES_PER_DAY;
+                minute = 0;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<TimingInterval> trySplit()
+        {
+            return null;
+        }
+
+        @Override
+        public Comparator<? super TimingInterval> getComparator()
+        {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean equals(final Object other)
+    {
+        if (this == other)
+            return true;
+        else if (other instanceof DailySchedule)
+            return Arrays.equals(words, ((DailySchedule) other).words);
+        else
+            return false;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Arrays.hashCode(words);
+    }
+
+    /**
+     * Returns the open intervals of this schedule, such as {@code [08:00/12:00, 13:00/17:30]}. An interval that is
+     * open at midnight is shown as a single interval that ends on the next day, such as {@code [22:00/06:00]}.
+     *
+     * @return the open intervals of this schedule
+     */
+    @Override
+    public String toString()
+    {
+        final StringBuilder builder = new StringBuilder("[");
+        if (isAlways())
+            builder.append(SimpleLocalTIme.MIDNIGHT).append('/').append(SimpleLocalTIme.MIDNIGHT);
+        else
+        {
+            // start right after a closed minute, so that an interval around midnight is not split in two
+            final int start = nextClearBit(0);
+            boolean wasOpen = false;
+            int open = 0;
+            for (int offset = 1; offset <= MINUTES_PER_DAY; offset++)
+            {
+                final int minute = (start + offset) % MINUTES_PER_DAY;
+                final boolean isOpen = (words[minute >>> WORD_SHIFT] & 1L << minute) != 0;
+                if (isOpen && !wasOpen)
+                    open = minute;
+                else if (!isOpen && wasOpen)
+                {
+                    if (builder.length() > 1)
+                        builder.append(", ");
+                    builder.append(SimpleLocalTIme.ofMinuteOfDay(open)).append('/')
+                           .append(SimpleLocalTIme.ofMinuteOfDay(minute));
+                }
+                wasOpen = isOpen;
+            }
+        }
+        return builder.append(']').toString();
+    }
+}
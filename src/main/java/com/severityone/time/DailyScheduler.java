@@ -0,0 +1,380 @@
+package com.severityone.time;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks every day at a given wall-clock time, optionally only on the dates in a {@link LocalDateRange}. The
+ * tasks are kept in a timing wheel of 1440 slots, one for every {@link SimpleLocalTIme}, each of which holds a
+ * doubly linked list of registrations. Registering and cancelling a task take constant time, and every minute,
+ * only the registrations in the slot of that minute are visited. A single thread wakes up once per minute, and
+ * hands the tasks that are due to an {@link Executor}.
+ * <p>
+ * The scheduler keeps track of the last local date and time that it has processed, in the time zone of its
+ * {@link Clock}, and processes every local minute after it once. When the clocks go forward, the local times in the
+ * gap are processed right after it, so that tasks for those times run once, at the first minute after the gap.
+ * When the clocks go back, the local times in the overlap have been processed already, so tasks for those times
+ * run once, at their first occurrence. If the scheduler falls behind, it catches up on the minutes it missed, up to
+ * one day.
+ * <p>
+ * A scheduler is built with a {@link Builder}, and does not run until it is {@linkplain #start() started}.
+ */
+public final class DailyScheduler implements AutoCloseable
+{
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int MINUTES_PER_DAY = 24 * MINUTES_PER_HOUR;
+    private static final long MILLIS_PER_MINUTE = 60_000;
+
+    private final Clock clock;
+    private final Executor executor;
+
+    /**
+     * The first registration in each slot, or null; the registrations in a slot form a circular list, so that the
+     * last one is the previous registration of the first one.
+     */
+    private final Registration[] slots = new Registration[MINUTES_PER_DAY];
+    private int size;
+
+    /**
+     * The last local minute that has been processed.
+     */
+    private LocalDateTime watermark;
+    private ScheduledExecutorService ticker;
+
+    private DailyScheduler(final Clock clock, final Executor executor)
+    {
+        this.clock = clock;
+        this.executor = executor;
+        this.watermark = now();
+    }
+
+    /**
+     * Returns a builder for a scheduler. By default, the scheduler uses the system clock, in the default time
+     * zone, and runs tasks on the default executor for blocking tasks.
+     *
+     * @return a new builder
+     */
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    /**
+     * Registers a task to run every day at the given time.
+     *
+     * @param time the time at which to run the task
+     * @param task the task to run
+     * @return the registration, which can be used to cancel the task
+     */
+    public Registration schedule(final SimpleLocalTIme time, final Runnable task)
+    {
+        return register(new Registration(time.toMinuteOfDay(), null, Long.MAX_VALUE, Objects.requireNonNull(task)));
+    }
+
+    /**
+     * Registers a task to run at the given time on every date in the given range. Once the last date in the range
+     * has passed, the task is removed from this scheduler.
+     *
+     * @param time  the time at which to run the task
+     * @param dates the dates on which to run the task
+     * @param task  the task to run
+     * @return the registration, which can be used to cancel the task
+     */
+    public Registration schedule(final SimpleLocalTIme time, final LocalDateRange dates, final Runnable task)
+    {
+        final long lastEpochDay = dates.isEmpty() ? Long.MIN_VALUE
+                                                  : Math.max(dates.first().toEpochDay(), dates.last().toEpochDay());
+        return register(new Registration(time.toMinuteOfDay(), dates, lastEpochDay, Objects.requireNonNull(task)));
+    }
+
+    private synchronized Registration register(final Registration registration)
+    {
+        final Registration first = slots[registration.minute];
+        if (first == null)
+        {
+            registration.previous = registration;
+            registration.next = registration;
+            slots[registration.minute] = registration;
+        }
+        else
+        {
+            registration.previous = first.previous;
+            registration.next = first;
+            first.previous.next = registration;
+            first.previous = registration;
+        }
+        size++;
+        return registration;
+    }
+
+    private void unlink(final Registration registration)
+    {
+        if (registration.next == registration)
+            slots[registration.minute] = null;
+        else
+        {
+            registration.previous.next = registration.next;
+            registration.next.previous = registration.previous;
+            if (slots[registration.minute] == registration)
+                slots[registration.minute] = registration.next;
+        }
+        registration.previous = null;
+        registration.next = null;
+        size--;
+    }
+
+    /**
+     * Returns the number of registered tasks.
+     *
+     * @return the number of tasks
+     */
+    public synchronized int size()
+    {
+        return size;
+    }
+
+    /**
+     * Starts the thread that processes this scheduler every minute, from the current minute onwards, so that tasks
+     * for the minutes before it was started, or while it was closed, do not run. Starting a scheduler that has been
+     * started already has no effect.
+     */
+    public synchronized void start()
+    {
+        if (ticker == null)
+        {
+            watermark = now();
+            ticker = Executors.newSingleThreadScheduledExecutor(task ->
+            {
+                final Thread thread = new Thread(task, "time-ext-daily-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduleTick();
+        }
+    }
+
+    /**
+     * Stops the thread that processes this scheduler. Tasks that have been handed to the executor already are not
+     * affected, and registrations are kept, so that the scheduler can be started again.
+     */
+    @Override
+    public synchronized void close()
+    {
+        if (ticker != null)
+        {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Schedules the next run of {@link #tick()}, right after the next minute starts.
+     */
+    private void scheduleTick()
+    {
+        final long delay = MILLIS_PER_MINUTE - Math.floorMod(clock.millis(), MILLIS_PER_MINUTE);
+        final ScheduledExecutorService current = ticker;
+        current.schedule(() ->
+                         {
+                             try
+                             {
+                                 tick();
+                             }
+                             finally
+                             {
+                                 synchronized (this)
+                                 {
+                                     if (ticker == current)
+                                         scheduleTick();
+                                 }
+                             }
+                         },
+                         delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Processes every local minute after the watermark, up to and including the current local minute, and hands
+     * the tasks that are due to the executor. If the executor rejects a task, that run of the task is skipped.
+     */
+    void tick()
+    {
+        final List<Runnable> due = new ArrayList<>();
+        synchronized (this)
+        {
+            final LocalDateTime now = now();
+            final LocalDateTime oldest = now.minusDays(1);
+            LocalDateTime minute = watermark.isBefore(oldest) ? oldest : watermark;
+            while (minute.isBefore(now))
+            {
+                minute = minute.plusMinutes(1);
+                collect(minute, due);
+            }
+            if (now.isAfter(watermark))
+                watermark = now;
+        }
+        for (final Runnable task : due)
+        {
+            try
+            {
+                executor.execute(task);
+            }
+            catch (final RejectedExecutionException exception)
+            {
+                // skip this run, and keep processing the others
+            }
+        }
+    }
+
+    /**
+     * Adds the tasks that are due at the given local minute to the list, and removes the registrations whose last
+     * date has passed.
+     */
+    private void collect(final LocalDateTime minute, final List<Runnable> due)
+    {
+        final Registration first = slots[minute.getHour() * MINUTES_PER_HOUR + minute.getMinute()];
+        if (first == null)
+            return;
+        final LocalDate date = minute.toLocalDate();
+        final long epochDay = date.toEpochDay();
+        final Registration last = first.previous;
+        Registration registration = first;
+        while (true)
+        {
+            final Registration next = registration.next;
+            if (registration.lastEpochDay < epochDay)
+                unlink(registration);
+            else if (registration.dates == null || registration.dates.contains(date))
+                due.add(registration.task);
+            if (registration == last)
+                break;
+            registration = next;
+        }
+    }
+
+    private LocalDateTime now()
+    {
+        return LocalDateTime.ofInstant(clock.instant(), clock.getZone()).truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    /**
+     * A task that is registered with a {@link DailyScheduler}.
+     */
+    public final class Registration
+    {
+        private final int minute;
+        private final LocalDateRange dates;
+        private final long lastEpochDay;
+        private final Runnable task;
+        private Registration previous;
+        private Registration next;
+
+        private Registration(final int minute, final LocalDateRange dates, final long lastEpochDay, final Runnable task)
+        {
+            this.minute = minute;
+            this.dates = dates;
+            this.lastEpochDay = lastEpochDay;
+            this.task = task;
+        }
+
+        /**
+         * Returns the time at which the task runs.
+         *
+         * @return the time of the task
+         */
+        public SimpleLocalTIme getTime()
+        {
+            return SimpleLocalTIme.ofMinuteOfDay(minute);
+        }
+
+        /**
+         * Returns whether the task is still registered, that is, whether it has not been cancelled, and its last
+         * date has not passed.
+         *
+         * @return true if the task is registered
+         */
+        public boolean isActive()
+        {
+            synchronized (DailyScheduler.this)
+            {
+                return next != null;
+            }
+        }
+
+        /**
+         * Removes the task from the scheduler. A run of the task that has been handed to the executor already is
+         * not affected.
+         *
+         * @return true if the task was removed, or false if it was not registered anymore
+         */
+        public boolean cancel()
+        {
+            synchronized (DailyScheduler.this)
+            {
+                if (next == null)
+                    return false;
+                else
+                {
+                    unlink(this);
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the clock and the executor for a new {@link DailyScheduler}.
+     */
+    public static final class Builder
+    {
+        private Clock clock = Clock.systemDefaultZone();
+        private Executor executor = BlockingExecutors.defaultExecutor();
+
+        private Builder()
+        {
+        }
+
+        /**
+         * Sets the clock, whose time zone determines the local times at which tasks run.
+         *
+         * @param clock the clock
+         * @return this builder
+         */
+        public Builder clock(final Clock clock)
+        {
+            this.clock = Objects.requireNonNull(clock);
+            return this;
+        }
+
+        /**
+         * Sets the executor on which tasks run.
+         *
+         * @param executor the executor
+         * @return this builder
+         */
+        public Builder executor(final Executor executor)
+        {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+
+        /**
+         * Builds the scheduler, which is not started yet.
+         *
+         * @return a new scheduler
+         */
+        public DailyScheduler build()
+        {
+            return new DailyScheduler(clock, executor);
+        }
+    }
+}
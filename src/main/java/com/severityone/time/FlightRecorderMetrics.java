@@ -0,0 +1,18 @@
+package com.severityone.time;
+
+/**
+ * Creates the {@link RangeMetrics} that emit JDK Flight Recorder events. The Flight Recorder API is available from
+ * Java 11 onwards, so this version, for Java 8 to 10, only refuses; the multi-release jar replaces this class on
+ * Java 11 and later with one that emits the events.
+ */
+final class FlightRecorderMetrics
+{
+    private FlightRecorderMetrics()
+    {
+    }
+
+    static RangeMetrics create()
+    {
+        throw new UnsupportedOperationException("Flight Recorder events require Java 11 or later");
+    }
+}
@@ -0,0 +1,50 @@
+package com.severityone.time;
+
+import java.util.Spliterator;
+
+/**
+ * Base class for spliterators that traverse a range by element index, from an index, inclusive, to a fence,
+ * exclusive. Splitting always hands out the first half of the remaining elements, so that every split covers a
+ * strict prefix and the sizes of both halves are exact.
+ *
+ * @param <S> the type of spliterator that a split returns
+ */
+abstract class IndexedSpliterator<S extends Spliterator<?>>
+{
+    long index;
+    final long fence;
+
+    IndexedSpliterator(final long index, final long fence)
+    {
+        this.index = index;
+        this.fence = fence;
+    }
+
+    /**
+     * Returns a new spliterator of the same kind, covering the elements from the given index to the given fence.
+     */
+    abstract S slice(final long index, final long fence);
+
+    public S trySplit()
+    {
+        final long low = index;
+        final long mid = (low + fence) >>> 1;
+        if (low >= mid)
+            return null;
+        else
+        {
+            index = mid;
+            return slice(low, mid);
+        }
+    }
+
+    public long estimateSize()
+    {
+        return fence - index;
+    }
+
+    public long getExactSizeIfKnown()
+    {
+        return fence - index;
+    }
+}
@@ -2,15 +2,226 @@ package com.severityone.time;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 
 public final class LocalDateRange extends TemporalRange<LocalDate>
 {
+    private final long startEpochDay;
+
     private LocalDateRange(final LocalDate startInclusive, final LocalDate endExclusive)
     {
         super(startInclusive, endExclusive, 1, ChronoUnit.DAYS);
+        this.startEpochDay = startInclusive.toEpochDay();
+    }
+
+    private LocalDateRange(final LocalDate startInclusive, final long length, final long amount)
+    {
+        super(startInclusive, Math.multiplyExact(length, amount), amount, ChronoUnit.DAYS);
+        this.startEpochDay = startInclusive.toEpochDay();
     }
 
     public static LocalDateRange of(final LocalDate startInclusive, final LocalDate endExclusive) {
         return new LocalDateRange(startInclusive, endExclusive);
     }
+
+    /**
+     * Returns a range of the given number of dates, from the given date, the given number of days apart.
+     */
+    static LocalDateRange of(final LocalDate startInclusive, final long length, final long amount)
+    {
+        return new LocalDateRange(startInclusive, length, amount);
+    }
+
+    @Override
+    public LocalDateRange subRange(final long fromIndex, final long toIndex)
+    {
+        return (LocalDateRange) super.subRange(fromIndex, toIndex);
+    }
+
+    @Override
+    public LocalDateRange reversed()
+    {
+        return (LocalDateRange) super.reversed();
+    }
+
+    @Override
+    public LocalDateRange everyNth(final long n)
+    {
+        return (LocalDateRange) super.everyNth(n);
+    }
+
+    @Override
+    public LocalDateRange headRange(final LocalDate toExclusive)
+    {
+        return (LocalDateRange) super.headRange(toExclusive);
+    }
+
+    @Override
+    public LocalDateRange tailRange(final LocalDate fromInclusive)
+    {
+        return (LocalDateRange) super.tailRange(fromInclusive);
+    }
+
+    /**
+     * Returns a new range that starts at the given number of days from the starting point of this range. Days all
+     * have the same length, so unlike other views, the new range does not need to keep this range as its origin.
+     */
+    @Override
+    LocalDateRange view(final long base, final long amount, final long length)
+    {
+        return new LocalDateRange(LocalDate.ofEpochDay(Math.addExact(startEpochDay, base)), length, amount);
+    }
+
+    /**
+     * Returns the earliest epoch day in this range, which must consist of consecutive dates, going either forward
+     * or back in time.
+     *
+     * @throws IllegalArgumentException if this range skips dates
+     */
+    long getMinEpochDay()
+    {
+        checkConsecutive();
+        return getAmount() > 0 ? startEpochDay : startEpochDay - getLength() + 1;
+    }
+
+    /**
+     * Returns the epoch day after the latest epoch day in this range, which must consist of consecutive dates,
+     * going either forward or back in time.
+     *
+     * @throws IllegalArgumentException if this range skips dates
+     */
+    long getMaxEpochDayExclusive()
+    {
+        return getMinEpochDay() + getLength();
+    }
+
+    private void checkConsecutive()
+    {
+        if (getLength() > 1 && Math.abs(getAmount()) != 1)
+            throw new IllegalArgumentException("Range skips dates: " + getAmount() + " days per element");
+    }
+
+    /**
+     * Returns a sequential {@link LongStream} of the epoch days in this range. No {@code LocalDate} is created for
+     * any of the elements.
+     *
+     * @return a sequential {@code LongStream} of epoch days
+     * @see LocalDate#toEpochDay()
+     */
+    public LongStream epochDays()
+    {
+        return StreamSupport.longStream(new EpochDaySpliterator(0, getLength()), false);
+    }
+
+    /**
+     * Returns a parallel {@link LongStream} of the epoch days in this range. It splits in the same way as
+     * {@link #parallelStream()}.
+     *
+     * @return a parallel {@code LongStream} of epoch days
+     * @see LocalDate#toEpochDay()
+     */
+    public LongStream parallelEpochDays()
+    {
+        return StreamSupport.longStream(new EpochDaySpliterator(0, getLength()), true);
+    }
+
+    /**
+     * Performs the given action for the epoch day of every element in this range, in order.
+     *
+     * @param action the action to perform for each epoch day
+     * @throws NullPointerException if the action is null
+     */
+    public void forEachEpochDay(final LongConsumer action)
+    {
+        Objects.requireNonNull(action);
+        final long amount = getAmount();
+        final long length = getLength();
+        long epochDay = startEpochDay;
+        for (long index = 0; index < length; index++, epochDay += amount)
+            action.accept(epochDay);
+    }
+
+    /**
+     * Stores the epoch days of the elements in this range into the given array, in order, from the given offset.
+     * No {@code LocalDate} is created for any of the elements.
+     *
+     * @param dest   the array to store the epoch days in
+     * @param offset the index in the array at which to store the first epoch day
+     * @return the index in the array after the last epoch day
+     * @throws IndexOutOfBoundsException if the epoch days do not fit in the array from the offset
+     * @see LocalDate#toEpochDay()
+     */
+    public int fillEpochDays(final long[] dest, final int offset)
+    {
+        final long length = getLength();
+        if (offset < 0 || offset > dest.length || length > dest.length - offset)
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", size: " + length + ", length: " + dest.length);
+        final long amount = getAmount();
+        final int end = offset + (int) length;
+        long epochDay = startEpochDay;
+        for (int index = offset; index < end; index++, epochDay += amount)
+            dest[index] = epochDay;
+        return end;
+    }
+
+    private final class EpochDaySpliterator extends IndexedSpliterator<Spliterator.OfLong> implements Spliterator.OfLong
+    {
+        private static final int CHARACTERISTICS = ORDERED | DISTINCT | SORTED | SIZED | NONNULL | IMMUTABLE | SUBSIZED;
+
+        EpochDaySpliterator(final long index, final long fence)
+        {
+            super(index, fence);
+        }
+
+        @Override
+        Spliterator.OfLong slice(final long index, final long fence)
+        {
+            return new EpochDaySpliterator(index, fence);
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action)
+        {
+            Objects.requireNonNull(action);
+            if (index >= fence)
+                return false;
+            else
+            {
+                action.accept(startEpochDay + index++ * getAmount());
+                return true;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(final LongConsumer action)
+        {
+            Objects.requireNonNull(action);
+            final long amount = getAmount();
+            final long end = fence;
+            long epochDay = startEpochDay + index * amount;
+            for (long current = index; current < end; current++, epochDay += amount)
+                action.accept(epochDay);
+            index = end;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return CHARACTERISTICS;
+        }
+
+        @Override
+        public Comparator<? super Long> getComparator()
+        {
+            if (getAmount() > 0)
+                return null;
+            else
+                return Comparator.reverseOrder();
+        }
+    }
 }
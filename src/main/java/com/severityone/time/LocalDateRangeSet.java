@@ -0,0 +1,426 @@
+package com.severityone.time;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable set of dates, held as a sorted array of disjoint, non-adjacent ranges of epoch days. Its size depends
+ * on the number of ranges, not on the number of dates in them.
+ * <p>
+ * A set is built from any number of {@link LocalDateRange}s by sorting their start and end days, and sweeping over
+ * both once, counting how many ranges are open at every start and end: the dates of the set are where that count
+ * is positive. Set operations on two sets merge their ranges in a single pass, without comparing every range of one
+ * set with every range of the other.
+ */
+public final class LocalDateRangeSet implements Iterable<LocalDateRange>
+{
+    private static final LocalDateRangeSet EMPTY = new LocalDateRangeSet(new long[0], new long[0]);
+
+    /**
+     * The start epoch days, inclusive, and the end epoch days, exclusive, of the ranges, in order.
+     */
+    private final long[] starts;
+    private final long[] ends;
+
+    private LocalDateRangeSet(final long[] starts, final long[] ends)
+    {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Returns the empty set.
+     *
+     * @return the empty set
+     */
+    public static LocalDateRangeSet empty()
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the set of dates in the given ranges, which may overlap and may be in any order. A range that goes
+     * back in time adds the same dates as the range that goes forward; a range that skips dates adds each of its
+     * dates separately.
+     *
+     * @param ranges the ranges of dates
+     * @return the set of dates
+     * @throws NullPointerException  if the collection or any of its elements is null
+     * @throws IllegalStateException if the ranges that skip dates have too many dates in total
+     */
+    public static LocalDateRangeSet of(final Collection<LocalDateRange> ranges)
+    {
+        long total = 0;
+        for (final LocalDateRange range : ranges)
+            total += isConsecutive(range) ? 1 : range.getLength();
+        if (total > Integer.MAX_VALUE - 8)
+            throw new IllegalStateException("Too many separate dates: " + total);
+        final long[] rangeStarts = new long[(int) total];
+        final long[] rangeEnds = new long[rangeStarts.length];
+        int count = 0;
+        for (final LocalDateRange range : ranges)
+        {
+            if (isConsecutive(range))
+            {
+                rangeStarts[count] = range.getMinEpochDay();
+                rangeEnds[count++] = range.getMaxEpochDayExclusive();
+            }
+            else
+            {
+                long epochDay = range.getStartInclusive().toEpochDay();
+                for (long index = 0; index < range.getLength(); index++, epochDay += range.getAmount())
+                {
+                    rangeStarts[count] = epochDay;
+                    rangeEnds[count++] = epochDay + 1;
+                }
+            }
+        }
+        Arrays.parallelSort(rangeStarts, 0, count);
+        Arrays.parallelSort(rangeEnds, 0, count);
+        return sweep(rangeStarts, rangeEnds, count, 1);
+    }
+
+    private static boolean isConsecutive(final LocalDateRange range)
+    {
+        return range.getLength() <= 1 || Math.abs(range.getAmount()) == 1;
+    }
+
+    /**
+     * Returns the set of dates in the given ranges.
+     *
+     * @param ranges the ranges of dates
+     * @return the set of dates
+     * @throws NullPointerException if the array or any of its elements is null
+     */
+    public static LocalDateRangeSet of(final LocalDateRange... ranges)
+    {
+        return of(Arrays.asList(ranges));
+    }
+
+    /**
+     * Sweeps over the sorted start and end days of a number of ranges, and returns the days on which at least the
+     * given number of ranges are open. Starts are processed before ends on the same day, so that adjacent ranges
+     * are joined.
+     */
+    private static LocalDateRangeSet sweep(final long[] rangeStarts,
+                                           final long[] rangeEnds,
+                                           final int count,
+                                           final int threshold)
+    {
+        final long[] resultStarts = new long[count];
+        final long[] resultEnds = new long[count];
+        int size = 0;
+        int open = 0;
+        int startIndex = 0;
+        int endIndex = 0;
+        while (endIndex < count)
+        {
+            if (startIndex < count && rangeStarts[startIndex] <= rangeEnds[endIndex])
+            {
+                if (++open == threshold)
+                    resultStarts[size] = rangeStarts[startIndex];
+                startIndex++;
+            }
+            else
+            {
+                if (open-- == threshold)
+                {
+                    final long end = rangeEnds[endIndex];
+                    if (resultStarts[size] < end)
+                    {
+                        if (size > 0 && resultEnds[size - 1] == resultStarts[size])
+                            resultEnds[size - 1] = end;
+                        else
+                            resultEnds[size++] = end;
+                    }
+                }
+                endIndex++;
+            }
+        }
+        return of(resultStarts, resultEnds, size);
+    }
+
+    private static LocalDateRangeSet of(final long[] resultStarts, final long[] resultEnds, final int size)
+    {
+        if (size == 0)
+            return EMPTY;
+        else if (size == resultStarts.length)
+            return new LocalDateRangeSet(resultStarts, resultEnds);
+        else
+            return new LocalDateRangeSet(Arrays.copyOf(resultStarts, size), Arrays.copyOf(resultEnds, size));
+    }
+
+    /**
+     * Returns the set of dates that are in this set, in the other set, or in both.
+     *
+     * @param other the other set
+     * @return the union of both sets
+     */
+    public LocalDateRangeSet union(final LocalDateRangeSet other)
+    {
+        if (other.isEmpty())
+            return this;
+        else if (isEmpty())
+            return other;
+        else
+            return sweep(merge(starts, other.starts), merge(ends, other.ends), starts.length + other.starts.length, 1);
+    }
+
+    /**
+     * Returns the set of dates that are in both this set and the other set.
+     *
+     * @param other the other set
+     * @return the intersection of both sets
+     */
+    public LocalDateRangeSet intersection(final LocalDateRangeSet other)
+    {
+        if (isEmpty() || other.isEmpty())
+            return EMPTY;
+        else
+            return sweep(merge(starts, other.starts), merge(ends, other.ends), starts.length + other.starts.length, 2);
+    }
+
+    /**
+     * Returns the set of dates that are in this set, but not in the other set.
+     *
+     * @param other the other set
+     * @return the difference between both sets
+     */
+    public LocalDateRangeSet difference(final LocalDateRangeSet other)
+    {
+        if (isEmpty() || other.isEmpty())
+            return this;
+        final long[] resultStarts = new long[starts.length + other.starts.length];
+        final long[] resultEnds = new long[resultStarts.length];
+        int size = 0;
+        int otherIndex = 0;
+        for (int index = 0; index < starts.length; index++)
+        {
+            long start = starts[index];
+            final long end = ends[index];
+            while (otherIndex < other.starts.length && other.ends[otherIndex] <= start)
+                otherIndex++;
+            int cut = otherIndex;
+            while (cut < other.starts.length && other.starts[cut] < end)
+            {
+                if (other.starts[cut] > start)
+                {
+                    resultStarts[size] = start;
+                    resultEnds[size++] = other.starts[cut];
+                }
+                start = Math.max(start, other.ends[cut]);
+                cut++;
+            }
+            if (start < end)
+            {
+                resultStarts[size] = start;
+                resultEnds[size++] = end;
+            }
+        }
+        return of(resultStarts, resultEnds, size);
+    }
+
+    /**
+     * Returns the dates between the ranges of this set, that is, the dates after the first date and before the
+     * last date of this set that are not in this set.
+     *
+     * @return the gaps in this set
+     */
+    public LocalDateRangeSet gaps()
+    {
+        if (starts.length < 2)
+            return EMPTY;
+        else
+            return new LocalDateRangeSet(Arrays.copyOf(ends, ends.length - 1),
+                                         Arrays.copyOfRange(starts, 1, starts.length));
+    }
+
+    /**
+     * Returns this set, with every gap of at most the given number of days filled in.
+     *
+     * @param maxGapDays the maximum number of days in a gap to fill in
+     * @return this set, coalesced
+     * @throws IllegalArgumentException if the number of days is negative
+     */
+    public LocalDateRangeSet coalesce(final long maxGapDays)
+    {
+        if (maxGapDays < 0)
+            throw new IllegalArgumentException("Negative maximum gap: " + maxGapDays);
+        final long[] resultStarts = new long[starts.length];
+        final long[] resultEnds = new long[starts.length];
+        int size = 0;
+        for (int index = 0; index < starts.length; index++)
+        {
+            if (size > 0 && starts[index] - resultEnds[size - 1] <= maxGapDays)
+                resultEnds[size - 1] = ends[index];
+            else
+            {
+                resultStarts[size] = starts[index];
+                resultEnds[size++] = ends[index];
+            }
+        }
+        return size == starts.length ? this : of(resultStarts, resultEnds, size);
+    }
+
+    private static long[] merge(final long[] first, final long[] second)
+    {
+        final long[] result = new long[first.length + second.length];
+        int firstIndex = 0;
+        int secondIndex = 0;
+        for (int index = 0; index < result.length; index++)
+        {
+            if (secondIndex >= second.length || (firstIndex < first.length && first[firstIndex] <= second[secondIndex]))
+                result[index] = first[firstIndex++];
+            else
+                result[index] = second[secondIndex++];
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether the given date is in this set, by binary search over the ranges.
+     *
+     * @param date the date to look for
+     * @return true if the date is in this set
+     */
+    public boolean contains(final LocalDate date)
+    {
+        return containsEpochDay(date.toEpochDay());
+    }
+
+    /**
+     * Returns whether the given epoch day is in this set, by binary search over the ranges.
+     *
+     * @param epochDay the epoch day to look for
+     * @return true if the epoch day is in this set
+     */
+    public boolean containsEpochDay(final long epochDay)
+    {
+        final int index = Arrays.binarySearch(starts, epochDay);
+        if (index >= 0)
+            return true;
+        else
+        {
+            final int preceding = -index - 2;
+            return preceding >= 0 && epochDay < ends[preceding];
+        }
+    }
+
+    /**
+     * Returns the number of dates in this set.
+     *
+     * @return the number of dates
+     */
+    public long totalDays()
+    {
+        long total = 0;
+        for (int index = 0; index < starts.length; index++)
+            total += ends[index] - starts[index];
+        return total;
+    }
+
+    /**
+     * Returns the number of disjoint ranges in this set.
+     *
+     * @return the number of ranges
+     */
+    public int rangeCount()
+    {
+        return starts.length;
+    }
+
+    public boolean isEmpty()
+    {
+        return starts.length == 0;
+    }
+
+    /**
+     * Returns an iterator over the disjoint ranges of this set, in order.
+     *
+     * @return an iterator over the ranges
+     */
+    @Override
+    public Iterator<LocalDateRange> iterator()
+    {
+        return new Iterator<LocalDateRange>()
+        {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext()
+            {
+                return index < starts.length;
+            }
+
+            @Override
+            public LocalDateRange next()
+            {
+                if (index >= starts.length)
+                    throw new NoSuchElementException();
+                return range(index++);
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<LocalDateRange> spliterator()
+    {
+        return Spliterators.spliterator(iterator(), starts.length, Spliterator.ORDERED | Spliterator.DISTINCT |
+                                                                   Spliterator.NONNULL | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Returns a sequential stream of the disjoint ranges of this set, in order.
+     *
+     * @return a stream of the ranges
+     */
+    public Stream<LocalDateRange> stream()
+    {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    private LocalDateRange range(final int index)
+    {
+        return LocalDateRange.of(LocalDate.ofEpochDay(starts[index]), LocalDate.ofEpochDay(ends[index]));
+    }
+
+    @Override
+    public boolean equals(final Object other)
+    {
+        if (this == other)
+            return true;
+        else if (other instanceof LocalDateRangeSet)
+        {
+            final LocalDateRangeSet set = (LocalDateRangeSet) other;
+            return Arrays.equals(starts, set.starts) && Arrays.equals(ends, set.ends);
+        }
+        else
+            return false;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * Arrays.hashCode(starts) + Arrays.hashCode(ends);
+    }
+
+    @Override
+    public String toString()
+    {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int index = 0; index < starts.length; index++)
+        {
+            if (index > 0)
+                builder.append(", ");
+            builder.append(LocalDate.ofEpochDay(starts[index])).append('/').append(LocalDate.ofEpochDay(ends[index]));
+        }
+        return builder.append(']').toString();
+    }
+}
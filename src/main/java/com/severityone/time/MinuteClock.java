@@ -0,0 +1,166 @@
+package com.severityone.time;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * A coarse clock that tells the current local time and date, in a time zone, to the minute. The time and the date
+ * change only once a minute, so they are computed once, and published through a volatile field together with the
+ * instants between which they are valid. Reading the clock is a call to {@link System#currentTimeMillis()}, a
+ * volatile read and two comparisons; only the first read in a new minute, or after the offset of the time zone
+ * changes, looks up the offset and computes the time and the date again.
+ * <p>
+ * There is one clock per time zone, which is shared by all threads. The time is always a canonical instance of
+ * {@link SimpleLocalTIme}.
+ */
+public final class MinuteClock
+{
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final long MILLIS_PER_SECOND = 1000;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+
+    private static final ConcurrentMap<ZoneId, MinuteClock> CLOCKS = new ConcurrentHashMap<>();
+    private static volatile MinuteClock systemDefault;
+
+    private final ZoneId zone;
+    private final LongSupplier millisSource;
+    private volatile Snapshot snapshot;
+
+    MinuteClock(final ZoneId zone, final LongSupplier millisSource)
+    {
+        this.zone = zone;
+        this.millisSource = millisSource;
+        this.snapshot = Snapshot.of(zone.getRules(), millisSource.getAsLong());
+    }
+
+    /**
+     * Returns the clock for the given time zone.
+     *
+     * @param zone the time zone
+     * @return the shared clock for the time zone
+     */
+    public static MinuteClock of(final ZoneId zone)
+    {
+        final MinuteClock clock = CLOCKS.get(Objects.requireNonNull(zone));
+        if (clock != null)
+            return clock;
+        else
+            return CLOCKS.computeIfAbsent(zone, key -> new MinuteClock(key, System::currentTimeMillis));
+    }
+
+    /**
+     * Returns the clock for the default time zone. The default time zone is looked up again at most once a
+     * minute, so a change of the default time zone takes effect within a minute.
+     *
+     * @return the shared clock for the default time zone
+     * @see ZoneId#systemDefault()
+     */
+    public static MinuteClock systemDefaultZone()
+    {
+        final MinuteClock clock = systemDefault;
+        if (clock != null && clock.snapshot.isValidAt(clock.millisSource.getAsLong()))
+            return clock;
+        else
+        {
+            final MinuteClock current = of(ZoneId.systemDefault());
+            systemDefault = current;
+            return current;
+        }
+    }
+
+    public ZoneId getZone()
+    {
+        return zone;
+    }
+
+    /**
+     * Returns the current local time in the time zone of this clock.
+     *
+     * @return the current time, to the minute
+     */
+    public SimpleLocalTIme time()
+    {
+        return current().time;
+    }
+
+    /**
+     * Returns the current local date in the time zone of this clock.
+     *
+     * @return the current date
+     */
+    public LocalDate date()
+    {
+        return current().date;
+    }
+
+    private Snapshot current()
+    {
+        final long millis = millisSource.getAsLong();
+        final Snapshot current = snapshot;
+        if (current.isValidAt(millis))
+            return current;
+        else
+        {
+            // racing threads compute the same snapshot, so whichever write wins is fine
+            final Snapshot next = Snapshot.of(zone.getRules(), millis);
+            snapshot = next;
+            return next;
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MinuteClock[" + zone + ']';
+    }
+
+    /**
+     * The local time and date during a minute, or the part of a minute in which the offset of the time zone does
+     * not change, from an instant, inclusive, to an instant, exclusive, as milliseconds since the epoch.
+     */
+    private static final class Snapshot
+    {
+        private final SimpleLocalTIme time;
+        private final LocalDate date;
+        private final long fromMillis;
+        private final long untilMillis;
+
+        private Snapshot(final SimpleLocalTIme time, final LocalDate date, final long fromMillis, final long untilMillis)
+        {
+            this.time = time;
+            this.date = date;
+            this.fromMillis = fromMillis;
+            this.untilMillis = untilMillis;
+        }
+
+        static Snapshot of(final ZoneRules rules, final long millis)
+        {
+            final Instant instant = Instant.ofEpochMilli(millis);
+            final long offsetMillis = rules.getOffset(instant).getTotalSeconds() * MILLIS_PER_SECOND;
+            final long localMinute = Math.floorDiv(millis + offsetMillis, MILLIS_PER_MINUTE);
+            long fromMillis = localMinute * MILLIS_PER_MINUTE - offsetMillis;
+            long untilMillis = fromMillis + MILLIS_PER_MINUTE;
+            final ZoneOffsetTransition previous = rules.previousTransition(instant);
+            if (previous != null)
+                fromMillis = Math.max(fromMillis, previous.toEpochSecond() * MILLIS_PER_SECOND);
+            final ZoneOffsetTransition next = rules.nextTransition(instant);
+            if (next != null)
+                untilMillis = Math.min(untilMillis, next.toEpochSecond() * MILLIS_PER_SECOND);
+            return new Snapshot(SimpleLocalTIme.ofMinuteOfDay(Math.floorMod(localMinute, (long) MINUTES_PER_DAY)),
+                                LocalDate.ofEpochDay(Math.floorDiv(localMinute, (long) MINUTES_PER_DAY)),
+                                fromMillis, untilMillis);
+        }
+
+        boolean isValidAt(final long millis)
+        {
+            return millis >= fromMillis && millis < untilMillis;
+        }
+    }
+}
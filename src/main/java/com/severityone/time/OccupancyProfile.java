@@ -0,0 +1,296 @@
+package com.severityone.time;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collector;
+import java.util.stream.LongStream;
+
+/**
+ * The number of intervals in progress at every minute of a number of consecutive days, such as the number of
+ * concurrent bookings, computed from the {@link Timing}s at which the intervals start and end, in any order. Every
+ * {@link TimingType#START_TIME} adds one from its minute onwards, and every {@link TimingType#END_TIME} subtracts
+ * one, so an {@code END_TIME} without a {@code START_TIME} makes the count go below zero.
+ * <p>
+ * Collecting timings adds them to a difference array of 1440 {@code int}s per date: one for the minute at which the
+ * count changes. Partial results of a parallel stream are merged by adding up their arrays, and finishing turns the
+ * differences into counts with a running sum over every day in order, which carries the count at midnight over to
+ * the next day, also across days without any timings. So the time it takes is linear in the number of timings plus
+ * the number of days, however long the intervals are.
+ * <p>
+ * The profile spans the days from the first date on which a timing occurs to the last. Before the first day, the
+ * count is zero; after the last day, it stays what it was at the end of the last day.
+ */
+public final class OccupancyProfile
+{
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final long firstEpochDay;
+    private final int[][] counts;
+
+    private OccupancyProfile(final long firstEpochDay, final int[][] counts)
+    {
+        this.firstEpochDay = firstEpochDay;
+        this.counts = counts;
+    }
+
+    /**
+     * Returns a collector that collects timings, in any order, into a profile. The collector is concurrent in the
+     * sense of a parallel stream: every thread collects into its own partial result, and partial results are
+     * merged.
+     *
+     * @return a collector of timings into a profile
+     */
+    public static Collector<Timing, ?, OccupancyProfile> collector()
+    {
+        return Collector.of(Differences::new, Differences::add, Differences::merge, Differences::finish,
+                            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Collects the given packed timings, in any order, into a profile, without creating any {@link Timing}s. The
+     * stream may be parallel, such as the one returned by {@link TimingStore#parallelPacked(LocalDateRange)}.
+     *
+     * @param packed the packed timings
+     * @return the profile of the timings
+     * @see Timing#toPacked()
+     */
+    public static OccupancyProfile ofPacked(final LongStream packed)
+    {
+        return packed.collect(Differences::new, Differences::addPacked, Differences::merge).finish();
+    }
+
+    /**
+     * Returns the days that this profile spans, from the first date on which a timing occurs to the last.
+     *
+     * @return the days of this profile, which is empty if there were no timings
+     */
+    public LocalDateRange getDates()
+    {
+        return LocalDateRange.of(LocalDate.ofEpochDay(firstEpochDay), counts.length, 1);
+    }
+
+    /**
+     * Returns the number of intervals in progress at the given date and time.
+     *
+     * @param date the date
+     * @param time the time
+     * @return the number of intervals in progress during that minute
+     */
+    public int countAt(final LocalDate date, final SimpleLocalTIme time)
+    {
+        return countAt(date.toEpochDay() * MINUTES_PER_DAY + time.toMinuteOfDay());
+    }
+
+    /**
+     * Returns the number of intervals in progress at the date and time of the given timing. The timing type is
+     * ignored.
+     *
+     * @param timing the timing
+     * @return the number of intervals in progress during that minute
+     */
+    public int countAt(final Timing timing)
+    {
+        return countAt(timing.toEpochMinute());
+    }
+
+    private int countAt(final long epochMinute)
+    {
+        final long day = Math.floorDiv(epochMinute, (long) MINUTES_PER_DAY) - firstEpochDay;
+        if (day < 0)
+            return 0;
+        else if (day >= counts.length)
+            return finalCount();
+        else
+            return counts[(int) day][(int) Math.floorMod(epochMinute, (long) MINUTES_PER_DAY)];
+    }
+
+    /**
+     * Returns the number of intervals in progress at every minute of the given date.
+     *
+     * @param date the date
+     * @return a new array of 1440 counts, indexed by minute of day
+     */
+    public int[] countsOn(final LocalDate date)
+    {
+        final long day = date.toEpochDay() - firstEpochDay;
+        if (day >= 0 && day < counts.length)
+            return counts[(int) day].clone();
+        else
+        {
+            final int[] constant = new int[MINUTES_PER_DAY];
+            Arrays.fill(constant, day < 0 ? 0 : finalCount());
+            return constant;
+        }
+    }
+
+    /**
+     * Returns the largest number of intervals in progress at any minute of the given date.
+     *
+     * @param date the date
+     * @return the peak count on the date
+     */
+    public int peak(final LocalDate date)
+    {
+        return peak(countsOn(date));
+    }
+
+    /**
+     * Returns the largest number of intervals in progress at any minute of this profile.
+     *
+     * @return the peak count, or zero if there were no timings
+     */
+    public int peak()
+    {
+        int peak = 0;
+        for (final int[] day : counts)
+            peak = Math.max(peak, peak(day));
+        return peak;
+    }
+
+    private static int peak(final int[] day)
+    {
+        int peak = Integer.MIN_VALUE;
+        for (final int count : day)
+            peak = Math.max(peak, count);
+        return peak;
+    }
+
+    /**
+     * Returns the number of minutes of the given date at which more than the given number of intervals are in
+     * progress.
+     *
+     * @param date      the date
+     * @param threshold the number of intervals
+     * @return the number of minutes above the threshold, from 0 to 1440
+     */
+    public int minutesAbove(final LocalDate date, final int threshold)
+    {
+        return minutesAbove(countsOn(date), threshold);
+    }
+
+    /**
+     * Returns the number of minutes of this profile at which more than the given number of intervals are in
+     * progress.
+     *
+     * @param threshold the number of intervals
+     * @return the number of minutes above the threshold
+     */
+    public long minutesAbove(final int threshold)
+    {
+        long minutes = 0;
+        for (final int[] day : counts)
+            minutes += minutesAbove(day, threshold);
+        return minutes;
+    }
+
+    private static int minutesAbove(final int[] day, final int threshold)
+    {
+        int minutes = 0;
+        for (final int count : day)
+            if (count > threshold)
+                minutes++;
+        return minutes;
+    }
+
+    private int finalCount()
+    {
+        return counts.length == 0 ? 0 : counts[counts.length - 1][MINUTES_PER_DAY - 1];
+    }
+
+    @Override
+    public String toString()
+    {
+        return "OccupancyProfile[" + getDates() + ", peak=" + peak() + ']';
+    }
+
+    /**
+     * The differences between the counts of consecutive minutes, by epoch day, collected by a single thread. Timings
+     * tend to come in runs on the same date, so the array of the last date is kept at hand.
+     */
+    private static final class Differences
+    {
+        private final Map<Long, int[]> days = new HashMap<>();
+        private long lastEpochDay = Long.MIN_VALUE;
+        private int[] lastDay;
+
+        void add(final Timing timing)
+        {
+            addPacked(timing.toPacked());
+        }
+
+        void addPacked(final long packed)
+        {
+            final long epochMinute = packed >> 1;
+            final long epochDay = Math.floorDiv(epochMinute, (long) MINUTES_PER_DAY);
+            if (epochDay != lastEpochDay)
+            {
+                lastDay = days.computeIfAbsent(epochDay, key -> new int[MINUTES_PER_DAY]);
+                lastEpochDay = epochDay;
+            }
+            final int minute = (int) Math.floorMod(epochMinute, (long) MINUTES_PER_DAY);
+            if ((packed & 1) == TimingType.START_TIME.ordinal())
+                lastDay[minute]++;
+            else
+                lastDay[minute]--;
+        }
+
+        /**
+         * Adds the differences of the other partial result to this one. Arrays of dates that this one does not have
+         * are taken over, rather than copied.
+         */
+        Differences merge(final Differences other)
+        {
+            for (final Map.Entry<Long, int[]> entry : other.days.entrySet())
+            {
+                final int[] day = days.putIfAbsent(entry.getKey(), entry.getValue());
+                if (day != null)
+                {
+                    final int[] differences = entry.getValue();
+                    for (int minute = 0; minute < MINUTES_PER_DAY; minute++)
+                        day[minute] += differences[minute];
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Turns the differences into counts, in place, with a running sum over every day from the first to the
+         * last, and fills in the days without any timings in between.
+         */
+        OccupancyProfile finish()
+        {
+            if (days.isEmpty())
+                return new OccupancyProfile(0, new int[0][]);
+            long first = Long.MAX_VALUE;
+            long last = Long.MIN_VALUE;
+            for (final long epochDay : days.keySet())
+            {
+                first = Math.min(first, epochDay);
+                last = Math.max(last, epochDay);
+            }
+            final int[][] counts = new int[Math.toIntExact(last - first + 1)][];
+            int count = 0;
+            for (int index = 0; index < counts.length; index++)
+            {
+                final int[] day = days.get(first + index);
+                if (day == null)
+                {
+                    counts[index] = new int[MINUTES_PER_DAY];
+                    Arrays.fill(counts[index], count);
+                }
+                else
+                {
+                    for (int minute = 0; minute < MINUTES_PER_DAY; minute++)
+                    {
+                        count += day[minute];
+                        day[minute] = count;
+                    }
+                    counts[index] = day;
+                }
+            }
+            return new OccupancyProfile(first, counts);
+        }
+    }
+}
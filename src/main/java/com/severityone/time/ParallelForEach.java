@@ -0,0 +1,137 @@
+package com.severityone.time;
+
+import java.time.temporal.Temporal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Performs an action for every element of a {@link TemporalRange}, in chunks of consecutive elements, on an
+ * {@link Executor}. A fixed number of workers is submitted, each of which claims the next chunk and performs the
+ * action for its elements in order, in a loop, until there are no chunks left. So the number of chunks in flight
+ * never exceeds the number of workers, however many chunks there are, and a worker that the executor runs on the
+ * calling thread does not nest a call per chunk.
+ * <p>
+ * The future completes normally once every chunk is done. It completes exceptionally as soon as an action throws,
+ * or if the executor rejects a worker; it can be cancelled as well. Either way, no new chunks are started, and
+ * running chunks stop before their next element.
+ *
+ * @param <T> the type of the elements of the range
+ */
+final class ParallelForEach<T extends Temporal & Comparable<? super T>>
+{
+    static final int DEFAULT_MAX_IN_FLIGHT = 64;
+
+    private final TemporalRange<T> range;
+    private final Executor executor;
+    private final int chunkSize;
+    private final Consumer<? super T> action;
+    private final long chunkCount;
+    private final AtomicLong nextChunk = new AtomicLong();
+    private final AtomicInteger workers = new AtomicInteger();
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+    ParallelForEach(final TemporalRange<T> range,
+                    final Executor executor,
+                    final int chunkSize,
+                    final Consumer<? super T> action)
+    {
+        this.range = range;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.action = action;
+        this.chunkCount = (range.getLength() + chunkSize - 1) / chunkSize;
+    }
+
+    /**
+     * Starts up to the given number of workers, and returns the future that completes when they are done.
+     */
+    CompletableFuture<Void> start(final int maxInFlight)
+    {
+        final int count = (int) Math.min(maxInFlight, chunkCount);
+        if (count == 0)
+            result.complete(null);
+        else
+        {
+            workers.set(count);
+            for (int worker = 0; worker < count && !result.isDone(); worker++)
+                submit();
+        }
+        return result;
+    }
+
+    private void submit()
+    {
+        try
+        {
+            executor.execute(this::runWorker);
+        }
+        catch (final RuntimeException exception)
+        {
+            result.completeExceptionally(exception);
+            finish();
+        }
+    }
+
+    /**
+     * Claims and runs chunks until there are none left, or the future is done, and then retires.
+     */
+    private void runWorker()
+    {
+        try
+        {
+            for (long chunk = nextChunk.getAndIncrement();
+                 chunk < chunkCount && !result.isDone();
+                 chunk = nextChunk.getAndIncrement())
+            {
+                final long start = chunk * chunkSize;
+                final long end = Math.min(range.getLength(), start + chunkSize);
+                final RangeMetrics metrics = RangeInstrumentation.metrics;
+                if (metrics == null)
+                    runChunk(start, end);
+                else
+                {
+                    final Object token = metrics.chunkStarted(range, 0, end - start);
+                    final long startNanos = System.nanoTime();
+                    long elements = 0;
+                    try
+                    {
+                        elements = runChunk(start, end);
+                    }
+                    finally
+                    {
+                        metrics.chunkEnded(range, 0, elements, System.nanoTime() - startNanos, token);
+                    }
+                }
+            }
+        }
+        catch (final Throwable throwable)
+        {
+            result.completeExceptionally(throwable);
+        }
+        finish();
+    }
+
+    /**
+     * Performs the action for the elements from the given index, inclusive, to the given index, exclusive, until
+     * the future is done, and returns the number of elements for which it was performed.
+     */
+    private long runChunk(final long start, final long end)
+    {
+        long index = start;
+        for (; index < end && !result.isDone(); index++)
+            action.accept(range.get(index));
+        return index - start;
+    }
+
+    /**
+     * Retires a worker. The last one to retire completes the future, unless it was completed already.
+     */
+    private void finish()
+    {
+        if (workers.decrementAndGet() == 0)
+            result.complete(null);
+    }
+}
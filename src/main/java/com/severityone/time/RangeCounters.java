@@ -0,0 +1,104 @@
+package com.severityone.time;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link RangeMetrics} that count splits, chunks, elements and the time spent in chunks, over all ranges. The
+ * counters are {@link LongAdder}s, so threads that traverse ranges in parallel do not contend for them. Reads are
+ * not atomic with respect to concurrent updates.
+ */
+public final class RangeCounters implements RangeMetrics
+{
+    private final LongAdder splits = new LongAdder();
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+    private final LongAdder chunks = new LongAdder();
+    private final LongAdder elements = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    @Override
+    public void split(final TemporalRange<?> range, final int depth, final long prefixSize, final long remainingSize)
+    {
+        splits.increment();
+        maxDepth.accumulate(depth + 1);
+    }
+
+    @Override
+    public void chunkEnded(final TemporalRange<?> range, final int depth, final long elements, final long nanos,
+                           final Object token)
+    {
+        chunks.increment();
+        this.elements.add(elements);
+        this.nanos.add(nanos);
+    }
+
+    /**
+     * Returns the number of times that a spliterator of a range was split.
+     *
+     * @return the number of splits
+     */
+    public long getSplits()
+    {
+        return splits.sum();
+    }
+
+    /**
+     * Returns the largest number of times that any spliterator of a range was split, counting the splits of the
+     * spliterators that it was split off from.
+     *
+     * @return the deepest split
+     */
+    public long getMaxDepth()
+    {
+        return maxDepth.get();
+    }
+
+    /**
+     * Returns the number of chunks that have ended.
+     *
+     * @return the number of chunks
+     */
+    public long getChunks()
+    {
+        return chunks.sum();
+    }
+
+    /**
+     * Returns the number of elements that were produced by the chunks that have ended.
+     *
+     * @return the number of elements
+     */
+    public long getElements()
+    {
+        return elements.sum();
+    }
+
+    /**
+     * Returns the number of nanoseconds spent in the chunks that have ended, added up over all threads.
+     *
+     * @return the time spent in chunks, in nanoseconds
+     */
+    public long getNanos()
+    {
+        return nanos.sum();
+    }
+
+    /**
+     * Sets all counters to zero.
+     */
+    public void reset()
+    {
+        splits.reset();
+        maxDepth.reset();
+        chunks.reset();
+        elements.reset();
+        nanos.reset();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "RangeCounters[splits=" + getSplits() + ", maxDepth=" + getMaxDepth() + ", chunks=" + getChunks() +
+               ", elements=" + getElements() + ", nanos=" + getNanos() + ']';
+    }
+}
@@ -0,0 +1,16 @@
+package com.severityone.time;
+
+/**
+ * Holds the installed {@link RangeMetrics}, which interfaces cannot hold themselves.
+ */
+final class RangeInstrumentation
+{
+    /**
+     * The installed hook, or null if ranges are not instrumented.
+     */
+    static volatile RangeMetrics metrics;
+
+    private RangeInstrumentation()
+    {
+    }
+}
@@ -0,0 +1,131 @@
+package com.severityone.time;
+
+import java.util.Objects;
+
+/**
+ * A hook that is told how {@link TemporalRange}s are traversed: how their spliterators are split for parallel
+ * streams, and how many elements each chunk produces, and in how much time. A chunk is a call of
+ * {@code forEachRemaining} on a spliterator of a range, or a chunk of
+ * {@link TemporalRange#parallelForEach(java.util.concurrent.Executor, int, int, java.util.function.Consumer)}.
+ * Iterators have no point at which they are known to be done with, so they are not reported.
+ * <p>
+ * At most one hook is installed at a time. While none is installed, ranges check for one once per split or chunk,
+ * which is a single volatile read, and never per element. A hook is called from any thread that traverses a range,
+ * so it must be thread-safe. Every chunk that starts also ends, even if the action throws an exception, and whatever
+ * {@link #chunkStarted(TemporalRange, int, long)} returns is passed to
+ * {@link #chunkEnded(TemporalRange, int, long, long, Object)}, so that a hook can tell the end of one chunk from
+ * that of another one.
+ *
+ * @see RangeCounters
+ */
+public interface RangeMetrics
+{
+    /**
+     * Called when a spliterator of a range splits off a prefix.
+     *
+     * @param range         the range
+     * @param depth         the number of times that the spliterator had been split before, including the splits of
+     *                      the spliterators that it was split off from
+     * @param prefixSize    the number of elements in the prefix that was split off
+     * @param remainingSize the number of elements that remain in the spliterator
+     */
+    default void split(final TemporalRange<?> range, final int depth, final long prefixSize, final long remainingSize)
+    {
+    }
+
+    /**
+     * Called before the first element of a chunk.
+     *
+     * @param range the range
+     * @param depth the number of times that the spliterator had been split, or zero if there was no spliterator
+     * @param size  the number of elements in the chunk
+     * @return an object to pass to {@link #chunkEnded(TemporalRange, int, long, long, Object)} when the chunk ends,
+     * which may be null
+     */
+    default Object chunkStarted(final TemporalRange<?> range, final int depth, final long size)
+    {
+        return null;
+    }
+
+    /**
+     * Called after the last element of a chunk, or after an element for which the action threw an exception.
+     *
+     * @param range    the range
+     * @param depth    the number of times that the spliterator had been split, or zero if there was no spliterator
+     * @param elements the number of elements that were produced
+     * @param nanos    the number of nanoseconds since the chunk started
+     * @param token    the object that {@link #chunkStarted(TemporalRange, int, long)} returned for the chunk
+     */
+    default void chunkEnded(final TemporalRange<?> range, final int depth, final long elements, final long nanos,
+                            final Object token)
+    {
+    }
+
+    /**
+     * Returns a hook that calls this hook, and then the other hook.
+     *
+     * @param other the other hook
+     * @return the combined hook
+     */
+    default RangeMetrics andThen(final RangeMetrics other)
+    {
+        Objects.requireNonNull(other);
+        final RangeMetrics first = this;
+        return new RangeMetrics()
+        {
+            @Override
+            public void split(final TemporalRange<?> range, final int depth, final long prefixSize,
+                              final long remainingSize)
+            {
+                first.split(range, depth, prefixSize, remainingSize);
+                other.split(range, depth, prefixSize, remainingSize);
+            }
+
+            @Override
+            public Object chunkStarted(final TemporalRange<?> range, final int depth, final long size)
+            {
+                return new Object[] {first.chunkStarted(range, depth, size), other.chunkStarted(range, depth, size)};
+            }
+
+            @Override
+            public void chunkEnded(final TemporalRange<?> range, final int depth, final long elements,
+                                   final long nanos, final Object token)
+            {
+                final Object[] tokens = (Object[]) token;
+                first.chunkEnded(range, depth, elements, nanos, tokens[0]);
+                other.chunkEnded(range, depth, elements, nanos, tokens[1]);
+            }
+        };
+    }
+
+    /**
+     * Installs the given hook, replacing the one that was installed before, if any.
+     *
+     * @param metrics the hook to install
+     */
+    static void install(final RangeMetrics metrics)
+    {
+        RangeInstrumentation.metrics = Objects.requireNonNull(metrics);
+    }
+
+    /**
+     * Removes the installed hook, if any, so that ranges are no longer instrumented.
+     */
+    static void uninstall()
+    {
+        RangeInstrumentation.metrics = null;
+    }
+
+    /**
+     * Returns a hook that emits JDK Flight Recorder events: an instant event for every split, named
+     * {@code com.severityone.time.RangeSplit}, and a duration event for every chunk, from its start to its end,
+     * named {@code com.severityone.time.RangeChunk}. Both are in the {@code SeverityOne / Time} category.
+     *
+     * @return a hook that emits Flight Recorder events
+     * @throws UnsupportedOperationException if this library runs on Java 8, which has no Flight Recorder API
+     */
+    static RangeMetrics flightRecorder()
+    {
+        return FlightRecorderMetrics.create();
+    }
+}
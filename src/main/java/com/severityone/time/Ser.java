@@ -0,0 +1,74 @@
+package com.severityone.time;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * The serialisation proxy of {@link SimpleLocalTIme} and {@link Timing}. Instead of class descriptors and field
+ * names, it writes a type byte, followed by the compact binary form of {@link BinaryCodec}.
+ */
+final class Ser implements Externalizable
+{
+    private static final long serialVersionUID = -2870594466394453744L;
+
+    static final byte SIMPLE_LOCAL_TIME_TYPE = 1;
+    static final byte TIMING_TYPE = 2;
+
+    private byte type;
+    private Object object;
+
+    /**
+     * Constructor for deserialisation only.
+     */
+    public Ser()
+    {
+    }
+
+    Ser(final byte type, final Object object)
+    {
+        this.type = type;
+        this.object = object;
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException
+    {
+        out.writeByte(type);
+        switch (type)
+        {
+            case SIMPLE_LOCAL_TIME_TYPE:
+                BinaryCodec.writeSimpleLocalTIme(out, (SimpleLocalTIme) object);
+                break;
+            case TIMING_TYPE:
+                BinaryCodec.writeTiming(out, (Timing) object);
+                break;
+            default:
+                throw new InvalidClassException("Unknown serialized type: " + type);
+        }
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException
+    {
+        type = in.readByte();
+        switch (type)
+        {
+            case SIMPLE_LOCAL_TIME_TYPE:
+                object = BinaryCodec.readSimpleLocalTIme(in);
+                break;
+            case TIMING_TYPE:
+                object = BinaryCodec.readTiming(in);
+                break;
+            default:
+                throw new InvalidClassException("Unknown serialized type: " + type);
+        }
+    }
+
+    private Object readResolve()
+    {
+        return object;
+    }
+}
@@ -1,11 +1,13 @@
 package com.severityone.time;
 
+import java.io.InvalidObjectException;
 import java.io.Serializable;
 import java.time.*;
 import java.time.temporal.*;
 import java.util.Objects;
 
 import static java.time.temporal.ChronoField.*;
+import static java.time.temporal.ChronoUnit.HALF_DAYS;
 import static java.time.temporal.ChronoUnit.HOURS;
 import static java.time.temporal.ChronoUnit.MINUTES;
 
@@ -24,13 +26,13 @@ public final class SimpleLocalTIme implements Comparable<SimpleLocalTIme>, Tempo
     private static final int HOURS_PER_DAY = HOUR_MAX - HOUR_MIN + 1;
     private static final int HOURS_PER_HALF_DAY = HOURS_PER_DAY >>> 1;
 
-    private static final ValueRange MINUTE_RANGE = MINUTE_OF_DAY.range();
+    private static final ValueRange MINUTE_RANGE = MINUTE_OF_HOUR.range();
     private static final int MINUTE_MIN = (int) MINUTE_RANGE.getMinimum();
     private static final int MINUTE_MAX = (int) MINUTE_RANGE.getMaximum();
     private static final int MINUTES_PER_HOUR = MINUTE_MAX - MINUTE_MIN + 1;
     private static final int MINUTES_PER_DAY = MINUTES_PER_HOUR * HOURS_PER_DAY;
 
-    private static final ValueRange SECOND_RANGE = SECOND_OF_DAY.range();
+    private static final ValueRange SECOND_RANGE = SECOND_OF_MINUTE.range();
     private static final int SECOND_MIN = (int) SECOND_RANGE.getMinimum();
     private static final int SECOND_MAX = (int) SECOND_RANGE.getMaximum();
     private static final int SECONDS_PER_MINUTE = SECOND_MAX - SECOND_MIN + 1;
@@ -41,20 +43,25 @@ public final class SimpleLocalTIme implements Comparable<SimpleLocalTIme>, Tempo
     private static final int NANO_MAX = (int) NANO_RANGE.getMaximum();
     private static final int NANOS_PER_SECOND = NANO_MAX - NANO_MIN + 1;
 
-    private static final SimpleLocalTIme[] WHOLE_HOURS = new SimpleLocalTIme[HOURS_PER_DAY];
+    /**
+     * All possible instances, indexed by minute of day. Every factory and every arithmetic operation returns one of
+     * these, so no instance is ever created after class initialisation, and equal instances are identical.
+     */
+    private static final SimpleLocalTIme[] TIMES = new SimpleLocalTIme[MINUTES_PER_DAY];
 
     static
     {
-        for (int index = 0; index < HOURS_PER_DAY; index++)
-            WHOLE_HOURS[index] = new SimpleLocalTIme(index, 0);
-        MIDNIGHT = WHOLE_HOURS[0];
-        NOON = WHOLE_HOURS[HOURS_PER_HALF_DAY];
-        MIN = WHOLE_HOURS[0];
-        MAX = new SimpleLocalTIme(HOUR_MAX, MINUTE_MAX);
+        for (int index = 0; index < MINUTES_PER_DAY; index++)
+            TIMES[index] = new SimpleLocalTIme(index / MINUTES_PER_HOUR, index % MINUTES_PER_HOUR);
+        MIDNIGHT = TIMES[0];
+        NOON = TIMES[HOURS_PER_HALF_DAY * MINUTES_PER_HOUR];
+        MIN = TIMES[0];
+        MAX = TIMES[MINUTES_PER_DAY - 1];
     }
 
     private final byte hour;
     private final byte minute;
+    private transient String string;
 
     private SimpleLocalTIme(final int hour, final int minute)
     {
@@ -64,20 +71,30 @@ public final class SimpleLocalTIme implements Comparable<SimpleLocalTIme>, Tempo
 
     private static SimpleLocalTIme create(final int hour, final int minute)
     {
-        if (minute == 0)
-            return WHOLE_HOURS[hour];
-        else
-            return new SimpleLocalTIme(hour, minute);
+        return TIMES[hour * MINUTES_PER_HOUR + minute];
     }
 
+    /**
+     * Obtains the current time in the default time zone, from the shared {@link MinuteClock} of that time zone, which
+     * computes the time only once a minute.
+     *
+     * @return the current time
+     */
     public static SimpleLocalTIme now()
     {
-        return now(Clock.systemDefaultZone());
+        return MinuteClock.systemDefaultZone().time();
     }
 
+    /**
+     * Obtains the current time in the given time zone, from the shared {@link MinuteClock} of that time zone, which
+     * computes the time only once a minute.
+     *
+     * @param zoneId the time zone
+     * @return the current time
+     */
     public static SimpleLocalTIme now(final ZoneId zoneId)
     {
-        return now(Clock.system(zoneId));
+        return MinuteClock.of(zoneId).time();
     }
 
     public static SimpleLocalTIme now(final Clock clock)
@@ -89,21 +106,15 @@ public final class SimpleLocalTIme implements Comparable<SimpleLocalTIme>, Tempo
 
     public static SimpleLocalTIme ofMinuteOfDay(final long minuteOfDay)
     {
-        return new SimpleLocalTIme(
-                (int) minuteOfDay / MINUTES_PER_HOUR,
-                (int) minuteOfDay % MINUTES_PER_HOUR);
+        MINUTE_OF_DAY.checkValidValue(minuteOfDay);
+        return TIMES[(int) minuteOfDay];
     }
 
     public static SimpleLocalTIme of(final int hour, final int minute)
     {
         HOUR_OF_DAY.checkValidValue(hour);
-        if (minute == 0)
-            return WHOLE_HOURS[hour];
-        else
-        {
-            MINUTE_OF_HOUR.checkValidValue(minute);
-            return new SimpleLocalTIme(hour, minute);
-        }
+        MINUTE_OF_HOUR.checkValidValue(minute);
+        return create(hour, minute);
     }
 
     public static SimpleLocalTIme ofInstant(final Instant instant, final ZoneId zoneId)
@@ -116,12 +127,32 @@ public final class SimpleLocalTIme implements Comparable<SimpleLocalTIme>, Tempo
         return ofMinuteOfDay(minuteOfDay + instant.getNano() / NANOS_PER_SECOND);
     }
 
+    /**
+     * Obtains a {@code SimpleLocalTIme} from a text such as "09:30" or "0930".
+     *
+     * @param text the text to parse
+     * @return the parsed time
+     * @throws NullPointerException                    if the text is null
+     * @throws java.time.format.DateTimeParseException if the text cannot be parsed
+     * @see SimpleLocalTImeCodec
+     */
+    public static SimpleLocalTIme parse(final CharSequence text)
+    {
+        Objects.requireNonNull(text, "text");
+        if (text.length() == SimpleLocalTImeCodec.BASIC.length())
+            return SimpleLocalTImeCodec.BASIC.parse(text);
+        else
+            return SimpleLocalTImeCodec.EXTENDED.parse(text);
+    }
+
     public static SimpleLocalTIme from(final TemporalAccessor temporal)
     {
         Objects.requireNonNull(temporal);
+        if (temporal instanceof SimpleLocalTIme)
+            return (SimpleLocalTIme) temporal;
         final SimpleLocalTIme time = temporal.query(
-                t -> temporal.isSupported(SECOND_OF_DAY)
-                        ? ofMinuteOfDay(temporal.getLong(SECOND_OF_DAY))
+                t -> temporal.isSupported(MINUTE_OF_DAY)
+                        ? ofMinuteOfDay(temporal.getLong(MINUTE_OF_DAY))
                         : null);
         if (time == null)
             throw new DateTimeException("Unable to obtain SimpleLocalTIme from TemporalAccessor: " +
@@ -167,7 +198,7 @@ public final class SimpleLocalTIme implements Comparable<SimpleLocalTIme>, Tempo
             case MINUTE_OF_HOUR:
                 return minute;
             case MINUTE_OF_DAY:
-                return hour * HOURS_PER_DAY + minute;
+                return hour * MINUTES_PER_HOUR + minute;
             case HOUR_OF_AMPM:
                 return hour % (HOURS_PER_HALF_DAY);
             case CLOCK_HOUR_OF_DAY:
@@ -209,7 +240,15 @@ public final class SimpleLocalTIme implements Comparable<SimpleLocalTIme>, Tempo
                 case MINUTE_OF_HOUR:
                     return withMinute((int) newValue);
                 case MINUTE_OF_DAY:
-                    return WHOLE_HOURS[(int) newValue / MINUTES_PER_HOUR].withMinute((int) newValue % MINUTES_PER_HOUR);
+                    return TIMES[(int) newValue];
+                case HOUR_OF_AMPM:
+                    return plusHours(newValue - hour % HOURS_PER_HALF_DAY);
+                case CLOCK_HOUR_OF_DAY:
+                    return withHour(newValue == HOURS_PER_DAY ? 0 : (int) newValue);
+                case CLOCK_HOUR_OF_AMPM:
+                    return plusHours((newValue == HOURS_PER_HALF_DAY ? 0 : newValue) - hour % HOURS_PER_HALF_DAY);
+                case AMPM_OF_DAY:
+                    return plusHours((newValue - hour / HOURS_PER_HALF_DAY) * HOURS_PER_HALF_DAY);
                 default:
                     throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
             }
@@ -292,11 +331,8 @@ public final class SimpleLocalTIme implements Comparable<SimpleLocalTIme>, Tempo
         {
             final int minOfDay = hour * MINUTES_PER_HOUR + minute;
             final int newMinOfDay =
-                    ((int) (minutesToAdd % MINUTES_PER_HOUR) + minOfDay + MINUTES_PER_HOUR) % MINUTES_PER_HOUR;
-            if (newMinOfDay == minOfDay)
-                return this;
-            else
-                return create(newMinOfDay / MINUTES_PER_HOUR, newMinOfDay % MINUTES_PER_HOUR);
+                    ((int) (minutesToAdd % MINUTES_PER_DAY) + minOfDay + MINUTES_PER_DAY) % MINUTES_PER_DAY;
+            return TIMES[newMinOfDay];
         }
     }
 
@@ -325,6 +361,8 @@ public final class SimpleLocalTIme implements Comparable<SimpleLocalTIme>, Tempo
                     return minutesUntil;
                 case HOURS:
                     return minutesUntil / MINUTES_PER_HOUR;
+                case HALF_DAYS:
+                    return minutesUntil / (HOURS_PER_HALF_DAY * MINUTES_PER_HOUR);
                 default:
                     throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
             }
@@ -335,18 +373,27 @@ public final class SimpleLocalTIme implements Comparable<SimpleLocalTIme>, Tempo
     @Override
     public boolean isSupported(final TemporalUnit unit)
     {
-        return unit == HOURS ||
-               unit == MINUTES ||
-               (unit != null && unit.isSupportedBy(this));
+        if (unit instanceof ChronoUnit)
+            return unit == HOURS ||
+                   unit == MINUTES ||
+                   unit == HALF_DAYS;
+        else
+            return unit != null && unit.isSupportedBy(this);
     }
 
     @Override
     public boolean isSupported(final TemporalField field)
     {
-        return field == HOUR_OF_DAY ||
-               field == MINUTE_OF_HOUR ||
-               field == MINUTE_OF_DAY ||
-               (field != null && field.isSupportedBy(this));
+        if (field instanceof ChronoField)
+            return field == HOUR_OF_DAY ||
+                   field == MINUTE_OF_HOUR ||
+                   field == MINUTE_OF_DAY ||
+                   field == HOUR_OF_AMPM ||
+                   field == CLOCK_HOUR_OF_DAY ||
+                   field == CLOCK_HOUR_OF_AMPM ||
+                   field == AMPM_OF_DAY;
+        else
+            return field != null && field.isSupportedBy(this);
     }
 
     @Override
@@ -380,11 +427,13 @@ public final class SimpleLocalTIme implements Comparable<SimpleLocalTIme>, Tempo
     {
         if (this == other)
             return true;
-        else
+        else if (other instanceof SimpleLocalTIme)
         {
             final SimpleLocalTIme time = (SimpleLocalTIme) other;
             return hour == time.hour && minute == time.minute;
         }
+        else
+            return false;
     }
 
     @Override
@@ -394,15 +443,41 @@ public final class SimpleLocalTIme implements Comparable<SimpleLocalTIme>, Tempo
         return (int) (minuteOfDay ^ (minuteOfDay << 8));
     }
 
+    /**
+     * Returns this time in the format "HH:mm". As there is only one instance of every time, the string is created
+     * once and then cached.
+     *
+     * @return this time as a string
+     */
     @Override
     public String toString()
     {
-        final StringBuilder string = new StringBuilder();
-        if (hour < 10)
-            string.append('0');
-        string.append(hour).append(':');
-        if (minute < 10)
-            string.append('0');
-        return string.append(minute).toString();
+        String result = string;
+        if (result == null)
+        {
+            result = SimpleLocalTImeCodec.EXTENDED.format(this);
+            string = result;
+        }
+        return result;
+    }
+
+    private Object writeReplace()
+    {
+        return new Ser(Ser.SIMPLE_LOCAL_TIME_TYPE, this);
+    }
+
+    /**
+     * Replaces an instance that was serialised in the default form, before the introduction of {@link Ser}, with the
+     * canonical instance for the same time, so that equal instances stay identical.
+     *
+     * @return the canonical instance
+     * @throws InvalidObjectException if the stream holds an invalid hour or minute
+     */
+    private Object readResolve() throws InvalidObjectException
+    {
+        if (hour < HOUR_MIN || hour > HOUR_MAX || minute < MINUTE_MIN || minute > MINUTE_MAX)
+            throw new InvalidObjectException("Invalid SimpleLocalTIme: " + hour + ':' + minute);
+        else
+            return create(hour, minute);
     }
 }
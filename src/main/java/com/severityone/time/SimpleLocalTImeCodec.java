@@ -0,0 +1,301 @@
+package com.severityone.time;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+/**
+ * Parses and formats {@link SimpleLocalTIme} values as text, in either the ISO 8601 extended format "HH:mm" or the
+ * basic format "HHmm". Hours and minutes are always two digits, and parsing is strict: only ASCII digits and, in the
+ * extended format, a colon are accepted, and the values must be within range.
+ * <p>
+ * Unlike {@link java.time.format.DateTimeFormatter}, this codec works directly on {@code CharSequence}s, ASCII byte
+ * arrays and {@code ByteBuffer}s, and does not allocate any objects, except when throwing an exception for invalid
+ * input. Parsing always returns the canonical {@code SimpleLocalTIme} instance.
+ */
+public enum SimpleLocalTImeCodec
+{
+    /**
+     * The ISO 8601 extended format, "HH:mm", such as "09:30".
+     */
+    EXTENDED(true),
+
+    /**
+     * The ISO 8601 basic format, "HHmm", such as "0930".
+     */
+    BASIC(false);
+
+    private static final char SEPARATOR = ':';
+    private static final int HOURS_PER_DAY = 24;
+    private static final int MINUTES_PER_HOUR = 60;
+
+    private final boolean separated;
+    private final int length;
+    private final int minuteOffset;
+
+    SimpleLocalTImeCodec(final boolean separated)
+    {
+        this.separated = separated;
+        this.length = separated ? 5 : 4;
+        this.minuteOffset = separated ? 3 : 2;
+    }
+
+    /**
+     * Returns the number of characters or bytes that this format uses for a time.
+     *
+     * @return the length of a formatted time
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * Parses the given text, which must consist of exactly one time in this format.
+     *
+     * @param text the text to parse
+     * @return the parsed time
+     * @throws NullPointerException   if the text is null
+     * @throws DateTimeParseException if the text is not a valid time in this format
+     */
+    public SimpleLocalTIme parse(final CharSequence text)
+    {
+        Objects.requireNonNull(text, "text");
+        if (text.length() != length)
+            throw new DateTimeParseException("Text '" + text + "' could not be parsed, expected " + length +
+                                             " characters", text, 0);
+        else
+            return parse(text, 0);
+    }
+
+    /**
+     * Parses a time in this format at the given position in the given text. Any characters before or after the
+     * time are ignored.
+     *
+     * @param text   the text to parse
+     * @param offset the index of the first character of the time
+     * @return the parsed time
+     * @throws NullPointerException      if the text is null
+     * @throws IndexOutOfBoundsException if the text is too short to contain a time at the given offset
+     * @throws DateTimeParseException    if the characters at the given offset are not a valid time in this format
+     */
+    public SimpleLocalTIme parse(final CharSequence text, final int offset)
+    {
+        Objects.requireNonNull(text, "text");
+        checkBounds(offset, text.length());
+        if (separated && text.charAt(offset + 2) != SEPARATOR)
+            throw parseException(text, offset, offset + 2);
+        final int hour = digits(text.charAt(offset), text.charAt(offset + 1));
+        final int minute = digits(text.charAt(offset + minuteOffset), text.charAt(offset + minuteOffset + 1));
+        if (hour < 0 || hour >= HOURS_PER_DAY)
+            throw parseException(text, offset, offset);
+        else if (minute < 0 || minute >= MINUTES_PER_HOUR)
+            throw parseException(text, offset, offset + minuteOffset);
+        else
+            return SimpleLocalTIme.ofMinuteOfDay(hour * MINUTES_PER_HOUR + minute);
+    }
+
+    /**
+     * Parses a time in this format from the given ASCII bytes, starting at the given offset.
+     *
+     * @param ascii  the bytes to parse
+     * @param offset the index of the first byte of the time
+     * @return the parsed time
+     * @throws NullPointerException      if the byte array is null
+     * @throws IndexOutOfBoundsException if the array is too short to contain a time at the given offset
+     * @throws DateTimeParseException    if the bytes at the given offset are not a valid time in this format
+     */
+    public SimpleLocalTIme parse(final byte[] ascii, final int offset)
+    {
+        Objects.requireNonNull(ascii, "ascii");
+        checkBounds(offset, ascii.length);
+        if (separated && ascii[offset + 2] != SEPARATOR)
+            throw parseException(ascii, offset, 2);
+        final int hour = digits(ascii[offset], ascii[offset + 1]);
+        final int minute = digits(ascii[offset + minuteOffset], ascii[offset + minuteOffset + 1]);
+        if (hour < 0 || hour >= HOURS_PER_DAY)
+            throw parseException(ascii, offset, 0);
+        else if (minute < 0 || minute >= MINUTES_PER_HOUR)
+            throw parseException(ascii, offset, minuteOffset);
+        else
+            return SimpleLocalTIme.ofMinuteOfDay(hour * MINUTES_PER_HOUR + minute);
+    }
+
+    /**
+     * Parses a time in this format from the ASCII bytes at the current position of the given buffer. On success,
+     * the position is advanced past the time; otherwise, it is left unchanged.
+     *
+     * @param buffer the buffer to parse from
+     * @return the parsed time
+     * @throws NullPointerException     if the buffer is null
+     * @throws BufferUnderflowException if fewer than {@link #length()} bytes remain in the buffer
+     * @throws DateTimeParseException   if the bytes at the current position are not a valid time in this format
+     */
+    public SimpleLocalTIme parse(final ByteBuffer buffer)
+    {
+        Objects.requireNonNull(buffer, "buffer");
+        if (buffer.remaining() < length)
+            throw new BufferUnderflowException();
+        final int offset = buffer.position();
+        if (separated && buffer.get(offset + 2) != SEPARATOR)
+            throw parseException(buffer, offset, 2);
+        final int hour = digits(buffer.get(offset), buffer.get(offset + 1));
+        final int minute = digits(buffer.get(offset + minuteOffset), buffer.get(offset + minuteOffset + 1));
+        if (hour < 0 || hour >= HOURS_PER_DAY)
+            throw parseException(buffer, offset, 0);
+        else if (minute < 0 || minute >= MINUTES_PER_HOUR)
+            throw parseException(buffer, offset, minuteOffset);
+        else
+        {
+            ((Buffer) buffer).position(offset + length);
+            return SimpleLocalTIme.ofMinuteOfDay(hour * MINUTES_PER_HOUR + minute);
+        }
+    }
+
+    /**
+     * Formats the given time in this format.
+     *
+     * @param time the time to format
+     * @return the formatted time
+     * @throws NullPointerException if the time is null
+     */
+    public String format(final SimpleLocalTIme time)
+    {
+        return appendTo(time, new StringBuilder(length)).toString();
+    }
+
+    /**
+     * Appends the given time in this format to the given {@code StringBuilder}.
+     *
+     * @param time    the time to format
+     * @param builder the builder to append to
+     * @return the builder
+     * @throws NullPointerException if any of the parameters is null
+     */
+    public StringBuilder appendTo(final SimpleLocalTIme time, final StringBuilder builder)
+    {
+        final int hour = time.getHour();
+        final int minute = time.getMinute();
+        builder.append((char) ('0' + hour / 10))
+               .append((char) ('0' + hour % 10));
+        if (separated)
+            builder.append(SEPARATOR);
+        return builder.append((char) ('0' + minute / 10))
+                      .append((char) ('0' + minute % 10));
+    }
+
+    /**
+     * Appends the given time in this format to the given {@code Appendable}.
+     *
+     * @param time       the time to format
+     * @param appendable the appendable to append to
+     * @param <A>        the type of appendable
+     * @return the appendable
+     * @throws NullPointerException if any of the parameters is null
+     * @throws IOException          if the appendable throws it
+     */
+    public <A extends Appendable> A appendTo(final SimpleLocalTIme time, final A appendable) throws IOException
+    {
+        final int hour = time.getHour();
+        final int minute = time.getMinute();
+        appendable.append((char) ('0' + hour / 10))
+                  .append((char) ('0' + hour % 10));
+        if (separated)
+            appendable.append(SEPARATOR);
+        appendable.append((char) ('0' + minute / 10))
+                  .append((char) ('0' + minute % 10));
+        return appendable;
+    }
+
+    /**
+     * Writes the given time in this format as ASCII bytes to the given array.
+     *
+     * @param time   the time to format
+     * @param ascii  the array to write to
+     * @param offset the index at which to write the first byte
+     * @return the index just after the last byte written
+     * @throws NullPointerException      if any of the parameters is null
+     * @throws IndexOutOfBoundsException if the array is too short to hold the time at the given offset
+     */
+    public int writeTo(final SimpleLocalTIme time, final byte[] ascii, final int offset)
+    {
+        checkBounds(offset, ascii.length);
+        final int hour = time.getHour();
+        final int minute = time.getMinute();
+        ascii[offset] = (byte) ('0' + hour / 10);
+        ascii[offset + 1] = (byte) ('0' + hour % 10);
+        if (separated)
+            ascii[offset + 2] = SEPARATOR;
+        ascii[offset + minuteOffset] = (byte) ('0' + minute / 10);
+        ascii[offset + minuteOffset + 1] = (byte) ('0' + minute % 10);
+        return offset + length;
+    }
+
+    /**
+     * Writes the given time in this format as ASCII bytes at the current position of the given buffer, and
+     * advances the position past it.
+     *
+     * @param time   the time to format
+     * @param buffer the buffer to write to
+     * @return the buffer
+     * @throws NullPointerException    if any of the parameters is null
+     * @throws BufferOverflowException if fewer than {@link #length()} bytes remain in the buffer
+     */
+    public ByteBuffer writeTo(final SimpleLocalTIme time, final ByteBuffer buffer)
+    {
+        final int hour = time.getHour();
+        final int minute = time.getMinute();
+        if (buffer.remaining() < length)
+            throw new BufferOverflowException();
+        buffer.put((byte) ('0' + hour / 10))
+              .put((byte) ('0' + hour % 10));
+        if (separated)
+            buffer.put((byte) SEPARATOR);
+        return buffer.put((byte) ('0' + minute / 10))
+                     .put((byte) ('0' + minute % 10));
+    }
+
+    private void checkBounds(final int offset, final int available)
+    {
+        if (offset < 0 || offset > available - length)
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", available " + available);
+    }
+
+    /**
+     * Returns the value of two decimal digits, or a negative value if either of them is not a digit.
+     */
+    private static int digits(final int tens, final int units)
+    {
+        final int high = tens - '0';
+        final int low = units - '0';
+        if (high < 0 || high > 9 || low < 0 || low > 9)
+            return -1;
+        else
+            return high * 10 + low;
+    }
+
+    private DateTimeParseException parseException(final CharSequence text, final int offset, final int errorIndex)
+    {
+        final CharSequence parsed = text.subSequence(offset, offset + length);
+        return new DateTimeParseException("Text '" + parsed + "' could not be parsed as " + this + " time",
+                                          text, errorIndex);
+    }
+
+    private DateTimeParseException parseException(final byte[] ascii, final int offset, final int errorIndex)
+    {
+        return parseException(new String(ascii, offset, length, StandardCharsets.US_ASCII), 0, errorIndex);
+    }
+
+    private DateTimeParseException parseException(final ByteBuffer buffer, final int offset, final int errorIndex)
+    {
+        final byte[] ascii = new byte[length];
+        for (int index = 0; index < length; index++)
+            ascii[index] = buffer.get(offset + index);
+        return parseException(ascii, 0, errorIndex);
+    }
+}
@@ -0,0 +1,339 @@
+package com.severityone.time;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A range of {@link SimpleLocalTIme}s that steps a whole number of minutes at a time. Unlike other ranges, a range
+ * of times may wrap around past midnight, such as from 22:00 to 02:00, but it spans at most one day, so that no
+ * time occurs in it twice.
+ * <p>
+ * The range is held as the minute of day of its first element, its number of elements, and the number of minutes
+ * between elements, all as {@code int}s. Its elements are the canonical instances of {@code SimpleLocalTIme}, so
+ * iterating over the range does not allocate any times, and looking up a time takes constant time.
+ * <p>
+ * A range that wraps around past midnight is not in natural order, so its spliterator does not report
+ * {@link Spliterator#SORTED}.
+ */
+public final class SimpleLocalTImeRange extends TemporalRange<SimpleLocalTIme>
+{
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final int startMinute;
+    private final int length;
+    private final int step;
+
+    private SimpleLocalTImeRange(final int startMinute, final int length, final int step)
+    {
+        super(SimpleLocalTIme.ofMinuteOfDay(startMinute), (long) length * step, step, ChronoUnit.MINUTES);
+        this.startMinute = startMinute;
+        this.length = length;
+        this.step = step;
+    }
+
+    /**
+     * Returns a range of every minute from the given time, inclusive, to the given time, exclusive. If the end is
+     * before the start, the range wraps around past midnight; if both are equal, it spans a whole day.
+     *
+     * @param startInclusive the first time of the range
+     * @param endExclusive   the time at which the range ends
+     * @return the range
+     */
+    public static SimpleLocalTImeRange of(final SimpleLocalTIme startInclusive, final SimpleLocalTIme endExclusive)
+    {
+        return of(startInclusive, endExclusive, 1);
+    }
+
+    /**
+     * Returns a range of the times from the given time, inclusive, to the given time, exclusive, the given number
+     * of minutes apart. If the end is before the start, the range wraps around past midnight; if both are equal,
+     * it spans a whole day.
+     *
+     * @param startInclusive the first time of the range
+     * @param endExclusive   the time at which the range ends
+     * @param stepMinutes    the number of minutes between two consecutive times
+     * @return the range
+     * @throws IllegalArgumentException if the number of minutes is not positive
+     */
+    public static SimpleLocalTImeRange of(final SimpleLocalTIme startInclusive,
+                                          final SimpleLocalTIme endExclusive,
+                                          final int stepMinutes)
+    {
+        if (stepMinutes <= 0)
+            throw new IllegalArgumentException("Step must be positive: " + stepMinutes);
+        final int start = startInclusive.toMinuteOfDay();
+        final int size = Math.floorMod(endExclusive.toMinuteOfDay() - start - 1, MINUTES_PER_DAY) + 1;
+        return new SimpleLocalTImeRange(start, (size - 1) / stepMinutes + 1, stepMinutes);
+    }
+
+    /**
+     * Returns a range of the given number of times from the given time, the given number of minutes apart.
+     *
+     * @throws IllegalArgumentException if the range would span more than a day, or if the amount is zero
+     */
+    static SimpleLocalTImeRange of(final SimpleLocalTIme startInclusive, final long length, final long amount)
+    {
+        if (!isWithinDay(length, amount))
+            throw new IllegalArgumentException("Range spans more than a day: " + length + " times, " + amount +
+                                               " minutes apart");
+        return new SimpleLocalTImeRange(startInclusive.toMinuteOfDay(), (int) length,
+                                        length > 1 ? (int) amount : Long.signum(amount));
+    }
+
+    /**
+     * Returns whether a range of the given number of times, the given number of minutes apart, spans at most a day.
+     */
+    static boolean isWithinDay(final long length, final long amount)
+    {
+        if (amount == 0 || length < 0 || length > MINUTES_PER_DAY)
+            return false;
+        else if (length <= 1)
+            return true;
+        else
+            return Math.abs(amount) < MINUTES_PER_DAY && (length - 1) * Math.abs(amount) < MINUTES_PER_DAY;
+    }
+
+    /**
+     * Returns a sequential {@link IntStream} of the minutes of day of the times in this range, in order. No
+     * {@code SimpleLocalTIme} is looked up for any of the elements.
+     *
+     * @return a sequential {@code IntStream} of minutes of day
+     * @see SimpleLocalTIme#toMinuteOfDay()
+     */
+    public IntStream minutesOfDay()
+    {
+        return StreamSupport.intStream(new MinuteSpliterator(0, length), false);
+    }
+
+    /**
+     * Stores the minutes of day of the times in this range into the given array, in order, from the given offset.
+     *
+     * @param dest   the array to store the minutes of day in
+     * @param offset the index in the array at which to store the first minute of day
+     * @return the index in the array after the last minute of day
+     * @throws IndexOutOfBoundsException if the minutes of day do not fit in the array from the offset
+     * @see SimpleLocalTIme#toMinuteOfDay()
+     */
+    public int fillMinutesOfDay(final int[] dest, final int offset)
+    {
+        if (offset < 0 || offset > dest.length || length > dest.length - offset)
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", size: " + length + ", length: " + dest.length);
+        final int end = offset + length;
+        int minute = startMinute;
+        for (int index = offset; index < end; index++)
+        {
+            dest[index] = minute;
+            minute = Math.floorMod(minute + step, MINUTES_PER_DAY);
+        }
+        return end;
+    }
+
+    /**
+     * Returns the index of the given time in this range, in constant time, by its number of minutes from the first
+     * time of this range, in the direction of this range.
+     *
+     * @param value the time to look for
+     * @return the index of the time, or -1 if it is not in this range
+     */
+    @Override
+    public long indexOf(final SimpleLocalTIme value)
+    {
+        final int offset = offset(value);
+        final int magnitude = Math.abs(step);
+        return offset % magnitude == 0 && offset / magnitude < length ? offset / magnitude : -1;
+    }
+
+    @Override
+    public SimpleLocalTIme floor(final SimpleLocalTIme value)
+    {
+        if (isSorted())
+            return super.floor(value);
+        final SimpleLocalTIme first = subRange(0, wrapIndex()).floor(value);
+        final SimpleLocalTIme second = subRange(wrapIndex(), length).floor(value);
+        if (first == null)
+            return second;
+        else if (second == null)
+            return first;
+        else
+            return first.isAfter(second) ? first : second;
+    }
+
+    @Override
+    public SimpleLocalTIme ceiling(final SimpleLocalTIme value)
+    {
+        if (isSorted())
+            return super.ceiling(value);
+        final SimpleLocalTIme first = subRange(0, wrapIndex()).ceiling(value);
+        final SimpleLocalTIme second = subRange(wrapIndex(), length).ceiling(value);
+        if (first == null)
+            return second;
+        else if (second == null)
+            return first;
+        else
+            return first.isBefore(second) ? first : second;
+    }
+
+    @Override
+    public SimpleLocalTImeRange subRange(final long fromIndex, final long toIndex)
+    {
+        return (SimpleLocalTImeRange) super.subRange(fromIndex, toIndex);
+    }
+
+    @Override
+    public SimpleLocalTImeRange reversed()
+    {
+        return (SimpleLocalTImeRange) super.reversed();
+    }
+
+    @Override
+    public SimpleLocalTImeRange everyNth(final long n)
+    {
+        return (SimpleLocalTImeRange) super.everyNth(n);
+    }
+
+    /**
+     * Returns a view of the leading times of this range that come before the given time in the direction of this
+     * range. If this range wraps around past midnight, those are the times that this range reaches before it
+     * reaches the given time, going around the clock from its first time.
+     *
+     * @param toExclusive the time before which the view ends
+     * @return a range with the times before the given time
+     */
+    @Override
+    public SimpleLocalTImeRange headRange(final SimpleLocalTIme toExclusive)
+    {
+        if (isSorted())
+            return (SimpleLocalTImeRange) super.headRange(toExclusive);
+        return subRange(0, countBefore(toExclusive));
+    }
+
+    /**
+     * Returns a view of the trailing times of this range from the given time onwards in the direction of this
+     * range. If this range wraps around past midnight, those are the times that this range reaches once it has
+     * reached the given time, going around the clock from its first time.
+     *
+     * @param fromInclusive the time from which the view starts
+     * @return a range with the times from the given time onwards
+     */
+    @Override
+    public SimpleLocalTImeRange tailRange(final SimpleLocalTIme fromInclusive)
+    {
+        if (isSorted())
+            return (SimpleLocalTImeRange) super.tailRange(fromInclusive);
+        return subRange(countBefore(fromInclusive), length);
+    }
+
+    /**
+     * Returns a new range that starts at the given number of minutes from the first time of this range. Minutes
+     * all have the same length, so the new range does not need to keep this range as its origin.
+     */
+    @Override
+    SimpleLocalTImeRange view(final long base, final long amount, final long length)
+    {
+        return of(SimpleLocalTIme.ofMinuteOfDay(Math.floorMod(startMinute + base % MINUTES_PER_DAY, MINUTES_PER_DAY)),
+                  length, amount);
+    }
+
+    @Override
+    boolean isSorted()
+    {
+        return wrapIndex() >= length;
+    }
+
+    /**
+     * Returns the number of minutes from the first time of this range to the given time, in the direction of this
+     * range.
+     */
+    private int offset(final SimpleLocalTIme value)
+    {
+        return Math.floorMod((value.toMinuteOfDay() - startMinute) * Integer.signum(step), MINUTES_PER_DAY);
+    }
+
+    /**
+     * Returns the number of leading times of this range that come before the given time, going around the clock from
+     * the first time of this range in its direction.
+     */
+    private int countBefore(final SimpleLocalTIme value)
+    {
+        final int magnitude = Math.abs(step);
+        return Math.min(length, (offset(Objects.requireNonNull(value)) + magnitude - 1) / magnitude);
+    }
+
+    /**
+     * Returns the number of leading times of this range before it wraps around past midnight.
+     */
+    private int wrapIndex()
+    {
+        if (step > 0)
+            return (MINUTES_PER_DAY - startMinute + step - 1) / step;
+        else
+            return startMinute / -step + 1;
+    }
+
+    private final class MinuteSpliterator extends IndexedSpliterator<Spliterator.OfInt> implements Spliterator.OfInt
+    {
+        private static final int CHARACTERISTICS = ORDERED | DISTINCT | SIZED | NONNULL | IMMUTABLE | SUBSIZED;
+
+        MinuteSpliterator(final long index, final long fence)
+        {
+            super(index, fence);
+        }
+
+        @Override
+        Spliterator.OfInt slice(final long index, final long fence)
+        {
+            return new MinuteSpliterator(index, fence);
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action)
+        {
+            Objects.requireNonNull(action);
+            if (index >= fence)
+                return false;
+            else
+            {
+                action.accept(Math.floorMod(startMinute + (int) index++ * step, MINUTES_PER_DAY));
+                return true;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(final IntConsumer action)
+        {
+            Objects.requireNonNull(action);
+            final long end = fence;
+            int minute = Math.floorMod(startMinute + (int) index * step, MINUTES_PER_DAY);
+            for (long current = index; current < end; current++)
+            {
+                action.accept(minute);
+                minute += step;
+                if (minute >= MINUTES_PER_DAY)
+                    minute -= MINUTES_PER_DAY;
+                else if (minute < 0)
+                    minute += MINUTES_PER_DAY;
+            }
+            index = end;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return step > 0 && isSorted() ? CHARACTERISTICS | SORTED : CHARACTERISTICS;
+        }
+
+        @Override
+        public Comparator<? super Integer> getComparator()
+        {
+            if (hasCharacteristics(SORTED))
+                return null;
+            else
+                throw new IllegalStateException();
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.severityone.time;
 
+import java.lang.reflect.Array;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -16,10 +20,13 @@ import java.util.stream.StreamSupport;
  */
 public class TemporalRange<T extends Temporal & Comparable<? super T>> implements Iterable<T>
 {
+    private final T origin;
     private final T startInclusive;
     private final TemporalUnit unit;
+    private final long base;
     private final long amount;
-    private final long size;
+    private final long length;
+    private final TemporalStepper<T> stepper;
 
     /**
      * Constructs a new instance of {@code TemportalRange}. The end point can be before the starting point, in order
@@ -39,12 +46,15 @@ public class TemporalRange<T extends Temporal & Comparable<? super T>> implement
                             final long amount,
                             final TemporalUnit unit) throws NullPointerException, IllegalArgumentException
     {
-        if (startInclusive.compareTo(endExclusive) * amount >= 0)
+        if (Integer.signum(startInclusive.compareTo(endExclusive)) * Long.signum(amount) >= 0)
             throw new IllegalArgumentException("endless loop detected");
-        this.startInclusive = Objects.requireNonNull(startInclusive);
-        this.size = unit.between(startInclusive, Objects.requireNonNull(endExclusive));
+        this.origin = Objects.requireNonNull(startInclusive);
+        this.startInclusive = startInclusive;
+        this.base = 0;
         this.amount = amount;
         this.unit = Objects.requireNonNull(unit);
+        this.length = length(size(startInclusive, Objects.requireNonNull(endExclusive), amount, unit), amount);
+        this.stepper = TemporalSteppers.of(startInclusive, unit);
     }
 
     /**
@@ -64,10 +74,62 @@ public class TemporalRange<T extends Temporal & Comparable<? super T>> implement
                             final long amount,
                             final TemporalUnit unit)
     {
-        this.startInclusive = Objects.requireNonNull(startInclusive);
-        this.size = size;
+        if (amount == 0 || Long.signum(size) * Long.signum(amount) < 0)
+            throw new IllegalArgumentException("endless loop detected");
+        this.origin = Objects.requireNonNull(startInclusive);
+        this.startInclusive = startInclusive;
+        this.base = 0;
         this.amount = amount;
         this.unit = Objects.requireNonNull(unit);
+        this.length = length(size, amount);
+        this.stepper = TemporalSteppers.of(startInclusive, unit);
+    }
+
+    /**
+     * Constructs a view of another range, which shares its origin, unit and stepper, but starts at the given number
+     * of units from the origin, and has its own amount and length. Elements are still computed from the origin,
+     * so that units such as months, where adding is not associative, give the same elements as the other range.
+     */
+    TemporalRange(final TemporalRange<T> source, final long base, final long amount, final long length)
+    {
+        this.origin = source.origin;
+        this.unit = source.unit;
+        this.stepper = source.stepper;
+        this.base = base;
+        this.amount = amount;
+        this.length = length;
+        this.startInclusive = stepper.plus(base);
+    }
+
+    /**
+     * Returns the number of units between the starting point and the end point, rounded away from the starting
+     * point if the end point does not fall on a whole unit, so that every point in time strictly before the end
+     * point is included.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Temporal & Comparable<? super T>> long size(final T startInclusive,
+                                                                          final T endExclusive,
+                                                                          final long amount,
+                                                                          final TemporalUnit unit)
+    {
+        final long size = unit.between(startInclusive, endExclusive);
+        final T last = (T) startInclusive.plus(size, unit);
+        if (Integer.signum(last.compareTo(endExclusive)) * Long.signum(amount) < 0)
+            return size + Long.signum(amount);
+        else
+            return size;
+    }
+
+    /**
+     * Returns the number of elements in a range of the given size in units, which is the number of multiples of
+     * the amount that lie between zero, inclusive, and the size, exclusive.
+     */
+    private static long length(final long size, final long amount)
+    {
+        if (size == 0)
+            return 0;
+        else
+            return (size - Long.signum(size)) / amount + 1;
     }
 
     /**
@@ -82,13 +144,14 @@ public class TemporalRange<T extends Temporal & Comparable<? super T>> implement
 
     /**
      * Returns a new {@link Spliterator} for this temporal range. This spliterator is {@code ORDERED}, {@code DISTINCT},
-     * {@code SORTED}, {@code SIZED}, {@code NONNULL}, {@code IMMUTABLE}, and {@code SUBSIZED}.
+     * {@code SORTED}, {@code SIZED}, {@code NONNULL}, {@code IMMUTABLE}, and {@code SUBSIZED}. It splits in halves
+     * on element boundaries, so that every split has an exact size, whatever the amount of units per element.
      *
      * @return a spliterator for the range.
      */
     public Spliterator<T> spliterator()
     {
-        return new RangeSpliterator(0, size);
+        return new RangeSpliterator(0, length, 0);
     }
 
     /**
@@ -111,106 +174,652 @@ public class TemporalRange<T extends Temporal & Comparable<? super T>> implement
         return StreamSupport.stream(spliterator(), true);
     }
 
+    /**
+     * Performs the given action for every element of this range, in chunks of consecutive elements, on the default
+     * executor for blocking tasks, with at most 64 chunks in flight. On Java 21 and later, every chunk runs on a
+     * virtual thread; on earlier versions, on a shared pool of daemon threads.
+     *
+     * @param chunkSize the number of consecutive elements per chunk
+     * @param action    the action to perform for each element
+     * @return a future that completes when the action has been performed for every element
+     * @throws IllegalArgumentException if the chunk size is not positive
+     * @throws NullPointerException     if the action is null
+     * @see #parallelForEach(Executor, int, int, Consumer)
+     */
+    public CompletableFuture<Void> parallelForEach(final int chunkSize, final Consumer<? super T> action)
+    {
+        return parallelForEach(BlockingExecutors.defaultExecutor(), chunkSize, ParallelForEach.DEFAULT_MAX_IN_FLIGHT,
+                               action);
+    }
+
+    /**
+     * Performs the given action for every element of this range, in chunks of consecutive elements, on the given
+     * executor, with at most 64 chunks in flight.
+     *
+     * @param executor  the executor to run the chunks on
+     * @param chunkSize the number of consecutive elements per chunk
+     * @param action    the action to perform for each element
+     * @return a future that completes when the action has been performed for every element
+     * @throws IllegalArgumentException if the chunk size is not positive
+     * @throws NullPointerException     if the executor or the action is null
+     * @see #parallelForEach(Executor, int, int, Consumer)
+     */
+    public CompletableFuture<Void> parallelForEach(final Executor executor,
+                                                   final int chunkSize,
+                                                   final Consumer<? super T> action)
+    {
+        return parallelForEach(executor, chunkSize, ParallelForEach.DEFAULT_MAX_IN_FLIGHT, action);
+    }
+
+    /**
+     * Performs the given action for every element of this range, in chunks of consecutive elements, on the given
+     * executor. Unlike {@link #parallelStream()}, which runs on the common {@code ForkJoinPool}, this suits actions
+     * that block on I/O, such as processing a daily partition: the parallelism is set by the executor and the
+     * number of chunks in flight, not by the number of processors.
+     * <p>
+     * Within a chunk, the action is performed for the elements in order; chunks run in no particular order. No
+     * more than the given number of chunks is submitted to the executor at any time. The returned future completes
+     * exceptionally as soon as the action throws an exception, or the executor rejects a chunk; cancelling it
+     * stops the remaining work. In both cases, chunks that are running stop before their next element.
+     *
+     * @param executor    the executor to run the chunks on
+     * @param chunkSize   the number of consecutive elements per chunk
+     * @param maxInFlight the maximum number of chunks that are submitted or running at the same time
+     * @param action      the action to perform for each element
+     * @return a future that completes when the action has been performed for every element
+     * @throws IllegalArgumentException if the chunk size or the maximum number of chunks is not positive
+     * @throws NullPointerException     if the executor or the action is null
+     */
+    public CompletableFuture<Void> parallelForEach(final Executor executor,
+                                                   final int chunkSize,
+                                                   final int maxInFlight,
+                                                   final Consumer<? super T> action)
+    {
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(action);
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        else if (maxInFlight <= 0)
+            throw new IllegalArgumentException("Maximum number of chunks in flight must be positive: " + maxInFlight);
+        return new ParallelForEach<>(this, executor, chunkSize, action).start(maxInFlight);
+    }
+
+    /**
+     * Returns the number of elements in this range.
+     *
+     * @return the number of elements
+     */
+    public long size()
+    {
+        return length;
+    }
+
+    public boolean isEmpty()
+    {
+        return length == 0;
+    }
+
+    /**
+     * Returns the element at the given index, which is the starting point plus the index times the amount of units.
+     *
+     * @param index the index of the element, from zero
+     * @return the element
+     * @throws IndexOutOfBoundsException if the index is negative, or not less than the size
+     */
+    public T get(final long index)
+    {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + length);
+        return element(index);
+    }
+
+    /**
+     * Returns the first element of this range, which is its starting point.
+     *
+     * @return the first element
+     * @throws NoSuchElementException if this range is empty
+     */
+    public T first()
+    {
+        if (length == 0)
+            throw new NoSuchElementException();
+        return startInclusive;
+    }
+
+    /**
+     * Returns the last element of this range.
+     *
+     * @return the last element
+     * @throws NoSuchElementException if this range is empty
+     */
+    public T last()
+    {
+        if (length == 0)
+            throw new NoSuchElementException();
+        return element(length - 1);
+    }
+
+    /**
+     * Returns whether the given value is an element of this range.
+     *
+     * @param value the value to look for
+     * @return true if the value is an element of this range
+     */
+    public boolean contains(final T value)
+    {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Returns the index of the given value in this range. The index is estimated by the number of units between
+     * the starting point and the value, divided by the amount, and confirmed by comparing the value with the
+     * elements at and around that index, which takes care of units such as months, where adding is not always the
+     * inverse of measuring the distance.
+     *
+     * @param value the value to look for
+     * @return the index of the value, or -1 if it is not an element of this range
+     */
+    public long indexOf(final T value)
+    {
+        Objects.requireNonNull(value);
+        if (length == 0)
+            return -1;
+        final long estimate = estimateIndex(value);
+        for (long index = Math.max(0, estimate - 1); index <= Math.min(length - 1, estimate + 1); index++)
+            if (element(index).compareTo(value) == 0)
+                return index;
+        return -1;
+    }
+
+    /**
+     * Returns the greatest element of this range that is less than or equal to the given value, in natural order,
+     * whatever the direction of this range.
+     *
+     * @param value the value to look for
+     * @return the greatest element not after the value, or null if there is no such element
+     */
+    public T floor(final T value)
+    {
+        if (amount > 0)
+            return elementOrNull(countBefore(value, true) - 1);
+        else
+            return elementOrNull(countBefore(value, false));
+    }
+
+    /**
+     * Returns the least element of this range that is greater than or equal to the given value, in natural order,
+     * whatever the direction of this range.
+     *
+     * @param value the value to look for
+     * @return the least element not before the value, or null if there is no such element
+     */
+    public T ceiling(final T value)
+    {
+        if (amount > 0)
+            return elementOrNull(countBefore(value, false));
+        else
+            return elementOrNull(countBefore(value, true) - 1);
+    }
+
+    /**
+     * Returns a read-only {@link List} view of this range. Its elements are computed when they are accessed, and
+     * {@code contains} and {@code indexOf} take constant time.
+     *
+     * @return a list view of this range
+     * @throws IllegalStateException if this range has more than {@code Integer.MAX_VALUE} elements
+     */
+    public List<T> asList()
+    {
+        if (length > Integer.MAX_VALUE)
+            throw new IllegalStateException("Range is too large for a list: " + length);
+        return new ListView();
+    }
+
+    /**
+     * Returns an array with the elements of this range, in order. If the given array is large enough, the elements
+     * are stored in it, and the array element right after the last element, if any, is set to null. Otherwise, a
+     * new array of the same runtime type and of the size of this range is returned. The elements are computed
+     * directly into the array, without an iterator or a stream.
+     *
+     * @param array the array to store the elements in, if it is large enough
+     * @return an array with the elements of this range
+     * @throws IllegalStateException if this range has more than {@code Integer.MAX_VALUE} elements
+     * @throws ArrayStoreException   if the runtime type of the array cannot hold the elements of this range
+     */
+    @SuppressWarnings("unchecked")
+    public T[] toArray(final T[] array)
+    {
+        if (length > Integer.MAX_VALUE)
+            throw new IllegalStateException("Range is too large for an array: " + length);
+        final int size = (int) length;
+        final T[] result = array.length >= size ? array
+                                                : (T[]) Array.newInstance(array.getClass().getComponentType(), size);
+        fill(result, 0, size);
+        if (result.length > size)
+            result[size] = null;
+        return result;
+    }
+
+    /**
+     * Performs the given action for consecutive batches of the elements of this range, in order. Every batch but
+     * the last one has the given size, and is passed in the same array, which is overwritten by the next batch, so
+     * the action must not keep it. The last batch is passed in an array of its own size.
+     *
+     * @param batchSize the number of elements per batch
+     * @param action    the action to perform for each batch
+     * @throws IllegalArgumentException if the batch size is not positive
+     * @throws NullPointerException     if the action is null
+     */
+    public void forEachBatch(final int batchSize, final Consumer<? super T[]> action)
+    {
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        Objects.requireNonNull(action);
+        if (length == 0)
+            return;
+        final T[] buffer = newArray((int) Math.min(batchSize, length));
+        for (long from = 0; from < length; from += buffer.length)
+        {
+            final int count = (int) Math.min(buffer.length, length - from);
+            final T[] batch = count == buffer.length ? buffer : newArray(count);
+            fill(batch, from, count);
+            action.accept(batch);
+        }
+    }
+
+    /**
+     * Performs the given action for consecutive batches of the elements of this range, in order, all of which are
+     * passed in the given buffer, together with the number of elements in the batch. Every batch but the last one
+     * fills the whole buffer; the array elements after the last batch are left as they were. The buffer can be
+     * reused for any number of ranges, so that no arrays are allocated at all.
+     *
+     * @param buffer the array to pass every batch in
+     * @param action the action to perform for each batch, given the buffer and the number of elements in it
+     * @throws IllegalArgumentException if the buffer is empty
+     * @throws NullPointerException     if the action is null
+     * @throws ArrayStoreException      if the runtime type of the buffer cannot hold the elements of this range
+     */
+    public void forEachBatch(final T[] buffer, final ObjIntConsumer<? super T[]> action)
+    {
+        if (buffer.length == 0)
+            throw new IllegalArgumentException("Buffer must not be empty");
+        Objects.requireNonNull(action);
+        for (long from = 0; from < length; from += buffer.length)
+        {
+            final int count = (int) Math.min(buffer.length, length - from);
+            fill(buffer, from, count);
+            action.accept(buffer, count);
+        }
+    }
+
+    /**
+     * Stores the given number of elements from the given index into the start of the given array.
+     */
+    private void fill(final T[] array, final long fromIndex, final int count)
+    {
+        long units = base + fromIndex * amount;
+        for (int index = 0; index < count; index++, units += amount)
+            array[index] = stepper.plus(units);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T[] newArray(final int size)
+    {
+        return (T[]) Array.newInstance(startInclusive.getClass(), size);
+    }
+
+    /**
+     * Returns a view of the elements of this range from the given index, inclusive, to the given index, exclusive.
+     * The view is computed in constant time, and steps in the same direction as this range.
+     *
+     * @param fromIndex the index of the first element of the view
+     * @param toIndex   the index after the last element of the view
+     * @return a range with the elements between both indices
+     * @throws IndexOutOfBoundsException if either index is out of bounds, or if the first index is greater than
+     *                                   the second
+     */
+    public TemporalRange<T> subRange(final long fromIndex, final long toIndex)
+    {
+        if (fromIndex < 0 || toIndex > length || fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("From: " + fromIndex + ", to: " + toIndex + ", size: " + length);
+        return view(base + fromIndex * amount, amount, toIndex - fromIndex);
+    }
+
+    /**
+     * Returns a view of the elements of this range in reverse order, from the last element to the first. The view
+     * is computed in constant time.
+     *
+     * @return a range with the same elements, in reverse order
+     */
+    public TemporalRange<T> reversed()
+    {
+        if (length == 0)
+            return this;
+        else
+            return view(base + (length - 1) * amount, -amount, length);
+    }
+
+    /**
+     * Returns a view of every <i>n</i>th element of this range, starting with the first. The view is computed in
+     * constant time.
+     *
+     * @param n the number of elements to step for each element of the view
+     * @return a range with the first element of this range, and every <i>n</i>th element after it
+     * @throws IllegalArgumentException if the number is not positive
+     * @throws ArithmeticException      if the amount of units per element of the view overflows a {@code long}
+     */
+    public TemporalRange<T> everyNth(final long n)
+    {
+        if (n < 1)
+            throw new IllegalArgumentException("Step must be positive: " + n);
+        else if (n == 1)
+            return this;
+        else
+            return view(base, Math.multiplyExact(amount, n), length == 0 ? 0 : (length - 1) / n + 1);
+    }
+
+    /**
+     * Returns a view of the leading elements of this range that come before the given value in the direction of
+     * this range: the elements less than the value if this range goes forward in time, and greater than the value
+     * if it goes back.
+     *
+     * @param toExclusive the value before which the view ends
+     * @return a range with the elements before the value
+     */
+    public TemporalRange<T> headRange(final T toExclusive)
+    {
+        return subRange(0, countBefore(toExclusive, false));
+    }
+
+    /**
+     * Returns a view of the trailing elements of this range from the given value onwards, in the direction of this
+     * range: the elements greater than or equal to the value if this range goes forward in time, and less than or
+     * equal to the value if it goes back.
+     *
+     * @param fromInclusive the value from which the view starts
+     * @return a range with the elements from the value onwards
+     */
+    public TemporalRange<T> tailRange(final T fromInclusive)
+    {
+        return subRange(countBefore(fromInclusive, false), length);
+    }
+
+    /**
+     * Returns a view of this range with the given number of units between the origin and the first element, the
+     * given amount of units per element, and the given number of elements. A subclass returns an instance of its
+     * own type.
+     */
+    TemporalRange<T> view(final long base, final long amount, final long length)
+    {
+        return new TemporalRange<>(this, base, amount, length);
+    }
+
+    private T elementOrNull(final long index)
+    {
+        return index >= 0 && index < length ? element(index) : null;
+    }
+
+    /**
+     * Returns the index that the given value would have, if it were an element of this range, within one.
+     */
+    private long estimateIndex(final T value)
+    {
+        final long estimate = unit.between(startInclusive, value) / amount;
+        return Math.max(0, Math.min(length, estimate));
+    }
+
+    /**
+     * Returns the number of leading elements of this range that come before the given value in the direction of
+     * this range, that is, that are less than the value if the amount is positive, and greater than the value if
+     * it is negative. Elements that are equal to the value are counted if so requested.
+     */
+    private long countBefore(final T value, final boolean inclusive)
+    {
+        Objects.requireNonNull(value);
+        long count = estimateIndex(value);
+        while (count > 0 && !isBefore(element(count - 1), value, inclusive))
+            count--;
+        while (count < length && isBefore(element(count), value, inclusive))
+            count++;
+        return count;
+    }
+
+    private boolean isBefore(final T element, final T value, final boolean inclusive)
+    {
+        final int comparison = Long.signum(amount) * element.compareTo(value);
+        return comparison < 0 || inclusive && comparison == 0;
+    }
+
+    /**
+     * Returns the first element of this range, which is the starting point of the range.
+     */
+    T getStartInclusive()
+    {
+        return startInclusive;
+    }
+
+    /**
+     * Returns whether the elements of this range are in natural order if the amount is positive, or in reverse
+     * order if it is negative. This is true, unless a subclass has elements that wrap around.
+     */
+    boolean isSorted()
+    {
+        return true;
+    }
+
+    /**
+     * Returns the point in time from which the elements of this range are computed. It is the starting point of
+     * the range, unless the range is a view of another range.
+     */
+    T getOrigin()
+    {
+        return origin;
+    }
+
+    /**
+     * Returns the number of units between the origin and the first element of this range.
+     */
+    long getBase()
+    {
+        return base;
+    }
+
+    /**
+     * Returns the type of temporal units in which this range steps.
+     */
+    TemporalUnit getUnit()
+    {
+        return unit;
+    }
+
+    /**
+     * Returns the amount of units between two consecutive elements of this range.
+     */
+    long getAmount()
+    {
+        return amount;
+    }
+
+    /**
+     * Returns the number of elements in this range.
+     */
+    long getLength()
+    {
+        return length;
+    }
+
+    /**
+     * Returns the element at the given index, which is the origin plus the base plus the index times the amount of
+     * units.
+     */
+    private T element(final long index)
+    {
+        return stepper.plus(base + index * amount);
+    }
+
+    private class ListView extends AbstractList<T> implements RandomAccess
+    {
+        @Override
+        public T get(final int index)
+        {
+            return TemporalRange.this.get(index);
+        }
+
+        @Override
+        public int size()
+        {
+            return (int) length;
+        }
+
+        @Override
+        public boolean contains(final Object value)
+        {
+            return indexOf(value) >= 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public int indexOf(final Object value)
+        {
+            if (value == null || !startInclusive.getClass().isInstance(value))
+                return -1;
+            else
+                return (int) TemporalRange.this.indexOf((T) value);
+        }
+
+        @Override
+        public int lastIndexOf(final Object value)
+        {
+            return indexOf(value);
+        }
+
+        @Override
+        public Spliterator<T> spliterator()
+        {
+            return TemporalRange.this.spliterator();
+        }
+    }
+
     private class RangeIterator implements Iterator<T>
     {
-        private long current = 0;
+        private long index = 0;
 
         @Override
         public boolean hasNext()
         {
-            return current < size;
+            return index < length;
         }
 
-        @SuppressWarnings("unchecked")
         @Override
         public T next()
         {
-            if (current >= size)
+            if (index >= length)
                 throw new NoSuchElementException();
-            final long old = current;
-            current += amount;
-            return (T) startInclusive.plus(old, unit);
+            return element(index++);
         }
     }
 
-    private class RangeSpliterator implements Spliterator<T>
+    private class RangeSpliterator extends IndexedSpliterator<Spliterator<T>> implements Spliterator<T>
     {
         private static final int CHARACTERISTICS = ORDERED | DISTINCT | SORTED | SIZED | NONNULL | IMMUTABLE | SUBSIZED;
 
-        private long current;
-        private long end;
+        /**
+         * The number of times that this spliterator has been split, including the splits of the spliterators that
+         * it was split off from, which is reported to the {@link RangeMetrics}.
+         */
+        private int depth;
 
-        RangeSpliterator(final long start, final long end)
+        RangeSpliterator(final long index, final long fence, final int depth)
         {
-            this.current = start;
-            this.end = end;
+            super(index, fence);
+            this.depth = depth;
         }
 
-        @SuppressWarnings("unchecked")
         @Override
-        public boolean tryAdvance(final Consumer<? super T> action)
+        Spliterator<T> slice(final long index, final long fence)
         {
-            if (current >= end)
-                return false;
-            else
-            {
-                final long old = current;
-                current += amount;
-                action.accept((T) startInclusive.plus(old, unit));
-                return true;
-            }
+            return new RangeSpliterator(index, fence, depth + 1);
         }
 
         @Override
         public Spliterator<T> trySplit()
         {
-            final long mid = (end - current) >>> 1;
-            if (mid <= current + 1)
-                return null;
-            else
+            final Spliterator<T> prefix = super.trySplit();
+            if (prefix != null)
             {
-                final long oldEnd = end;
-                end = mid;
-                return new RangeSpliterator(mid, oldEnd);
+                final RangeMetrics metrics = RangeInstrumentation.metrics;
+                if (metrics != null)
+                    metrics.split(TemporalRange.this, depth, prefix.getExactSizeIfKnown(), fence - index);
+                depth++;
             }
+            return prefix;
         }
 
-        @SuppressWarnings("unchecked")
         @Override
-        public void forEachRemaining(final Consumer<? super T> action)
-        {
-            for (long index = current; index < end; index += amount)
-                action.accept((T) startInclusive.plus(index, unit));
-        }
-
-        @Override
-        public long estimateSize()
+        public boolean tryAdvance(final Consumer<? super T> action)
         {
-            return end - current;
+            Objects.requireNonNull(action);
+            if (index >= fence)
+                return false;
+            else
+            {
+                action.accept(element(index++));
+                return true;
+            }
         }
 
         @Override
-        public long getExactSizeIfKnown()
+        public void forEachRemaining(final Consumer<? super T> action)
         {
-            return end - current;
+            Objects.requireNonNull(action);
+            final long end = fence;
+            final long start = index;
+            index = end;
+            final RangeMetrics metrics = RangeInstrumentation.metrics;
+            if (metrics == null)
+            {
+                for (long current = start; current < end; current++)
+                    action.accept(element(current));
+            }
+            else
+            {
+                final Object token = metrics.chunkStarted(TemporalRange.this, depth, end - start);
+                final long startNanos = System.nanoTime();
+                long current = start;
+                try
+                {
+                    for (; current < end; current++)
+                        action.accept(element(current));
+                }
+                finally
+                {
+                    metrics.chunkEnded(TemporalRange.this, depth, current - start, System.nanoTime() - startNanos,
+                                       token);
+                }
+            }
         }
 
         @Override
         public int characteristics()
         {
-            return CHARACTERISTICS;
+            return isSorted() ? CHARACTERISTICS : CHARACTERISTICS & ~SORTED;
         }
 
         @Override
         public boolean hasCharacteristics(final int characteristics)
         {
-            return (characteristics & CHARACTERISTICS) == characteristics;
+            return (characteristics & characteristics()) == characteristics;
         }
 
         @Override
         public Comparator<? super T> getComparator()
         {
-            return Comparator.naturalOrder();
+            if (!isSorted())
+                throw new IllegalStateException();
+            else if (amount > 0)
+                return null;
+            else
+                return Comparator.reverseOrder();
         }
     }
 }
@@ -0,0 +1,24 @@
+package com.severityone.time;
+
+import java.time.temporal.Temporal;
+
+/**
+ * Computes the elements of a temporal range from a fixed starting point. Implementations are chosen once, when a
+ * range is constructed, so that common combinations of temporal type and unit can use direct arithmetic instead
+ * of going through {@link Temporal#plus(long, java.time.temporal.TemporalUnit)} for every element.
+ *
+ * @param <T> the temporal type of the range
+ * @see TemporalSteppers#of(Temporal, java.time.temporal.TemporalUnit)
+ */
+@FunctionalInterface
+interface TemporalStepper<T extends Temporal>
+{
+    /**
+     * Returns the starting point plus the given number of units. The result must be identical to that of
+     * {@code startInclusive.plus(units, unit)}.
+     *
+     * @param units the number of units to add to the starting point, which may be negative
+     * @return the starting point plus the given number of units
+     */
+    T plus(long units);
+}
@@ -0,0 +1,228 @@
+package com.severityone.time;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalUnit;
+
+/**
+ * Factory for {@link TemporalStepper} instances. There are specialised steppers for {@link LocalDate},
+ * {@link LocalDateTime}, {@link Instant} and {@link SimpleLocalTIme} with the most common units; all other
+ * combinations fall back on {@link Temporal#plus(long, TemporalUnit)}.
+ * <p>
+ * All steppers compute an element directly from the starting point, rather than from the previous element, so
+ * that month-end clamping works exactly like {@code plus}: one month after 31 January is 28 or 29 February, but
+ * two months after it is 31 March.
+ */
+final class TemporalSteppers
+{
+    private static final long MONTHS_PER_YEAR = 12;
+    private static final long DAYS_PER_WEEK = 7;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private TemporalSteppers()
+    {
+    }
+
+    /**
+     * Returns the fastest available stepper for the given starting point and unit.
+     *
+     * @param startInclusive the starting point of the range
+     * @param unit           the unit in which the range steps
+     * @param <T>            the temporal type of the range
+     * @return a stepper that computes the elements of the range
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Temporal> TemporalStepper<T> of(final T startInclusive, final TemporalUnit unit)
+    {
+        TemporalStepper<?> stepper = null;
+        if (unit instanceof ChronoUnit)
+        {
+            if (startInclusive instanceof LocalDate)
+                stepper = ofLocalDate((LocalDate) startInclusive, (ChronoUnit) unit);
+            else if (startInclusive instanceof LocalDateTime)
+                stepper = ofLocalDateTime((LocalDateTime) startInclusive, (ChronoUnit) unit);
+            else if (startInclusive instanceof Instant)
+                stepper = ofInstant((Instant) startInclusive, (ChronoUnit) unit);
+            else if (startInclusive instanceof SimpleLocalTIme)
+                stepper = ofSimpleLocalTIme((SimpleLocalTIme) startInclusive, (ChronoUnit) unit);
+        }
+        if (stepper == null)
+            return units -> (T) startInclusive.plus(units, unit);
+        else
+            return (TemporalStepper<T>) stepper;
+    }
+
+    private static TemporalStepper<LocalDate> ofLocalDate(final LocalDate startInclusive, final ChronoUnit unit)
+    {
+        switch (unit)
+        {
+            case DAYS:
+                return new EpochDayStepper(startInclusive, 1);
+            case WEEKS:
+                return new EpochDayStepper(startInclusive, DAYS_PER_WEEK);
+            case MONTHS:
+                return new EpochMonthStepper(startInclusive, 1);
+            case YEARS:
+                return new EpochMonthStepper(startInclusive, MONTHS_PER_YEAR);
+            case DECADES:
+                return new EpochMonthStepper(startInclusive, MONTHS_PER_YEAR * 10);
+            default:
+                return null;
+        }
+    }
+
+    private static TemporalStepper<LocalDateTime> ofLocalDateTime(final LocalDateTime startInclusive,
+                                                                   final ChronoUnit unit)
+    {
+        switch (unit)
+        {
+            case SECONDS:
+            case MINUTES:
+            case HOURS:
+                return new LocalSecondStepper(startInclusive, unit.getDuration().getSeconds());
+            case HALF_DAYS:
+                // LocalDateTime.plus() splits half days in a way that is not equivalent to adding 12 hours each
+                return null;
+            default:
+                final TemporalStepper<LocalDate> dateStepper = ofLocalDate(startInclusive.toLocalDate(), unit);
+                if (dateStepper == null)
+                    return null;
+                else
+                {
+                    final LocalTime time = startInclusive.toLocalTime();
+                    return units -> LocalDateTime.of(dateStepper.plus(units), time);
+                }
+        }
+    }
+
+    private static TemporalStepper<Instant> ofInstant(final Instant startInclusive, final ChronoUnit unit)
+    {
+        final long startSecond = startInclusive.getEpochSecond();
+        final int startNano = startInclusive.getNano();
+        switch (unit)
+        {
+            case NANOS:
+            case MICROS:
+            case MILLIS:
+                final long nanosPerUnit = unit.getDuration().getNano();
+                final long unitsPerSecond = NANOS_PER_SECOND / nanosPerUnit;
+                return units -> Instant.ofEpochSecond(
+                        startSecond + Math.floorDiv(units, unitsPerSecond),
+                        startNano + Math.floorMod(units, unitsPerSecond) * nanosPerUnit);
+            case SECONDS:
+            case MINUTES:
+            case HOURS:
+            case HALF_DAYS:
+            case DAYS:
+                final long secondsPerUnit = unit.getDuration().getSeconds();
+                return units -> Instant.ofEpochSecond(Math.addExact(startSecond, Math.multiplyExact(units, secondsPerUnit)),
+                                                      startNano);
+            default:
+                return null;
+        }
+    }
+
+    private static TemporalStepper<SimpleLocalTIme> ofSimpleLocalTIme(final SimpleLocalTIme startInclusive,
+                                                                      final ChronoUnit unit)
+    {
+        switch (unit)
+        {
+            case MINUTES:
+            case HOURS:
+                final long startMinute = startInclusive.toMinuteOfDay();
+                final long minutesPerUnit = unit.getDuration().toMinutes();
+                return units -> SimpleLocalTIme.ofMinuteOfDay(
+                        Math.floorMod(startMinute + Math.floorMod(units, MINUTES_PER_DAY) * minutesPerUnit,
+                                      MINUTES_PER_DAY));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Steps a {@code LocalDate} by a fixed number of days, using epoch-day arithmetic.
+     */
+    private static final class EpochDayStepper implements TemporalStepper<LocalDate>
+    {
+        private final long startEpochDay;
+        private final long daysPerUnit;
+
+        EpochDayStepper(final LocalDate startInclusive, final long daysPerUnit)
+        {
+            this.startEpochDay = startInclusive.toEpochDay();
+            this.daysPerUnit = daysPerUnit;
+        }
+
+        @Override
+        public LocalDate plus(final long units)
+        {
+            return LocalDate.ofEpochDay(Math.addExact(startEpochDay, Math.multiplyExact(units, daysPerUnit)));
+        }
+    }
+
+    /**
+     * Steps a {@code LocalDate} by a fixed number of months, using epoch-month arithmetic. The day of month of the
+     * starting point is clamped to the length of the resulting month, as {@link LocalDate#plusMonths} does.
+     */
+    private static final class EpochMonthStepper implements TemporalStepper<LocalDate>
+    {
+        private final long startEpochMonth;
+        private final long monthsPerUnit;
+        private final int dayOfMonth;
+
+        EpochMonthStepper(final LocalDate startInclusive, final long monthsPerUnit)
+        {
+            this.startEpochMonth = startInclusive.getYear() * MONTHS_PER_YEAR + startInclusive.getMonthValue() - 1;
+            this.monthsPerUnit = monthsPerUnit;
+            this.dayOfMonth = startInclusive.getDayOfMonth();
+        }
+
+        @Override
+        public LocalDate plus(final long units)
+        {
+            final long epochMonth = Math.addExact(startEpochMonth, Math.multiplyExact(units, monthsPerUnit));
+            final int year = Math.toIntExact(Math.floorDiv(epochMonth, MONTHS_PER_YEAR));
+            final int month = (int) Math.floorMod(epochMonth, MONTHS_PER_YEAR) + 1;
+            if (dayOfMonth <= 28)
+                return LocalDate.of(year, month, dayOfMonth);
+            else
+                return LocalDate.of(year, month, Math.min(dayOfMonth, Month.of(month).length(Year.isLeap(year))));
+        }
+    }
+
+    /**
+     * Steps a {@code LocalDateTime} by a fixed number of seconds, using local epoch-second arithmetic. The
+     * fraction of a second of the starting point is kept.
+     */
+    private static final class LocalSecondStepper implements TemporalStepper<LocalDateTime>
+    {
+        private final long startSecond;
+        private final long secondsPerUnit;
+        private final int nano;
+
+        LocalSecondStepper(final LocalDateTime startInclusive, final long secondsPerUnit)
+        {
+            this.startSecond = startInclusive.toLocalDate().toEpochDay() * SECONDS_PER_DAY +
+                               startInclusive.toLocalTime().toSecondOfDay();
+            this.secondsPerUnit = secondsPerUnit;
+            this.nano = startInclusive.getNano();
+        }
+
+        @Override
+        public LocalDateTime plus(final long units)
+        {
+            final long second = Math.addExact(startSecond, Math.multiplyExact(units, secondsPerUnit));
+            final LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(second, SECONDS_PER_DAY));
+            final long secondOfDay = Math.floorMod(second, SECONDS_PER_DAY);
+            return LocalDateTime.of(date, LocalTime.ofNanoOfDay(secondOfDay * NANOS_PER_SECOND + nano));
+        }
+    }
+}
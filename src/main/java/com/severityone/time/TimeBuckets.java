@@ -0,0 +1,256 @@
+package com.severityone.time;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts and sums events in time buckets, where the buckets are the elements of a {@link TemporalRange}, such as
+ * 15-minute buckets over a day, or daily buckets over a {@link LocalDateRange}. Every bucket starts at an element of
+ * the range, and ends where the next one starts.
+ * <p>
+ * Events are recorded by their instant, as milliseconds since the epoch. The bucket of an event is found with plain
+ * arithmetic: the local time of the event, minus the start of the range, divided by the width of a bucket. Ranges
+ * over {@link LocalDate}s and {@link LocalDateTime}s are in local time, in a time zone that is given when creating
+ * the buckets; ranges over {@link Instant}s are not. Buckets must have a fixed width, of whole milliseconds, up to a
+ * week, so ranges with months or longer units are not supported.
+ * <p>
+ * Recording is thread-safe and lock-free. To keep threads from contending for the same counters, every bucket has a
+ * counter and a sum per stripe, and a thread records into the stripe that its identifier maps to. Reading a bucket
+ * adds up all of its stripes. Reads are not atomic with respect to concurrent recording.
+ *
+ * @param <T> the type of the elements of the range that defines the buckets
+ */
+public final class TimeBuckets<T extends Temporal & Comparable<? super T>>
+{
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000;
+    private static final long NANOS_PER_MILLI = 1_000_000;
+    private static final int MAX_STRIPES = 64;
+
+    private final TemporalRange<T> grid;
+    private final TimeOfDayConverter converter;
+    private final long originMilli;
+    private final long widthMillis;
+    private final int bucketCount;
+    private final int stripeMask;
+
+    /**
+     * The counters of every stripe, with the count of bucket {@code i} at {@code 2 * i} and its sum right after.
+     */
+    private final AtomicLongArray[] stripes;
+
+    private TimeBuckets(final TemporalRange<T> grid, final TimeOfDayConverter converter, final long originMilli,
+                        final long widthMillis)
+    {
+        if (grid.getLength() > Integer.MAX_VALUE / 2)
+            throw new IllegalArgumentException("Too many buckets: " + grid.getLength());
+        this.grid = grid;
+        this.converter = converter;
+        this.originMilli = originMilli;
+        this.widthMillis = widthMillis;
+        this.bucketCount = (int) grid.getLength();
+        final int stripeCount = Math.min(MAX_STRIPES,
+                                         Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+        this.stripeMask = stripeCount - 1;
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int stripe = 0; stripe < stripeCount; stripe++)
+            stripes[stripe] = new AtomicLongArray(bucketCount * 2);
+    }
+
+    /**
+     * Returns buckets for the elements of the given range, in the given time zone. The time zone is ignored for a
+     * range over {@code Instant}s.
+     *
+     * @param grid   the range that defines the buckets
+     * @param zoneId the time zone in which to find the local time of events
+     * @param <T>    the type of the elements of the range
+     * @return new, empty buckets
+     * @throws UnsupportedTemporalTypeException if the range is not over {@code LocalDate}, {@code LocalDateTime}
+     *                                          or {@code Instant}, or if its unit does not have a fixed duration
+     *                                          of whole milliseconds, up to a week
+     * @throws IllegalArgumentException         if the range goes back in time
+     */
+    public static <T extends Temporal & Comparable<? super T>> TimeBuckets<T> of(final TemporalRange<T> grid,
+                                                                                 final ZoneId zoneId)
+    {
+        final TemporalUnit unit = grid.getUnit();
+        if (!(unit instanceof ChronoUnit) || ((ChronoUnit) unit).compareTo(ChronoUnit.WEEKS) > 0)
+            throw new UnsupportedTemporalTypeException("Buckets must have a fixed width, up to a week: " + unit);
+        else if (grid.getAmount() < 0)
+            throw new IllegalArgumentException("Buckets must go forward in time");
+        final long widthNanos = Math.multiplyExact(grid.getAmount(), unit.getDuration().toNanos());
+        if (widthNanos % NANOS_PER_MILLI != 0)
+            throw new UnsupportedTemporalTypeException("Buckets must have a width of whole milliseconds: " +
+                                                       grid.getAmount() + ' ' + unit);
+        final long widthMillis = widthNanos / NANOS_PER_MILLI;
+
+        final T start = grid.getStartInclusive();
+        if (start instanceof Instant)
+            return new TimeBuckets<>(grid, TimeOfDayConverter.of(ZoneOffset.UTC), ((Instant) start).toEpochMilli(),
+                                     widthMillis);
+        else if (start instanceof LocalDateTime)
+        {
+            final LocalDateTime dateTime = (LocalDateTime) start;
+            return new TimeBuckets<>(grid, TimeOfDayConverter.of(zoneId),
+                                     dateTime.toLocalDate().toEpochDay() * MILLIS_PER_DAY +
+                                     dateTime.toLocalTime().toNanoOfDay() / NANOS_PER_MILLI,
+                                     widthMillis);
+        }
+        else if (start instanceof LocalDate)
+            return new TimeBuckets<>(grid, TimeOfDayConverter.of(zoneId),
+                                     ((LocalDate) start).toEpochDay() * MILLIS_PER_DAY, widthMillis);
+        else
+            throw new UnsupportedTemporalTypeException("Unsupported type of range: " + start.getClass().getName());
+    }
+
+    /**
+     * Returns the bucket that the given instant falls into.
+     *
+     * @param epochMilli the instant, as milliseconds since the epoch
+     * @return the index of the bucket, or -1 if the instant is outside of all buckets
+     */
+    public int bucketOf(final long epochMilli)
+    {
+        final long offset = converter.toLocalEpochMilli(epochMilli) - originMilli;
+        if (offset < 0)
+            return -1;
+        final long bucket = offset / widthMillis;
+        return bucket < bucketCount ? (int) bucket : -1;
+    }
+
+    /**
+     * Records an event with a value of zero.
+     *
+     * @param epochMilli the instant of the event, as milliseconds since the epoch
+     * @return true if the event fell into a bucket
+     */
+    public boolean record(final long epochMilli)
+    {
+        return record(epochMilli, 0);
+    }
+
+    /**
+     * Records an event: adds one to the count of its bucket, and its value to the sum.
+     *
+     * @param epochMilli the instant of the event, as milliseconds since the epoch
+     * @param value      the value of the event
+     * @return true if the event fell into a bucket
+     */
+    public boolean record(final long epochMilli, final long value)
+    {
+        final int bucket = bucketOf(epochMilli);
+        if (bucket < 0)
+            return false;
+        else
+        {
+            final AtomicLongArray stripe = stripes[stripe()];
+            stripe.getAndIncrement(bucket * 2);
+            if (value != 0)
+                stripe.getAndAdd(bucket * 2 + 1, value);
+            return true;
+        }
+    }
+
+    /**
+     * Records an event: adds one to the count of its bucket, and its value to the sum.
+     *
+     * @param instant the instant of the event
+     * @param value   the value of the event
+     * @return true if the event fell into a bucket
+     */
+    public boolean record(final Instant instant, final long value)
+    {
+        return record(instant.toEpochMilli(), value);
+    }
+
+    private int stripe()
+    {
+        final long id = Thread.currentThread().getId();
+        return (int) (id ^ id >>> 7) & stripeMask;
+    }
+
+    /**
+     * Returns the number of buckets, which is the number of elements in the range.
+     *
+     * @return the number of buckets
+     */
+    public int size()
+    {
+        return bucketCount;
+    }
+
+    /**
+     * Returns the start of the given bucket, which is the element of the range at the same index.
+     *
+     * @param bucket the index of the bucket
+     * @return the start of the bucket
+     * @throws IndexOutOfBoundsException if there is no such bucket
+     */
+    public T bucketStart(final int bucket)
+    {
+        checkBucket(bucket);
+        return grid.get(bucket);
+    }
+
+    public long count(final int bucket)
+    {
+        checkBucket(bucket);
+        return total(bucket * 2);
+    }
+
+    public long sum(final int bucket)
+    {
+        checkBucket(bucket);
+        return total(bucket * 2 + 1);
+    }
+
+    /**
+     * Returns the counts of all buckets.
+     *
+     * @return a new array with the count of every bucket
+     */
+    public long[] counts()
+    {
+        return totals(0);
+    }
+
+    /**
+     * Returns the sums of all buckets.
+     *
+     * @return a new array with the sum of every bucket
+     */
+    public long[] sums()
+    {
+        return totals(1);
+    }
+
+    private long total(final int index)
+    {
+        long total = 0;
+        for (final AtomicLongArray stripe : stripes)
+            total += stripe.get(index);
+        return total;
+    }
+
+    private long[] totals(final int offset)
+    {
+        final long[] totals = new long[bucketCount];
+        for (final AtomicLongArray stripe : stripes)
+            for (int bucket = 0; bucket < bucketCount; bucket++)
+                totals[bucket] += stripe.get(bucket * 2 + offset);
+        return totals;
+    }
+
+    private void checkBucket(final int bucket)
+    {
+        if (bucket < 0 || bucket >= bucketCount)
+            throw new IndexOutOfBoundsException("Bucket: " + bucket + ", size: " + bucketCount);
+    }
+}
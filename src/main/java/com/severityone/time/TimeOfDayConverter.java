@@ -0,0 +1,357 @@
+package com.severityone.time;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Objects;
+
+/**
+ * Converts instants to the local time of day in a particular time zone. Rather than asking the {@link ZoneRules}
+ * for the offset of every instant, a converter remembers the offset that applies between two transitions, so that
+ * all instants up to the next transition are converted with plain arithmetic. Only when an instant falls outside
+ * of that window are the zone rules consulted again.
+ * <p>
+ * Instances are thread-safe, and are meant to be created once per time zone and reused. The bulk methods convert
+ * arrays of epoch seconds or epoch milliseconds, and return the same results as converting one at a time.
+ */
+public final class TimeOfDayConverter
+{
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+    private static final long MILLIS_PER_SECOND = 1000;
+
+    private final ZoneId zoneId;
+    private final ZoneRules rules;
+    private volatile OffsetWindow window;
+
+    private TimeOfDayConverter(final ZoneId zoneId)
+    {
+        this.zoneId = zoneId;
+        this.rules = zoneId.getRules();
+        if (rules.isFixedOffset())
+            this.window = new OffsetWindow(Long.MIN_VALUE, Long.MAX_VALUE, rules.getOffset(Instant.EPOCH));
+        else
+            this.window = window(0);
+    }
+
+    /**
+     * Returns a converter for the given time zone.
+     *
+     * @param zoneId the time zone to convert to
+     * @return a converter for the time zone
+     * @throws NullPointerException if the time zone is null
+     */
+    public static TimeOfDayConverter of(final ZoneId zoneId)
+    {
+        return new TimeOfDayConverter(Objects.requireNonNull(zoneId, "zoneId"));
+    }
+
+    /**
+     * Returns the time zone of this converter.
+     *
+     * @return the time zone
+     */
+    public ZoneId getZone()
+    {
+        return zoneId;
+    }
+
+    /**
+     * Returns the offset from UTC that applies at the given instant.
+     *
+     * @param epochSecond the instant, as seconds since the epoch
+     * @return the offset at the instant
+     */
+    public ZoneOffset getOffset(final long epochSecond)
+    {
+        return windowOf(epochSecond).offset;
+    }
+
+    /**
+     * Returns the number of seconds since the local epoch, 1970-01-01T00:00, of the given instant.
+     *
+     * @param epochSecond the instant, as seconds since the epoch
+     * @return the local date and time of the instant, as seconds since the local epoch
+     */
+    public long toLocalEpochSecond(final long epochSecond)
+    {
+        return epochSecond + windowOf(epochSecond).offsetSeconds;
+    }
+
+    /**
+     * Returns the number of milliseconds since the local epoch, 1970-01-01T00:00, of the given instant.
+     *
+     * @param epochMilli the instant, as milliseconds since the epoch
+     * @return the local date and time of the instant, as milliseconds since the local epoch
+     */
+    public long toLocalEpochMilli(final long epochMilli)
+    {
+        return epochMilli + windowOf(Math.floorDiv(epochMilli, MILLIS_PER_SECOND)).offsetSeconds * MILLIS_PER_SECOND;
+    }
+
+    /**
+     * Returns the local minute of day of the given instant.
+     *
+     * @param epochSecond the instant, as seconds since the epoch
+     * @return the minute of day, from 0 to 1439
+     */
+    public int toMinuteOfDay(final long epochSecond)
+    {
+        return (int) (Math.floorMod(toLocalEpochSecond(epochSecond), SECONDS_PER_DAY) / SECONDS_PER_MINUTE);
+    }
+
+    /**
+     * Returns the local time of day of the given instant.
+     *
+     * @param instant the instant to convert
+     * @return the local time of day
+     * @throws NullPointerException if the instant is null
+     */
+    public SimpleLocalTIme toSimpleLocalTIme(final Instant instant)
+    {
+        return SimpleLocalTIme.ofMinuteOfDay(toMinuteOfDay(instant.getEpochSecond()));
+    }
+
+    /**
+     * Returns the local time of day of the given instant.
+     *
+     * @param epochSecond the instant, as seconds since the epoch
+     * @return the local time of day
+     */
+    public SimpleLocalTIme ofEpochSecond(final long epochSecond)
+    {
+        return SimpleLocalTIme.ofMinuteOfDay(toMinuteOfDay(epochSecond));
+    }
+
+    /**
+     * Returns the local time of day of the given instant.
+     *
+     * @param epochMilli the instant, as milliseconds since the epoch
+     * @return the local time of day
+     */
+    public SimpleLocalTIme ofEpochMilli(final long epochMilli)
+    {
+        return SimpleLocalTIme.ofMinuteOfDay(toMinuteOfDay(Math.floorDiv(epochMilli, MILLIS_PER_SECOND)));
+    }
+
+    /**
+     * Converts epoch seconds to local minutes of day.
+     *
+     * @param epochSeconds the instants to convert, as seconds since the epoch
+     * @param sourceOffset the index of the first instant to convert
+     * @param minutesOfDay the array in which to store the minutes of day
+     * @param targetOffset the index at which to store the first minute of day
+     * @param length       the number of instants to convert
+     * @throws NullPointerException      if any of the arrays is null
+     * @throws IndexOutOfBoundsException if either range of indices lies outside of its array
+     */
+    public void fromEpochSeconds(final long[] epochSeconds, final int sourceOffset,
+                                 final short[] minutesOfDay, final int targetOffset, final int length)
+    {
+        checkBounds(epochSeconds.length, sourceOffset, minutesOfDay.length, targetOffset, length);
+        OffsetWindow current = window;
+        for (int index = 0; index < length; index++)
+        {
+            final long epochSecond = epochSeconds[sourceOffset + index];
+            if (!current.contains(epochSecond))
+                current = windowOf(epochSecond);
+            minutesOfDay[targetOffset + index] = (short) current.minuteOfDay(epochSecond);
+        }
+    }
+
+    /**
+     * Converts epoch seconds to local minutes of day.
+     *
+     * @param epochSeconds the instants to convert, as seconds since the epoch
+     * @param sourceOffset the index of the first instant to convert
+     * @param minutesOfDay the array in which to store the minutes of day
+     * @param targetOffset the index at which to store the first minute of day
+     * @param length       the number of instants to convert
+     * @throws NullPointerException      if any of the arrays is null
+     * @throws IndexOutOfBoundsException if either range of indices lies outside of its array
+     */
+    public void fromEpochSeconds(final long[] epochSeconds, final int sourceOffset,
+                                 final int[] minutesOfDay, final int targetOffset, final int length)
+    {
+        checkBounds(epochSeconds.length, sourceOffset, minutesOfDay.length, targetOffset, length);
+        OffsetWindow current = window;
+        for (int index = 0; index < length; index++)
+        {
+            final long epochSecond = epochSeconds[sourceOffset + index];
+            if (!current.contains(epochSecond))
+                current = windowOf(epochSecond);
+            minutesOfDay[targetOffset + index] = current.minuteOfDay(epochSecond);
+        }
+    }
+
+    /**
+     * Converts epoch seconds to local times of day.
+     *
+     * @param epochSeconds the instants to convert, as seconds since the epoch
+     * @param sourceOffset the index of the first instant to convert
+     * @param times        the array in which to store the times of day
+     * @param targetOffset the index at which to store the first time of day
+     * @param length       the number of instants to convert
+     * @throws NullPointerException      if any of the arrays is null
+     * @throws IndexOutOfBoundsException if either range of indices lies outside of its array
+     */
+    public void fromEpochSeconds(final long[] epochSeconds, final int sourceOffset,
+                                 final SimpleLocalTIme[] times, final int targetOffset, final int length)
+    {
+        checkBounds(epochSeconds.length, sourceOffset, times.length, targetOffset, length);
+        OffsetWindow current = window;
+        for (int index = 0; index < length; index++)
+        {
+            final long epochSecond = epochSeconds[sourceOffset + index];
+            if (!current.contains(epochSecond))
+                current = windowOf(epochSecond);
+            times[targetOffset + index] = SimpleLocalTIme.ofMinuteOfDay(current.minuteOfDay(epochSecond));
+        }
+    }
+
+    /**
+     * Converts epoch milliseconds to local minutes of day.
+     *
+     * @param epochMillis  the instants to convert, as milliseconds since the epoch
+     * @param sourceOffset the index of the first instant to convert
+     * @param minutesOfDay the array in which to store the minutes of day
+     * @param targetOffset the index at which to store the first minute of day
+     * @param length       the number of instants to convert
+     * @throws NullPointerException      if any of the arrays is null
+     * @throws IndexOutOfBoundsException if either range of indices lies outside of its array
+     */
+    public void fromEpochMillis(final long[] epochMillis, final int sourceOffset,
+                                final short[] minutesOfDay, final int targetOffset, final int length)
+    {
+        checkBounds(epochMillis.length, sourceOffset, minutesOfDay.length, targetOffset, length);
+        OffsetWindow current = window;
+        for (int index = 0; index < length; index++)
+        {
+            final long epochSecond = Math.floorDiv(epochMillis[sourceOffset + index], MILLIS_PER_SECOND);
+            if (!current.contains(epochSecond))
+                current = windowOf(epochSecond);
+            minutesOfDay[targetOffset + index] = (short) current.minuteOfDay(epochSecond);
+        }
+    }
+
+    /**
+     * Converts epoch milliseconds to local minutes of day.
+     *
+     * @param epochMillis  the instants to convert, as milliseconds since the epoch
+     * @param sourceOffset the index of the first instant to convert
+     * @param minutesOfDay the array in which to store the minutes of day
+     * @param targetOffset the index at which to store the first minute of day
+     * @param length       the number of instants to convert
+     * @throws NullPointerException      if any of the arrays is null
+     * @throws IndexOutOfBoundsException if either range of indices lies outside of its array
+     */
+    public void fromEpochMillis(final long[] epochMillis, final int sourceOffset,
+                                final int[] minutesOfDay, final int targetOffset, final int length)
+    {
+        checkBounds(epochMillis.length, sourceOffset, minutesOfDay.length, targetOffset, length);
+        OffsetWindow current = window;
+        for (int index = 0; index < length; index++)
+        {
+            final long epochSecond = Math.floorDiv(epochMillis[sourceOffset + index], MILLIS_PER_SECOND);
+            if (!current.contains(epochSecond))
+                current = windowOf(epochSecond);
+            minutesOfDay[targetOffset + index] = current.minuteOfDay(epochSecond);
+        }
+    }
+
+    /**
+     * Converts epoch milliseconds to local times of day.
+     *
+     * @param epochMillis  the instants to convert, as milliseconds since the epoch
+     * @param sourceOffset the index of the first instant to convert
+     * @param times        the array in which to store the times of day
+     * @param targetOffset the index at which to store the first time of day
+     * @param length       the number of instants to convert
+     * @throws NullPointerException      if any of the arrays is null
+     * @throws IndexOutOfBoundsException if either range of indices lies outside of its array
+     */
+    public void fromEpochMillis(final long[] epochMillis, final int sourceOffset,
+                                final SimpleLocalTIme[] times, final int targetOffset, final int length)
+    {
+        checkBounds(epochMillis.length, sourceOffset, times.length, targetOffset, length);
+        OffsetWindow current = window;
+        for (int index = 0; index < length; index++)
+        {
+            final long epochSecond = Math.floorDiv(epochMillis[sourceOffset + index], MILLIS_PER_SECOND);
+            if (!current.contains(epochSecond))
+                current = windowOf(epochSecond);
+            times[targetOffset + index] = SimpleLocalTIme.ofMinuteOfDay(current.minuteOfDay(epochSecond));
+        }
+    }
+
+    /**
+     * Returns the offset window that contains the given instant, replacing the cached window if necessary.
+     */
+    private OffsetWindow windowOf(final long epochSecond)
+    {
+        final OffsetWindow current = window;
+        if (current.contains(epochSecond))
+            return current;
+        else
+        {
+            final OffsetWindow next = window(epochSecond);
+            window = next;
+            return next;
+        }
+    }
+
+    /**
+     * Looks up the offset that applies at the given instant, and the transitions before and after it.
+     */
+    private OffsetWindow window(final long epochSecond)
+    {
+        final Instant instant = Instant.ofEpochSecond(epochSecond);
+        final ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+        final ZoneOffsetTransition next = rules.nextTransition(instant);
+        return new OffsetWindow(previous == null ? Long.MIN_VALUE : previous.toEpochSecond(),
+                                next == null ? Long.MAX_VALUE : next.toEpochSecond(),
+                                rules.getOffset(instant));
+    }
+
+    private static void checkBounds(final int sourceLength, final int sourceOffset,
+                                    final int targetLength, final int targetOffset, final int length)
+    {
+        if (length < 0 ||
+            sourceOffset < 0 || sourceOffset > sourceLength - length ||
+            targetOffset < 0 || targetOffset > targetLength - length)
+            throw new IndexOutOfBoundsException("source " + sourceOffset + '/' + sourceLength +
+                                                ", target " + targetOffset + '/' + targetLength +
+                                                ", length " + length);
+    }
+
+    /**
+     * An offset that applies from one transition, inclusive, to the next, exclusive, both in epoch seconds.
+     */
+    private static final class OffsetWindow
+    {
+        private final long start;
+        private final long end;
+        private final ZoneOffset offset;
+        private final int offsetSeconds;
+
+        OffsetWindow(final long start, final long end, final ZoneOffset offset)
+        {
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+            this.offsetSeconds = offset.getTotalSeconds();
+        }
+
+        boolean contains(final long epochSecond)
+        {
+            return epochSecond >= start && epochSecond < end;
+        }
+
+        int minuteOfDay(final long epochSecond)
+        {
+            return (int) (Math.floorMod(epochSecond + offsetSeconds, SECONDS_PER_DAY) / SECONDS_PER_MINUTE);
+        }
+    }
+}
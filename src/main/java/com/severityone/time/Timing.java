@@ -1,72 +1,391 @@
 package com.severityone.time;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.time.DateTimeException;
 import java.time.LocalDate;
-import java.time.temporal.Temporal;
-import java.time.temporal.TemporalAdjuster;
-import java.time.temporal.TemporalField;
-import java.time.temporal.TemporalUnit;
+import java.time.chrono.IsoChronology;
+import java.time.temporal.*;
+import java.util.Objects;
 
+import static java.time.temporal.ChronoField.EPOCH_DAY;
+import static java.time.temporal.ChronoField.MINUTE_OF_DAY;
+import static java.time.temporal.ChronoUnit.MINUTES;
+
+/**
+ * A date and a time of day with a minute precision, marked as either the start or the end of something. Internally,
+ * a timing is a single {@code long}, which makes comparing, sorting and hashing them as cheap as it is for a
+ * primitive value.
+ * <p>
+ * Timings are ordered by date, then by time, and then by timing type, so that a {@link TimingType#START_TIME}
+ * comes before an {@link TimingType#END_TIME} at the same date and time. Arithmetic keeps the timing type.
+ */
 public class Timing implements Comparable<Timing>, Temporal, TemporalAdjuster, Serializable
 {
     private static final long serialVersionUID = 5278243574862218956L;
 
-    private final LocalDate date;
-    private final SimpleLocalTIme time;
-    private final TimingType timingType;
+    private static final long MINUTES_PER_HOUR = 60;
+    private static final long MINUTES_PER_DAY = 24 * MINUTES_PER_HOUR;
+    private static final TimingType[] TIMING_TYPES = TimingType.values();
+
+    /**
+     * The number of minutes since 1970-01-01T00:00, times two, plus the ordinal of the timing type.
+     */
+    private final long packed;
+
+    private Timing(final long packed)
+    {
+        this.packed = packed;
+    }
+
+    public static Timing of(final LocalDate date, final SimpleLocalTIme time, final TimingType timingType)
+    {
+        Objects.requireNonNull(date, "date");
+        Objects.requireNonNull(time, "time");
+        Objects.requireNonNull(timingType, "timingType");
+        return new Timing(pack(date.toEpochDay() * MINUTES_PER_DAY + time.toMinuteOfDay(), timingType));
+    }
+
+    /**
+     * Obtains a {@code Timing} from the number of minutes since 1970-01-01T00:00.
+     *
+     * @param epochMinute the number of minutes since 1970-01-01T00:00
+     * @param timingType  the timing type
+     * @return the timing
+     * @throws NullPointerException if the timing type is null
+     * @throws DateTimeException    if the date is out of range
+     */
+    public static Timing ofEpochMinute(final long epochMinute, final TimingType timingType)
+    {
+        Objects.requireNonNull(timingType, "timingType");
+        EPOCH_DAY.checkValidValue(Math.floorDiv(epochMinute, MINUTES_PER_DAY));
+        return new Timing(pack(epochMinute, timingType));
+    }
+
+    /**
+     * Obtains a {@code Timing} from its packed representation.
+     *
+     * @param packed the packed representation, as returned by {@link #toPacked()}
+     * @return the timing
+     * @throws DateTimeException if the date is out of range
+     * @see #toPacked()
+     */
+    public static Timing ofPacked(final long packed)
+    {
+        EPOCH_DAY.checkValidValue(Math.floorDiv(packed >> 1, MINUTES_PER_DAY));
+        return new Timing(packed);
+    }
+
+    private static long pack(final long epochMinute, final TimingType timingType)
+    {
+        return epochMinute << 1 | timingType.ordinal();
+    }
+
+    public LocalDate getDate()
+    {
+        return LocalDate.ofEpochDay(toEpochDay());
+    }
+
+    public SimpleLocalTIme getTime()
+    {
+        return SimpleLocalTIme.ofMinuteOfDay(toMinuteOfDay());
+    }
 
-    private Timing(final LocalDate date, final SimpleLocalTIme time, final TimingType timingType)
+    public TimingType getTimingType()
     {
-        this.date = date;
-        this.time = time;
-        this.timingType = timingType;
+        return TIMING_TYPES[(int) (packed & 1)];
+    }
+
+    /**
+     * Returns the number of days since 1970-01-01 of the date of this timing.
+     *
+     * @return the epoch day
+     */
+    public long toEpochDay()
+    {
+        return Math.floorDiv(toEpochMinute(), MINUTES_PER_DAY);
+    }
+
+    /**
+     * Returns the minute of day of the time of this timing.
+     *
+     * @return the minute of day, from 0 to 1439
+     */
+    public int toMinuteOfDay()
+    {
+        return (int) Math.floorMod(toEpochMinute(), MINUTES_PER_DAY);
+    }
+
+    /**
+     * Returns the number of minutes since 1970-01-01T00:00 of the date and time of this timing.
+     *
+     * @return the epoch minute
+     */
+    public long toEpochMinute()
+    {
+        return packed >> 1;
+    }
+
+    /**
+     * Returns this timing packed into a single {@code long}: the number of minutes since 1970-01-01T00:00, times
+     * two, plus the ordinal of the timing type. Packed values sort in the same order as timings.
+     *
+     * @return the packed representation of this timing
+     */
+    public long toPacked()
+    {
+        return packed;
+    }
+
+    public Timing withDate(final LocalDate date)
+    {
+        return of(date, getTime(), getTimingType());
+    }
+
+    public Timing withTime(final SimpleLocalTIme time)
+    {
+        return new Timing(pack(toEpochDay() * MINUTES_PER_DAY + time.toMinuteOfDay(), getTimingType()));
+    }
+
+    public Timing withTimingType(final TimingType timingType)
+    {
+        return new Timing(pack(toEpochMinute(), Objects.requireNonNull(timingType, "timingType")));
     }
 
     @Override
     public int compareTo(final Timing other)
     {
-        return 0;
+        return Long.compare(packed, other.packed);
+    }
+
+    public boolean isAfter(final Timing other)
+    {
+        return packed > other.packed;
+    }
+
+    public boolean isBefore(final Timing other)
+    {
+        return packed < other.packed;
     }
 
     @Override
     public boolean isSupported(final TemporalUnit unit)
     {
-        return false;
+        if (unit instanceof ChronoUnit)
+            return unit.isDateBased() ||
+                   unit == MINUTES ||
+                   unit == ChronoUnit.HOURS ||
+                   unit == ChronoUnit.HALF_DAYS;
+        else
+            return unit != null && unit.isSupportedBy(this);
     }
 
     @Override
     public boolean isSupported(final TemporalField field)
     {
-        return false;
+        if (field instanceof ChronoField)
+            return field.isDateBased() || SimpleLocalTIme.MIDNIGHT.isSupported(field);
+        else
+            return field != null && field.isSupportedBy(this);
     }
 
     @Override
-    public Temporal with(final TemporalField field, final long newValue)
+    public ValueRange range(final TemporalField field)
     {
-        return null;
+        if (field instanceof ChronoField && field.isDateBased())
+            return getDate().range(field);
+        else
+            return Temporal.super.range(field);
     }
 
     @Override
-    public Temporal plus(final long amountToAdd, final TemporalUnit unit)
+    public long getLong(final TemporalField field)
     {
-        return null;
+        if (field == EPOCH_DAY)
+            return toEpochDay();
+        else if (field == MINUTE_OF_DAY)
+            return toMinuteOfDay();
+        else if (field instanceof ChronoField)
+            return field.isDateBased() ? getDate().getLong(field) : getTime().getLong(field);
+        else
+            return field.getFrom(this);
     }
 
+    @SuppressWarnings("unchecked")
     @Override
-    public long until(final Temporal endExclusive, final TemporalUnit unit)
+    public <R> R query(final TemporalQuery<R> query)
     {
-        return 0;
+        if (query == TemporalQueries.chronology())
+            return (R) IsoChronology.INSTANCE;
+        else if (query == TemporalQueries.precision())
+            return (R) MINUTES;
+        else if (query == TemporalQueries.localDate())
+            return (R) getDate();
+        else
+            return Temporal.super.query(query);
     }
 
     @Override
-    public long getLong(final TemporalField field)
+    public Timing with(final TemporalAdjuster adjuster)
+    {
+        if (adjuster instanceof LocalDate)
+            return withDate((LocalDate) adjuster);
+        else if (adjuster instanceof SimpleLocalTIme)
+            return withTime((SimpleLocalTIme) adjuster);
+        else
+            return (Timing) adjuster.adjustInto(this);
+    }
+
+    @Override
+    public Timing with(final TemporalField field, final long newValue)
+    {
+        if (field instanceof ChronoField)
+        {
+            if (field.isDateBased())
+                return withDate(getDate().with(field, newValue));
+            else
+                return withTime((SimpleLocalTIme) getTime().with(field, newValue));
+        }
+        else
+            return field.adjustInto(this, newValue);
+    }
+
+    @Override
+    public Timing plus(final TemporalAmount amount)
+    {
+        return (Timing) amount.addTo(this);
+    }
+
+    @Override
+    public Timing plus(final long amountToAdd, final TemporalUnit unit)
+    {
+        Objects.requireNonNull(unit);
+        if (unit instanceof ChronoUnit)
+        {
+            switch ((ChronoUnit) unit)
+            {
+                case MINUTES:
+                    return plusMinutes(amountToAdd);
+                case HOURS:
+                    return plusMinutes(Math.multiplyExact(amountToAdd, MINUTES_PER_HOUR));
+                case HALF_DAYS:
+                    return plusMinutes(Math.multiplyExact(amountToAdd, MINUTES_PER_DAY / 2));
+                default:
+                    if (unit.isDateBased())
+                        return withDate(getDate().plus(amountToAdd, unit));
+                    else
+                        throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+            }
+        }
+        else
+            return unit.addTo(this, amountToAdd);
+    }
+
+    public Timing plusMinutes(final long minutesToAdd)
+    {
+        if (minutesToAdd == 0)
+            return this;
+        else
+            return ofEpochMinute(Math.addExact(toEpochMinute(), minutesToAdd), getTimingType());
+    }
+
+    public Timing plusDays(final long daysToAdd)
     {
-        return 0;
+        if (daysToAdd == 0)
+            return this;
+        else
+            return plusMinutes(Math.multiplyExact(daysToAdd, MINUTES_PER_DAY));
+    }
+
+    /**
+     * Calculates the amount of time until another temporal, in terms of the specified unit. If the other temporal
+     * is not a {@code Timing}, its date and time of day are used, and the timing type is ignored.
+     *
+     * @param endExclusive the end, exclusive
+     * @param unit         the unit in which to measure the amount of time
+     * @return the amount of time between this timing and the end
+     * @throws DateTimeException                if the amount cannot be calculated
+     * @throws UnsupportedTemporalTypeException if the unit is not supported
+     */
+    @Override
+    public long until(final Temporal endExclusive, final TemporalUnit unit)
+    {
+        Objects.requireNonNull(endExclusive);
+        Objects.requireNonNull(unit);
+        final long endEpochMinute;
+        if (endExclusive instanceof Timing)
+            endEpochMinute = ((Timing) endExclusive).toEpochMinute();
+        else
+            endEpochMinute = LocalDate.from(endExclusive).toEpochDay() * MINUTES_PER_DAY +
+                             SimpleLocalTIme.from(endExclusive).toMinuteOfDay();
+        if (unit instanceof ChronoUnit)
+        {
+            final long minutesUntil = endEpochMinute - toEpochMinute();
+            switch ((ChronoUnit) unit)
+            {
+                case MINUTES:
+                    return minutesUntil;
+                case HOURS:
+                    return minutesUntil / MINUTES_PER_HOUR;
+                case HALF_DAYS:
+                    return minutesUntil / (MINUTES_PER_DAY / 2);
+                default:
+                    if (unit.isDateBased())
+                    {
+                        long endEpochDay = Math.floorDiv(endEpochMinute, MINUTES_PER_DAY);
+                        final long endMinuteOfDay = Math.floorMod(endEpochMinute, MINUTES_PER_DAY);
+                        if (endEpochDay > toEpochDay() && endMinuteOfDay < toMinuteOfDay())
+                            endEpochDay--;
+                        else if (endEpochDay < toEpochDay() && endMinuteOfDay > toMinuteOfDay())
+                            endEpochDay++;
+                        return getDate().until(LocalDate.ofEpochDay(endEpochDay), unit);
+                    }
+                    else
+                        throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+            }
+        }
+        else
+            return unit.between(this, endExclusive);
     }
 
     @Override
     public Temporal adjustInto(final Temporal temporal)
     {
-        return null;
+        return temporal.with(EPOCH_DAY, toEpochDay())
+                       .with(MINUTE_OF_DAY, toMinuteOfDay());
+    }
+
+    @Override
+    public boolean equals(final Object other)
+    {
+        if (this == other)
+            return true;
+        else if (other instanceof Timing)
+            return packed == ((Timing) other).packed;
+        else
+            return false;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Long.hashCode(packed);
+    }
+
+    @Override
+    public String toString()
+    {
+        return getDate().toString() + 'T' + getTime() + ' ' + getTimingType();
+    }
+
+    private Object writeReplace()
+    {
+        return new Ser(Ser.TIMING_TYPE, this);
+    }
+
+    private void readObject(final ObjectInputStream stream) throws InvalidObjectException
+    {
+        throw new InvalidObjectException("Deserialization via serialization delegate");
     }
 }
@@ -0,0 +1,191 @@
+package com.severityone.time;
+
+import java.time.DateTimeException;
+import java.util.Optional;
+
+/**
+ * A half-open interval of time, from a {@link TimingType#START_TIME} timing, inclusive, to an
+ * {@link TimingType#END_TIME} timing, exclusive. Like {@link Timing}, an interval has a minute precision, and is held
+ * as primitive values only.
+ * <p>
+ * Intervals are ordered by their start, and then by their end.
+ */
+public final class TimingInterval implements Comparable<TimingInterval>
+{
+    private final long startEpochMinute;
+    private final long endEpochMinute;
+
+    private TimingInterval(final long startEpochMinute, final long endEpochMinute)
+    {
+        this.startEpochMinute = startEpochMinute;
+        this.endEpochMinute = endEpochMinute;
+    }
+
+    /**
+     * Obtains an interval from its start and end.
+     *
+     * @param start the start of the interval, inclusive, which must be a {@code START_TIME}
+     * @param end   the end of the interval, exclusive, which must be an {@code END_TIME}
+     * @return the interval
+     * @throws NullPointerException     if any of the parameters is null
+     * @throws IllegalArgumentException if the timing types are wrong, or if the end is before the start
+     */
+    public static TimingInterval of(final Timing start, final Timing end)
+    {
+        if (start.getTimingType() != TimingType.START_TIME)
+            throw new IllegalArgumentException("Start is not a START_TIME: " + start);
+        else if (end.getTimingType() != TimingType.END_TIME)
+            throw new IllegalArgumentException("End is not an END_TIME: " + end);
+        else
+            return ofEpochMinutes(start.toEpochMinute(), end.toEpochMinute());
+    }
+
+    /**
+     * Obtains an interval from its start and end, as minutes since 1970-01-01T00:00.
+     *
+     * @param startEpochMinute the start of the interval, inclusive
+     * @param endEpochMinute   the end of the interval, exclusive
+     * @return the interval
+     * @throws IllegalArgumentException if the end is before the start
+     * @throws DateTimeException        if either date is out of range
+     */
+    public static TimingInterval ofEpochMinutes(final long startEpochMinute, final long endEpochMinute)
+    {
+        if (endEpochMinute < startEpochMinute)
+            throw new IllegalArgumentException("End is before start");
+        Timing.ofEpochMinute(startEpochMinute, TimingType.START_TIME);
+        Timing.ofEpochMinute(endEpochMinute, TimingType.END_TIME);
+        return new TimingInterval(startEpochMinute, endEpochMinute);
+    }
+
+    public Timing getStart()
+    {
+        return Timing.ofEpochMinute(startEpochMinute, TimingType.START_TIME);
+    }
+
+    public Timing getEnd()
+    {
+        return Timing.ofEpochMinute(endEpochMinute, TimingType.END_TIME);
+    }
+
+    public long getStartEpochMinute()
+    {
+        return startEpochMinute;
+    }
+
+    public long getEndEpochMinute()
+    {
+        return endEpochMinute;
+    }
+
+    /**
+     * Returns the length of this interval in minutes.
+     *
+     * @return the number of minutes from the start to the end
+     */
+    public long toMinutes()
+    {
+        return endEpochMinute - startEpochMinute;
+    }
+
+    /**
+     * Returns whether this interval is empty, that is, whether its start and end are equal.
+     *
+     * @return true if this interval is empty
+     */
+    public boolean isEmpty()
+    {
+        return startEpochMinute == endEpochMinute;
+    }
+
+    /**
+     * Returns whether the given minute lies within this interval.
+     *
+     * @param epochMinute the minute, as minutes since 1970-01-01T00:00
+     * @return true if the start is at or before the minute and the end is after it
+     */
+    public boolean contains(final long epochMinute)
+    {
+        return startEpochMinute <= epochMinute && epochMinute < endEpochMinute;
+    }
+
+    /**
+     * Returns whether the date and time of the given timing lie within this interval.
+     *
+     * @param timing the timing to check
+     * @return true if the start is at or before the timing and the end is after it
+     */
+    public boolean contains(final Timing timing)
+    {
+        return contains(timing.toEpochMinute());
+    }
+
+    /**
+     * Returns whether this interval and the given interval have at least one minute in common. An empty interval
+     * overlaps nothing.
+     *
+     * @param other the other interval
+     * @return true if the intervals overlap
+     */
+    public boolean overlaps(final TimingInterval other)
+    {
+        return Math.max(startEpochMinute, other.startEpochMinute) < Math.min(endEpochMinute, other.endEpochMinute);
+    }
+
+    /**
+     * Returns the interval that this interval and the given interval have in common.
+     *
+     * @param other the other interval
+     * @return the intersection, or an empty {@code Optional} if the intervals do not overlap
+     */
+    public Optional<TimingInterval> intersection(final TimingInterval other)
+    {
+        if (overlaps(other))
+            return Optional.of(new TimingInterval(Math.max(startEpochMinute, other.startEpochMinute),
+                                                  Math.min(endEpochMinute, other.endEpochMinute)));
+        else
+            return Optional.empty();
+    }
+
+    @Override
+    public int compareTo(final TimingInterval other)
+    {
+        final int result = Long.compare(startEpochMinute, other.startEpochMinute);
+        if (result == 0)
+            return Long.compare(endEpochMinute, other.endEpochMinute);
+        else
+            return result;
+    }
+
+    @Override
+    public boolean equals(final Object other)
+    {
+        if (this == other)
+            return true;
+        else if (other instanceof TimingInterval)
+        {
+            final TimingInterval interval = (TimingInterval) other;
+            return startEpochMinute == interval.startEpochMinute && endEpochMinute == interval.endEpochMinute;
+        }
+        else
+            return false;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * Long.hashCode(startEpochMinute) + Long.hashCode(endEpochMinute);
+    }
+
+    @Override
+    public String toString()
+    {
+        return format(startEpochMinute) + '/' + format(endEpochMinute);
+    }
+
+    private static String format(final long epochMinute)
+    {
+        final Timing timing = Timing.ofEpochMinute(epochMinute, TimingType.START_TIME);
+        return timing.getDate().toString() + 'T' + timing.getTime();
+    }
+}
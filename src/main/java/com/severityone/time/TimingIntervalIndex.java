@@ -0,0 +1,474 @@
+package com.severityone.time;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable index of {@link TimingInterval}s, each with an associated value, that finds the intervals that are
+ * active at a given time, or that overlap a given window, in logarithmic time plus the number of results.
+ * <p>
+ * The intervals are held in primitive arrays, sorted by start, which double as an implicit balanced binary tree:
+ * the root of every range of indices is its middle element. Each node is augmented with the maximum end of its
+ * subtree, so that a query skips every subtree in which all intervals end before the query window starts, and every
+ * right subtree in which all intervals start after the window ends. Results are produced lazily, in order of start,
+ * by a {@link Spliterator} that can be split for parallel processing.
+ * <p>
+ * An index is constructed with a {@link Builder}. Large indices are sorted and built in parallel.
+ *
+ * @param <V> the type of value associated with each interval
+ */
+public final class TimingIntervalIndex<V>
+{
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+    private final Object[] values;
+
+    private TimingIntervalIndex(final long[] starts, final long[] ends, final long[] maxEnds, final Object[] values)
+    {
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = maxEnds;
+        this.values = values;
+    }
+
+    /**
+     * Returns a new, empty builder.
+     *
+     * @param <V> the type of value associated with each interval
+     * @return a new builder
+     */
+    public static <V> Builder<V> builder()
+    {
+        return new Builder<>();
+    }
+
+    /**
+     * Returns an index of the given intervals, with every interval as its own value.
+     *
+     * @param intervals the intervals to index
+     * @return an index of the intervals
+     * @throws NullPointerException if the collection or any of its elements is null
+     */
+    public static TimingIntervalIndex<TimingInterval> of(final Collection<TimingInterval> intervals)
+    {
+        final Builder<TimingInterval> builder = new Builder<>(intervals.size());
+        for (final TimingInterval interval : intervals)
+            builder.add(interval, interval);
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of intervals in this index.
+     *
+     * @return the number of intervals
+     */
+    public int size()
+    {
+        return values.length;
+    }
+
+    /**
+     * Returns a sequential stream of the values of the intervals that contain the date and time of the given timing.
+     *
+     * @param timing the timing to look up
+     * @return the values of the active intervals, in order of start
+     */
+    public Stream<V> activeAt(final Timing timing)
+    {
+        final long epochMinute = timing.toEpochMinute();
+        return StreamSupport.stream(spliterator(epochMinute, epochMinute + 1), false);
+    }
+
+    /**
+     * Returns a sequential stream of the values of the intervals that overlap the given window.
+     *
+     * @param window the window to look up
+     * @return the values of the overlapping intervals, in order of start
+     */
+    public Stream<V> overlapping(final TimingInterval window)
+    {
+        return StreamSupport.stream(spliterator(window.getStartEpochMinute(), window.getEndEpochMinute()), false);
+    }
+
+    /**
+     * Returns a spliterator over the values of the intervals that overlap the given window. The window is given in
+     * minutes since 1970-01-01T00:00. Empty intervals contain no minutes, so they overlap nothing, and nothing overlaps
+     * an empty window.
+     *
+     * @param fromEpochMinute the start of the window, inclusive
+     * @param toEpochMinute   the end of the window, exclusive
+     * @return a spliterator over the values of the overlapping intervals, in order of start
+     */
+    public Spliterator<V> spliterator(final long fromEpochMinute, final long toEpochMinute)
+    {
+        final QuerySpliterator spliterator = new QuerySpliterator(fromEpochMinute, toEpochMinute);
+        if (fromEpochMinute < toEpochMinute)
+            spliterator.push(0, values.length);
+        return spliterator;
+    }
+
+    /**
+     * Traverses the implicit tree for one query. The stack holds pending work, the top being the next to process:
+     * either a subtree, as a range of indices, or a single interval that is known to overlap the window.
+     */
+    private final class QuerySpliterator implements Spliterator<V>
+    {
+        private static final int EMIT = -1;
+        private static final int CHARACTERISTICS = ORDERED | NONNULL | IMMUTABLE;
+
+        private final long from;
+        private final long to;
+        private int[] stack = new int[16];
+        private int top = 0;
+
+        QuerySpliterator(final long from, final long to)
+        {
+            this.from = from;
+            this.to = to;
+        }
+
+        void push(final int low, final int high)
+        {
+            if (top + 2 > stack.length)
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            stack[top++] = low;
+            stack[top++] = high;
+        }
+
+        /**
+         * Replaces the subtree on top of the stack by its right subtree, its root if that overlaps, and its left
+         * subtree, skipping whatever cannot contain any results.
+         */
+        private void expand(final int low, final int high)
+        {
+            if (low < high)
+            {
+                final int mid = (low + high) >>> 1;
+                if (maxEnds[mid] > from)
+                {
+                    if (starts[mid] < to)
+                    {
+                        push(mid + 1, high);
+                        if (ends[mid] > from && ends[mid] > starts[mid])
+                            push(mid, EMIT);
+                    }
+                    push(low, mid);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean tryAdvance(final Consumer<? super V> action)
+        {
+            Objects.requireNonNull(action);
+            while (top > 0)
+            {
+                final int high = stack[--top];
+                final int low = stack[--top];
+                if (high == EMIT)
+                {
+                    action.accept((V) values[low]);
+                    return true;
+                }
+                else
+                    expand(low, high);
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super V> action)
+        {
+            Objects.requireNonNull(action);
+            while (tryAdvance(action))
+            {
+                // tryAdvance does all the work
+            }
+        }
+
+        @Override
+        public Spliterator<V> trySplit()
+        {
+            while (top == 2 && stack[1] != EMIT && stack[1] - stack[0] > 1)
+            {
+                top = 0;
+                expand(stack[0], stack[1]);
+            }
+            if (top < 4)
+                return null;
+            else
+            {
+                final QuerySpliterator prefix = new QuerySpliterator(from, to);
+                prefix.stack = Arrays.copyOfRange(stack, 2, Math.max(top, 16));
+                prefix.top = top - 2;
+                top = 2;
+                return prefix;
+            }
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            long size = 0;
+            for (int index = 0; index < top; index += 2)
+                size += stack[index + 1] == EMIT ? 1 : stack[index + 1] - stack[index];
+            return size;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return CHARACTERISTICS;
+        }
+    }
+
+    /**
+     * Collects intervals and values for a new {@link TimingIntervalIndex}. A builder can be reused after building,
+     * and is not thread-safe.
+     *
+     * @param <V> the type of value associated with each interval
+     */
+    public static final class Builder<V>
+    {
+        private long[] starts;
+        private long[] ends;
+        private Object[] values;
+        private int size;
+
+        private Builder()
+        {
+            this(16);
+        }
+
+        private Builder(final int capacity)
+        {
+            starts = new long[Math.max(capacity, 1)];
+            ends = new long[starts.length];
+            values = new Object[starts.length];
+        }
+
+        /**
+         * Adds an interval and its value.
+         *
+         * @param interval the interval to add
+         * @param value    the value to associate with the interval
+         * @return this builder
+         * @throws NullPointerException if any of the parameters is null
+         */
+        public Builder<V> add(final TimingInterval interval, final V value)
+        {
+            Objects.requireNonNull(interval, "interval");
+            Objects.requireNonNull(value, "value");
+            if (size == values.length)
+            {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            starts[size] = interval.getStartEpochMinute();
+            ends[size] = interval.getEndEpochMinute();
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        /**
+         * Adds an interval from a start and an end timing, and its value.
+         *
+         * @param start the start of the interval, inclusive, which must be a {@code START_TIME}
+         * @param end   the end of the interval, exclusive, which must be an {@code END_TIME}
+         * @param value the value to associate with the interval
+         * @return this builder
+         * @throws NullPointerException     if any of the parameters is null
+         * @throws IllegalArgumentException if the timing types are wrong, or if the end is before the start
+         */
+        public Builder<V> add(final Timing start, final Timing end, final V value)
+        {
+            return add(TimingInterval.of(start, end), value);
+        }
+
+        /**
+         * Builds the index. Sorting and building the tree happen in parallel if there are many intervals.
+         *
+         * @return a new index of all intervals added so far
+         */
+        public TimingIntervalIndex<V> build()
+        {
+            final int[] order = new int[size];
+            for (int index = 0; index < size; index++)
+                order[index] = index;
+            final long[] sortedStarts = Arrays.copyOf(starts, size);
+            final Sorter sorter = new Sorter(sortedStarts, order, new long[size], new int[size], 0, size);
+            if (size >= PARALLEL_THRESHOLD)
+                ForkJoinPool.commonPool().invoke(sorter);
+            else
+                sorter.compute();
+
+            final long[] sortedEnds = new long[size];
+            final Object[] sortedValues = new Object[size];
+            for (int index = 0; index < size; index++)
+            {
+                sortedEnds[index] = ends[order[index]];
+                sortedValues[index] = values[order[index]];
+            }
+            final long[] maxEnds = new long[size];
+            final TreeBuilder treeBuilder = new TreeBuilder(sortedEnds, maxEnds, 0, size);
+            if (size >= PARALLEL_THRESHOLD)
+                ForkJoinPool.commonPool().invoke(treeBuilder);
+            else
+                treeBuilder.compute();
+            return new TimingIntervalIndex<>(sortedStarts, sortedEnds, maxEnds, sortedValues);
+        }
+    }
+
+    /**
+     * Sorts a range of keys, and the permutation that goes with them, with a parallel, stable merge sort.
+     */
+    private static final class Sorter extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+        private static final int INSERTION_THRESHOLD = 32;
+
+        private final long[] keys;
+        private final int[] order;
+        private final long[] keyBuffer;
+        private final int[] orderBuffer;
+        private final int low;
+        private final int high;
+
+        Sorter(final long[] keys, final int[] order, final long[] keyBuffer, final int[] orderBuffer,
+               final int low, final int high)
+        {
+            this.keys = keys;
+            this.order = order;
+            this.keyBuffer = keyBuffer;
+            this.orderBuffer = orderBuffer;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (high - low <= INSERTION_THRESHOLD)
+                insertionSort();
+            else
+            {
+                final int mid = (low + high) >>> 1;
+                final Sorter left = new Sorter(keys, order, keyBuffer, orderBuffer, low, mid);
+                final Sorter right = new Sorter(keys, order, keyBuffer, orderBuffer, mid, high);
+                if (high - low >= PARALLEL_THRESHOLD && inForkJoinPool())
+                    invokeAll(left, right);
+                else
+                {
+                    left.compute();
+                    right.compute();
+                }
+                if (keys[mid - 1] > keys[mid])
+                    merge(mid);
+            }
+        }
+
+        private void insertionSort()
+        {
+            for (int index = low + 1; index < high; index++)
+            {
+                final long key = keys[index];
+                final int position = order[index];
+                int target = index - 1;
+                while (target >= low && keys[target] > key)
+                {
+                    keys[target + 1] = keys[target];
+                    order[target + 1] = order[target];
+                    target--;
+                }
+                keys[target + 1] = key;
+                order[target + 1] = position;
+            }
+        }
+
+        private void merge(final int mid)
+        {
+            System.arraycopy(keys, low, keyBuffer, low, high - low);
+            System.arraycopy(order, low, orderBuffer, low, high - low);
+            int left = low;
+            int right = mid;
+            for (int index = low; index < high; index++)
+            {
+                if (right >= high || (left < mid && keyBuffer[left] <= keyBuffer[right]))
+                {
+                    keys[index] = keyBuffer[left];
+                    order[index] = orderBuffer[left++];
+                }
+                else
+                {
+                    keys[index] = keyBuffer[right];
+                    order[index] = orderBuffer[right++];
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the maximum end of every subtree of the implicit tree, in parallel for large subtrees.
+     */
+    private static final class TreeBuilder extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] ends;
+        private final long[] maxEnds;
+        private final int low;
+        private final int high;
+
+        TreeBuilder(final long[] ends, final long[] maxEnds, final int low, final int high)
+        {
+            this.ends = ends;
+            this.maxEnds = maxEnds;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (high - low >= PARALLEL_THRESHOLD && inForkJoinPool())
+            {
+                final int mid = (low + high) >>> 1;
+                invokeAll(new TreeBuilder(ends, maxEnds, low, mid), new TreeBuilder(ends, maxEnds, mid + 1, high));
+                maxEnds[mid] = Math.max(ends[mid], Math.max(maxEnd(low, mid), maxEnd(mid + 1, high)));
+            }
+            else
+                build(low, high);
+        }
+
+        private long build(final int low, final int high)
+        {
+            if (low >= high)
+                return Long.MIN_VALUE;
+            else
+            {
+                final int mid = (low + high) >>> 1;
+                final long maxEnd = Math.max(ends[mid], Math.max(build(low, mid), build(mid + 1, high)));
+                maxEnds[mid] = maxEnd;
+                return maxEnd;
+            }
+        }
+
+        private long maxEnd(final int low, final int high)
+        {
+            return low >= high ? Long.MIN_VALUE : maxEnds[(low + high) >>> 1];
+        }
+    }
+}
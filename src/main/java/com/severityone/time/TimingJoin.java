@@ -0,0 +1,686 @@
+package com.severityone.time;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Finds the overlaps between two sequences of intervals, each given as {@link Timing}s in order, such as bookings and
+ * availability windows, in a single pass over both, like a merge join.
+ * <p>
+ * Every {@link TimingType#END_TIME} in a sequence ends the earliest {@link TimingType#START_TIME} that has not been
+ * ended yet. Since a {@code START_TIME} sorts before an {@code END_TIME} at the same minute, this pairs up intervals
+ * that follow each other without a gap, as well as intervals that overlap each other. The intervals of both
+ * sequences are then swept in order of start. Each side only keeps the intervals that have not ended before the
+ * latest start, so the memory that a join needs is bounded by the number of intervals in progress at the same time,
+ * not by the length of the sequences, and the time it takes is linear in the length of the sequences plus the
+ * number of overlaps.
+ * <p>
+ * Overlaps are produced lazily, in order of the start of their intersection. A sequence that is not in order, or
+ * that has an {@code END_TIME} without a {@code START_TIME} or the other way round, is reported with an
+ * {@link IllegalArgumentException} when the join gets there.
+ * <p>
+ * A join can also be partitioned by {@link LocalDate}, so that days can be joined in parallel. The intervals are
+ * still paired up over the whole sequences, and then every interval is cut into a piece for every day that it
+ * covers, including days on which it has no timings at all. Whether an {@code END_TIME} ends an interval that
+ * started before the first day depends on the {@code END_TIME}s that follow it, so a partitioned join reads the
+ * timings of every sequence in full before it cuts the first day, and needs memory in proportion to them.
+ */
+public final class TimingJoin
+{
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private TimingJoin()
+    {
+    }
+
+    /**
+     * Returns a sequential stream of the overlaps between the intervals of the given sequences of timings.
+     *
+     * @param left  the timings of the intervals on the left, in order
+     * @param right the timings of the intervals on the right, in order
+     * @return the overlaps, in order of the start of their intersection
+     */
+    public static Stream<Overlap> overlaps(final Spliterator<Timing> left, final Spliterator<Timing> right)
+    {
+        return StreamSupport.stream(new JoinSpliterator(new IntervalReader(left, Long.MIN_VALUE, Long.MAX_VALUE, false),
+                                                        new IntervalReader(right, Long.MIN_VALUE, Long.MAX_VALUE,
+                                                                           false)),
+                                    false);
+    }
+
+    /**
+     * Returns a sequential stream of the overlaps between the intervals of the given sequences of timings, joined
+     * day by day, for the days in the given range. The sequences hold the timings on those days, in order, such as
+     * {@code store.timings(days).spliterator()}.
+     * <p>
+     * Intervals that started before the first day start at the start of the first day, ahead of all the other
+     * intervals, and there are as many of them as the most {@code END_TIME}s that any leading part of a sequence
+     * has more than {@code START_TIME}s. So they are ended by the first {@code END_TIME}s, like any interval that
+     * starts first. A {@code START_TIME} without an {@code END_TIME} starts an interval that ends at the end of the
+     * last day.
+     * The intervals are then cut at every midnight, and the pieces of every day are joined on their own. So the
+     * intervals of an overlap are the pieces on one day, and two intervals that overlap on several days have an
+     * overlap on each of those days, whose intersections add up to the intersection of the intervals.
+     *
+     * @param days  the days to join
+     * @param left  the timings of the intervals on the left, in order
+     * @param right the timings of the intervals on the right, in order
+     * @return the overlaps, by day, and in order of the start of their intersection within a day
+     * @throws IllegalArgumentException if the range skips dates
+     */
+    public static Stream<Overlap> overlapsByDay(final LocalDateRange days,
+                                                final Spliterator<Timing> left,
+                                                final Spliterator<Timing> right)
+    {
+        return overlapsByDay(days, left, right, false);
+    }
+
+    /**
+     * Returns a parallel stream of the overlaps between the intervals of the given sequences of timings, joined day
+     * by day, as by {@link #overlapsByDay(LocalDateRange, Spliterator, Spliterator)}. The sequences are read by one
+     * thread at a time, which hands out batches of days, and the days of a batch are joined in parallel.
+     *
+     * @param days  the days to join
+     * @param left  the timings of the intervals on the left, in order
+     * @param right the timings of the intervals on the right, in order
+     * @return the overlaps, by day, and in order of the start of their intersection within a day
+     * @throws IllegalArgumentException if the range skips dates
+     */
+    public static Stream<Overlap> parallelOverlapsByDay(final LocalDateRange days,
+                                                        final Spliterator<Timing> left,
+                                                        final Spliterator<Timing> right)
+    {
+        return overlapsByDay(days, left, right, true);
+    }
+
+    private static Stream<Overlap> overlapsByDay(final LocalDateRange days,
+                                                 final Spliterator<Timing> left,
+                                                 final Spliterator<Timing> right,
+                                                 final boolean parallel)
+    {
+        final long fromEpochDay = days.isEmpty() ? 0 : days.getMinEpochDay();
+        final long toEpochDay = days.isEmpty() ? 0 : days.getMaxEpochDayExclusive();
+        final long from = fromEpochDay * MINUTES_PER_DAY;
+        final long to = toEpochDay * MINUTES_PER_DAY;
+        return StreamSupport.stream(new DaySpliterator(new DaySide(new IntervalReader(left, from, to, true)),
+                                                       new DaySide(new IntervalReader(right, from, to, true)),
+                                                       fromEpochDay, toEpochDay),
+                                    parallel)
+                            .flatMap(day -> StreamSupport.stream(new JoinSpliterator(new IntervalList(day.left),
+                                                                                     new IntervalList(day.right)),
+                                                                 false));
+    }
+
+    /**
+     * An interval on the left that overlaps an interval on the right, with the interval that they have in common.
+     */
+    public static final class Overlap
+    {
+        private final TimingInterval left;
+        private final TimingInterval right;
+        private final TimingInterval intersection;
+
+        private Overlap(final TimingInterval left, final TimingInterval right, final TimingInterval intersection)
+        {
+            this.left = left;
+            this.right = right;
+            this.intersection = intersection;
+        }
+
+        public TimingInterval getLeft()
+        {
+            return left;
+        }
+
+        public TimingInterval getRight()
+        {
+            return right;
+        }
+
+        /**
+         * Returns the interval that the left and the right interval have in common, which is never empty.
+         *
+         * @return the intersection
+         */
+        public TimingInterval getIntersection()
+        {
+            return intersection;
+        }
+
+        @Override
+        public boolean equals(final Object other)
+        {
+            if (this == other)
+                return true;
+            else if (other instanceof Overlap)
+                return left.equals(((Overlap) other).left) && right.equals(((Overlap) other).right);
+            else
+                return false;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 31 * left.hashCode() + right.hashCode();
+        }
+
+        @Override
+        public String toString()
+        {
+            return left + " & " + right + " = " + intersection;
+        }
+    }
+
+    /**
+     * A sequence of intervals in order of start, which is read one interval at a time.
+     */
+    private abstract static class IntervalSource
+    {
+        /**
+         * The start and end of the last interval that was read.
+         */
+        long start;
+        long end;
+
+        /**
+         * Reads the next interval into {@link #start} and {@link #end}.
+         *
+         * @return false if there are no more intervals
+         */
+        abstract boolean next();
+    }
+
+    /**
+     * Pairs up the timings of a sequence into intervals, in order of start. The starts that have not been ended yet
+     * are kept in a ring buffer. If the reader is clipped, intervals are clipped to a window, and intervals that
+     * are cut off by the window at either end are completed with its bounds. Whether an {@code END_TIME} ends an
+     * interval that started before the window depends on the {@code END_TIME}s that follow it, so a clipped reader
+     * reads the whole sequence first, and keeps the ends as well.
+     */
+    private static final class IntervalReader extends IntervalSource implements Consumer<Timing>
+    {
+        private final Spliterator<Timing> source;
+        private final long fromEpochMinute;
+        private final long toEpochMinute;
+        private final boolean clipped;
+        private long[] open = new long[4];
+        private int head;
+        private int count;
+        private long[] ends;
+        private int endCount;
+        private int ended;
+        private long previous = Long.MIN_VALUE;
+        private Timing timing;
+        private boolean exhausted;
+
+        IntervalReader(final Spliterator<Timing> source, final long fromEpochMinute, final long toEpochMinute,
+                       final boolean clipped)
+        {
+            this.source = Objects.requireNonNull(source);
+            this.fromEpochMinute = fromEpochMinute;
+            this.toEpochMinute = toEpochMinute;
+            this.clipped = clipped;
+        }
+
+        @Override
+        public void accept(final Timing timing)
+        {
+            final long packed = timing.toPacked();
+            if (packed < previous)
+                throw new IllegalArgumentException("Timings are not in order: " + timing + " after " +
+                                                   Timing.ofPacked(previous));
+            previous = packed;
+            this.timing = timing;
+        }
+
+        @Override
+        boolean next()
+        {
+            if (clipped)
+                return nextClipped();
+            while (!exhausted)
+            {
+                if (!source.tryAdvance(this))
+                    exhausted = true;
+                else if (timing.getTimingType() == TimingType.START_TIME)
+                    push(timing.toEpochMinute());
+                else if (count > 0)
+                {
+                    start = poll();
+                    end = timing.toEpochMinute();
+                    return true;
+                }
+                else
+                    throw new IllegalArgumentException("END_TIME without START_TIME: " + timing);
+            }
+            if (count == 0)
+                return false;
+            else
+                throw new IllegalArgumentException("START_TIME without END_TIME: " +
+                                                   Timing.ofEpochMinute(open[head], TimingType.START_TIME));
+        }
+
+        private boolean nextClipped()
+        {
+            if (!exhausted)
+                readClipped();
+            if (ended < endCount)
+            {
+                start = poll();
+                end = ends[ended++];
+                return true;
+            }
+            else if (count > 0)
+            {
+                start = poll();
+                end = toEpochMinute;
+                return true;
+            }
+            else
+                return false;
+        }
+
+        /**
+         * Reads the whole sequence, keeping the starts in the ring buffer and the ends in order. The most ends that
+         * any part of the sequence has more than starts is the number of intervals that started before the window,
+         * which start at the window instead, ahead of all the other starts.
+         */
+        private void readClipped()
+        {
+            ends = new long[4];
+            int unmatched = 0;
+            while (source.tryAdvance(this))
+            {
+                final long epochMinute = Math.min(Math.max(timing.toEpochMinute(), fromEpochMinute), toEpochMinute);
+                if (timing.getTimingType() == TimingType.START_TIME)
+                    push(epochMinute);
+                else
+                {
+                    if (endCount == ends.length)
+                        ends = Arrays.copyOf(ends, endCount * 2);
+                    ends[endCount++] = epochMinute;
+                    unmatched = Math.max(unmatched, endCount - count);
+                }
+            }
+            for (; unmatched > 0; unmatched--)
+            {
+                grow();
+                head = head - 1 & open.length - 1;
+                open[head] = fromEpochMinute;
+                count++;
+            }
+            exhausted = true;
+        }
+
+        private void push(final long epochMinute)
+        {
+            grow();
+            open[(head + count++) & open.length - 1] = epochMinute;
+        }
+
+        private void grow()
+        {
+            if (count == open.length)
+            {
+                final long[] grown = new long[count * 2];
+                final int tail = count - head;
+                System.arraycopy(open, head, grown, 0, tail);
+                System.arraycopy(open, 0, grown, tail, head);
+                open = grown;
+                head = 0;
+            }
+        }
+
+        private long poll()
+        {
+            final long epochMinute = open[head];
+            head = head + 1 & open.length - 1;
+            count--;
+            return epochMinute;
+        }
+    }
+
+    /**
+     * A list of intervals, in order of start, such as the intervals of one side that may still overlap intervals of
+     * the other side, or the pieces of the intervals of one side on a day.
+     */
+    private static final class Intervals
+    {
+        private long[] starts = new long[4];
+        private long[] ends = new long[4];
+        private int size;
+
+        void add(final long start, final long end)
+        {
+            if (size == starts.length)
+            {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+
+        /**
+         * Removes the intervals that end at or before the given minute.
+         */
+        void prune(final long epochMinute)
+        {
+            int kept = 0;
+            for (int index = 0; index < size; index++)
+                if (ends[index] > epochMinute)
+                {
+                    starts[kept] = starts[index];
+                    ends[kept] = ends[index];
+                    kept++;
+                }
+            size = kept;
+        }
+    }
+
+    /**
+     * Reads the intervals in a list.
+     */
+    private static final class IntervalList extends IntervalSource
+    {
+        private final Intervals intervals;
+        private int index;
+
+        IntervalList(final Intervals intervals)
+        {
+            this.intervals = intervals;
+        }
+
+        @Override
+        boolean next()
+        {
+            if (index >= intervals.size)
+                return false;
+            else
+            {
+                start = intervals.starts[index];
+                end = intervals.ends[index];
+                index++;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Cuts the intervals of one side into pieces per day. The intervals that run past the end of the current day
+     * are carried over, and give a piece from midnight on every following day that they cover. Those pieces come
+     * first on a day, followed by the pieces of the intervals that start on it, so the pieces of a day are in order
+     * of start as well.
+     */
+    private static final class DaySide
+    {
+        private final IntervalReader reader;
+        private final Intervals carried = new Intervals();
+        private boolean started;
+        private boolean hasNext;
+
+        DaySide(final IntervalReader reader)
+        {
+            this.reader = reader;
+        }
+
+        /**
+         * Returns whether this side has no more intervals, neither carried over nor still to be read.
+         */
+        boolean isDone()
+        {
+            if (!started)
+            {
+                started = true;
+                hasNext = reader.next();
+            }
+            return !hasNext && carried.size == 0;
+        }
+
+        /**
+         * Returns the pieces of the intervals on the day from the given minute, inclusive, to the given minute,
+         * exclusive, which must follow the day of the previous call.
+         */
+        Intervals day(final long from, final long to)
+        {
+            final Intervals pieces = new Intervals();
+            int kept = 0;
+            for (int index = 0; index < carried.size; index++)
+            {
+                final long end = carried.ends[index];
+                pieces.add(from, Math.min(end, to));
+                if (end > to)
+                {
+                    carried.starts[kept] = carried.starts[index];
+                    carried.ends[kept] = end;
+                    kept++;
+                }
+            }
+            carried.size = kept;
+            while (hasNext && reader.start < to)
+            {
+                pieces.add(reader.start, Math.min(reader.end, to));
+                if (reader.end > to)
+                    carried.add(reader.start, reader.end);
+                hasNext = reader.next();
+            }
+            return pieces;
+        }
+    }
+
+    /**
+     * The pieces of the intervals of both sides on a day.
+     */
+    private static final class Day
+    {
+        private final Intervals left;
+        private final Intervals right;
+
+        Day(final Intervals left, final Intervals right)
+        {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Reads both sides day by day, and skips the days on which either side has no pieces. A split hands out a
+     * batch of the days that follow, which grows by one day at every split, up to a maximum, like the spliterator of
+     * an iterator does.
+     */
+    private static final class DaySpliterator implements Spliterator<Day>
+    {
+        private static final int CHARACTERISTICS = ORDERED | NONNULL;
+        private static final int MAX_BATCH = 64;
+
+        private final DaySide left;
+        private final DaySide right;
+        private final long toEpochDay;
+        private long epochDay;
+        private int batch;
+
+        DaySpliterator(final DaySide left, final DaySide right, final long fromEpochDay, final long toEpochDay)
+        {
+            this.left = left;
+            this.right = right;
+            this.epochDay = fromEpochDay;
+            this.toEpochDay = toEpochDay;
+        }
+
+        /**
+         * Returns the next day on which both sides have pieces, or null if there is none.
+         */
+        private Day next()
+        {
+            while (epochDay < toEpochDay && !left.isDone() && !right.isDone())
+            {
+                final long from = epochDay++ * MINUTES_PER_DAY;
+                final long to = from + MINUTES_PER_DAY;
+                final Intervals leftPieces = left.day(from, to);
+                final Intervals rightPieces = right.day(from, to);
+                if (leftPieces.size > 0 && rightPieces.size > 0)
+                    return new Day(leftPieces, rightPieces);
+            }
+            return null;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Day> action)
+        {
+            Objects.requireNonNull(action);
+            final Day day = next();
+            if (day == null)
+                return false;
+            else
+            {
+                action.accept(day);
+                return true;
+            }
+        }
+
+        @Override
+        public Spliterator<Day> trySplit()
+        {
+            final Day[] days = new Day[Math.min(batch + 1, MAX_BATCH)];
+            int count = 0;
+            Day day;
+            while (count < days.length && (day = next()) != null)
+                days[count++] = day;
+            if (count == 0)
+                return null;
+            else
+            {
+                batch = count;
+                return Spliterators.spliterator(days, 0, count, CHARACTERISTICS);
+            }
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return toEpochDay - epochDay;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return CHARACTERISTICS;
+        }
+    }
+
+    /**
+     * Sweeps the intervals of both sides in order of start. Every interval is joined with the active intervals of
+     * the other side, all of which started before it, and which overlap it once the ones that have ended are pruned.
+     * On a tie, the left interval goes first, so that every pair is joined once. Since both sides are swept in order
+     * of start, an interval that ends at or before the current start cannot overlap anything that is still to come,
+     * so both sides are pruned at every step.
+     */
+    private static final class JoinSpliterator implements Spliterator<Overlap>
+    {
+        private static final int CHARACTERISTICS = ORDERED | NONNULL;
+
+        private final IntervalSource left;
+        private final IntervalSource right;
+        private final Intervals leftActive = new Intervals();
+        private final Intervals rightActive = new Intervals();
+        private final ArrayDeque<Overlap> pending = new ArrayDeque<>();
+        private boolean started;
+        private boolean hasLeft;
+        private boolean hasRight;
+
+        JoinSpliterator(final IntervalSource left, final IntervalSource right)
+        {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Overlap> action)
+        {
+            Objects.requireNonNull(action);
+            while (pending.isEmpty())
+                if (!step())
+                    return false;
+            action.accept(pending.poll());
+            return true;
+        }
+
+        /**
+         * Takes the next interval of either side, and adds its overlaps to the pending ones.
+         *
+         * @return false if no more overlaps can be found
+         */
+        private boolean step()
+        {
+            if (!started)
+            {
+                started = true;
+                hasLeft = left.next();
+                hasRight = right.next();
+            }
+            if (!hasLeft && (!hasRight || leftActive.size == 0) || !hasRight && rightActive.size == 0)
+                return false;
+            else if (hasLeft && (!hasRight || left.start <= right.start))
+            {
+                join(left.start, left.end, rightActive, leftActive, true);
+                hasLeft = left.next();
+            }
+            else
+            {
+                join(right.start, right.end, leftActive, rightActive, false);
+                hasRight = right.next();
+            }
+            return true;
+        }
+
+        private void join(final long start, final long end, final Intervals others, final Intervals own,
+                          final boolean isLeft)
+        {
+            others.prune(start);
+            own.prune(start);
+            if (start < end)
+            {
+                if (others.size > 0)
+                {
+                    final TimingInterval interval = TimingInterval.ofEpochMinutes(start, end);
+                    for (int index = 0; index < others.size; index++)
+                    {
+                        final TimingInterval other = TimingInterval.ofEpochMinutes(others.starts[index],
+                                                                                   others.ends[index]);
+                        final TimingInterval intersection =
+                                TimingInterval.ofEpochMinutes(start, Math.min(end, others.ends[index]));
+                        pending.add(isLeft ? new Overlap(interval, other, intersection)
+                                           : new Overlap(other, interval, intersection));
+                    }
+                }
+                own.add(start, end);
+            }
+        }
+
+        @Override
+        public Spliterator<Overlap> trySplit()
+        {
+            return null;
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return CHARACTERISTICS;
+        }
+    }
+}
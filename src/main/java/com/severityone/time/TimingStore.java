@@ -0,0 +1,478 @@
+package com.severityone.time;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A file of {@link Timing}s in their packed form, sorted by date and time, that is read and written through memory
+ * mapping. Timings are stored outside of the Java heap, eight bytes each, so that stores of billions of timings can
+ * be scanned without deserializing a single object.
+ * <p>
+ * The file starts with a header of {@value #HEADER_SIZE} bytes, followed by segments of a fixed number of packed
+ * timings, each of which is mapped separately. An in-memory index holds the first timing of every segment, so that a
+ * query for a {@link LocalDateRange} finds its first segment by binary search, and then its first timing by another
+ * binary search within the segment. Query results are streamed straight from the mapped segments, and split on
+ * segment boundaries for parallel processing.
+ * <p>
+ * Timings must be appended in order. There can be one appending thread, and any number of reading threads, also
+ * while appending: an appended timing becomes visible to readers only once it has been written completely. Streams
+ * cover the timings that had been appended when they were created.
+ *
+ * @see Timing#toPacked()
+ */
+public final class TimingStore implements Closeable
+{
+    /**
+     * The size of the file header in bytes.
+     */
+    public static final int HEADER_SIZE = 64;
+
+    /**
+     * The default number of timings per segment, which makes segments of 8 MiB.
+     */
+    public static final int DEFAULT_SEGMENT_CAPACITY = 1 << 20;
+
+    private static final int MAGIC = 0x54494D53;
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SEGMENT_CAPACITY_OFFSET = 8;
+    private static final int COUNT_OFFSET = 16;
+    private static final int MAX_SEGMENT_CAPACITY = 1 << 27;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final int segmentShift;
+    private final int segmentMask;
+
+    /**
+     * The mapped segments and the first packed timing of each, replaced as a whole by the appending thread before
+     * the count that makes a new segment visible.
+     */
+    private volatile Segments segments;
+    private volatile long count;
+    private long last = Long.MIN_VALUE;
+    private boolean closed;
+
+    private TimingStore(final FileChannel channel, final MappedByteBuffer header, final int segmentCapacity)
+    {
+        this.channel = channel;
+        this.header = header;
+        this.segmentShift = Integer.numberOfTrailingZeros(segmentCapacity);
+        this.segmentMask = segmentCapacity - 1;
+        this.segments = new Segments(new MappedByteBuffer[0], new long[0]);
+    }
+
+    /**
+     * Opens the store in the given file, creating it with the default segment capacity if it does not exist.
+     *
+     * @param path the path of the file
+     * @return the store
+     * @throws IOException if the file cannot be opened, or is not a store
+     */
+    public static TimingStore open(final Path path) throws IOException
+    {
+        return open(path, DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    /**
+     * Opens the store in the given file, creating it with the given segment capacity if it does not exist. The
+     * segment capacity of an existing file is read from its header.
+     *
+     * @param path            the path of the file
+     * @param segmentCapacity the number of timings per segment, a power of two, for a new file
+     * @return the store
+     * @throws IllegalArgumentException if the segment capacity is not a power of two from 1 to 2^27
+     * @throws IOException              if the file cannot be opened, or is not a store
+     */
+    public static TimingStore open(final Path path, final int segmentCapacity) throws IOException
+    {
+        if (Integer.bitCount(segmentCapacity) != 1 || segmentCapacity > MAX_SEGMENT_CAPACITY)
+            throw new IllegalArgumentException("Segment capacity is not a power of two up to 2^27: " + segmentCapacity);
+        final FileChannel channel = FileChannel.open(path,
+                                                     StandardOpenOption.CREATE,
+                                                     StandardOpenOption.READ,
+                                                     StandardOpenOption.WRITE);
+        try
+        {
+            final boolean created = channel.size() == 0;
+            final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (created)
+            {
+                header.putInt(MAGIC_OFFSET, MAGIC)
+                      .putInt(VERSION_OFFSET, VERSION)
+                      .putInt(SEGMENT_CAPACITY_OFFSET, segmentCapacity)
+                      .putLong(COUNT_OFFSET, 0);
+            }
+            else if (header.getInt(MAGIC_OFFSET) != MAGIC)
+                throw new StreamCorruptedException("Not a timing store: " + path);
+            else if (header.getInt(VERSION_OFFSET) != VERSION)
+                throw new StreamCorruptedException("Unsupported timing store version: " + header.getInt(VERSION_OFFSET));
+            final int capacity = header.getInt(SEGMENT_CAPACITY_OFFSET);
+            if (Integer.bitCount(capacity) != 1 || capacity > MAX_SEGMENT_CAPACITY)
+                throw new StreamCorruptedException("Invalid segment capacity: " + capacity);
+            final long storedCount = header.getLong(COUNT_OFFSET);
+            if (storedCount < 0 || HEADER_SIZE + storedCount * Long.BYTES > channel.size())
+                throw new StreamCorruptedException("Invalid timing count: " + storedCount);
+
+            final TimingStore store = new TimingStore(channel, header, capacity);
+            store.load(storedCount);
+            return store;
+        }
+        catch (final IOException | RuntimeException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void load(final long storedCount) throws IOException
+    {
+        final int segmentCount = (int) ((storedCount + segmentMask) >>> segmentShift);
+        final MappedByteBuffer[] buffers = new MappedByteBuffer[segmentCount];
+        final long[] firsts = new long[segmentCount];
+        for (int segment = 0; segment < segmentCount; segment++)
+        {
+            buffers[segment] = map(segment);
+            firsts[segment] = buffers[segment].getLong(0);
+        }
+        segments = new Segments(buffers, firsts);
+        if (storedCount > 0)
+            last = packedAt(buffers, storedCount - 1);
+        count = storedCount;
+    }
+
+    private MappedByteBuffer map(final int segment) throws IOException
+    {
+        final long capacity = segmentMask + 1L;
+        final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE,
+                                                    HEADER_SIZE + segment * capacity * Long.BYTES,
+                                                    capacity * Long.BYTES);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * Appends a timing to this store.
+     *
+     * @param timing the timing to append
+     * @throws IllegalArgumentException if the timing is before the last timing in this store
+     * @throws IOException              if a new segment cannot be mapped
+     */
+    public void append(final Timing timing) throws IOException
+    {
+        appendPacked(timing.toPacked());
+    }
+
+    /**
+     * Appends a timing, in its packed form, to this store.
+     *
+     * @param packed the packed timing to append
+     * @throws IllegalArgumentException if the timing is before the last timing in this store
+     * @throws IOException              if a new segment cannot be mapped
+     * @see Timing#toPacked()
+     */
+    public synchronized void appendPacked(final long packed) throws IOException
+    {
+        if (closed)
+            throw new IllegalStateException("Store is closed");
+        final Timing timing = Timing.ofPacked(packed);
+        if (packed < last)
+            throw new IllegalArgumentException("Timings must be appended in order: " + timing + " is before " +
+                                               Timing.ofPacked(last));
+
+        final long position = count;
+        final int segment = (int) (position >>> segmentShift);
+        Segments current = segments;
+        if (segment == current.buffers.length)
+        {
+            final MappedByteBuffer[] buffers = Arrays.copyOf(current.buffers, segment + 1);
+            final long[] firsts = Arrays.copyOf(current.firsts, segment + 1);
+            buffers[segment] = map(segment);
+            firsts[segment] = packed;
+            current = new Segments(buffers, firsts);
+            segments = current;
+        }
+        current.buffers[segment].putLong(((int) position & segmentMask) * Long.BYTES, packed);
+        header.putLong(COUNT_OFFSET, position + 1);
+        last = packed;
+        count = position + 1;
+    }
+
+    /**
+     * Returns the number of timings in this store.
+     *
+     * @return the number of timings
+     */
+    public long size()
+    {
+        return count;
+    }
+
+    /**
+     * Returns the timing at the given position.
+     *
+     * @param index the position of the timing, from zero
+     * @return the timing
+     * @throws IndexOutOfBoundsException if the index is negative, or not less than the size
+     */
+    public Timing get(final long index)
+    {
+        final long size = count;
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        return Timing.ofPacked(packedAt(segments.buffers, index));
+    }
+
+    /**
+     * Returns a sequential stream of the packed timings with a date within the given range, in order.
+     *
+     * @param range the range of dates
+     * @return the packed timings within the range
+     * @throws IllegalArgumentException if the range skips dates
+     */
+    public LongStream packed(final LocalDateRange range)
+    {
+        return StreamSupport.longStream(spliterator(range), false);
+    }
+
+    /**
+     * Returns a parallel stream of the packed timings with a date within the given range. It splits on segment
+     * boundaries wherever it can.
+     *
+     * @param range the range of dates
+     * @return the packed timings within the range
+     * @throws IllegalArgumentException if the range skips dates
+     */
+    public LongStream parallelPacked(final LocalDateRange range)
+    {
+        return StreamSupport.longStream(spliterator(range), true);
+    }
+
+    /**
+     * Returns a sequential stream of the timings with a date within the given range, in order.
+     *
+     * @param range the range of dates
+     * @return the timings within the range
+     * @throws IllegalArgumentException if the range skips dates
+     */
+    public Stream<Timing> timings(final LocalDateRange range)
+    {
+        return packed(range).mapToObj(Timing::ofPacked);
+    }
+
+    /**
+     * Returns a parallel stream of the timings with a date within the given range.
+     *
+     * @param range the range of dates
+     * @return the timings within the range
+     * @throws IllegalArgumentException if the range skips dates
+     */
+    public Stream<Timing> parallelTimings(final LocalDateRange range)
+    {
+        return parallelPacked(range).mapToObj(Timing::ofPacked);
+    }
+
+    /**
+     * Returns a spliterator over the packed timings with a date within the given range. The timings are in order,
+     * also if the range goes back in time.
+     *
+     * @param range the range of dates
+     * @return a spliterator over the packed timings within the range
+     * @throws IllegalArgumentException if the range skips dates
+     */
+    public Spliterator.OfLong spliterator(final LocalDateRange range)
+    {
+        final long size = count;
+        final Segments current = segments;
+        final long fromEpochDay = range.getMinEpochDay();
+        final long toEpochDay = range.getMaxEpochDayExclusive();
+        return new SegmentSpliterator(current.buffers,
+                                      lowerBound(current, size, fromEpochDay * MINUTES_PER_DAY << 1),
+                                      lowerBound(current, size, toEpochDay * MINUTES_PER_DAY << 1));
+    }
+
+    /**
+     * Finds the position of the first packed timing that is not less than the given key: first the segment, by its
+     * first timing, and then the position within that segment.
+     */
+    private long lowerBound(final Segments current, final long size, final long key)
+    {
+        final int segmentCount = (int) ((size + segmentMask) >>> segmentShift);
+        int low = 0;
+        int high = segmentCount;
+        while (low < high)
+        {
+            final int mid = (low + high) >>> 1;
+            if (current.firsts[mid] < key)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        if (low == 0)
+            return 0;
+        final int segment = low - 1;
+        final MappedByteBuffer buffer = current.buffers[segment];
+        final long base = (long) segment << segmentShift;
+        int lowIndex = 0;
+        int highIndex = (int) Math.min(size - base, segmentMask + 1L);
+        while (lowIndex < highIndex)
+        {
+            final int mid = (lowIndex + highIndex) >>> 1;
+            if (buffer.getLong(mid * Long.BYTES) < key)
+                lowIndex = mid + 1;
+            else
+                highIndex = mid;
+        }
+        return base + lowIndex;
+    }
+
+    private long packedAt(final MappedByteBuffer[] buffers, final long index)
+    {
+        return buffers[(int) (index >>> segmentShift)].getLong(((int) index & segmentMask) * Long.BYTES);
+    }
+
+    /**
+     * Forces all changes to this store to be written to the storage device.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public synchronized void force() throws IOException
+    {
+        for (final MappedByteBuffer buffer : segments.buffers)
+            buffer.force();
+        header.force();
+    }
+
+    /**
+     * Forces all changes to be written, and closes the file. Streams that were created before closing the store
+     * remain usable, as the segments stay mapped until they are garbage collected.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public synchronized void close() throws IOException
+    {
+        if (!closed)
+        {
+            closed = true;
+            try
+            {
+                force();
+            }
+            finally
+            {
+                channel.close();
+            }
+        }
+    }
+
+    private static final class Segments
+    {
+        final MappedByteBuffer[] buffers;
+        final long[] firsts;
+
+        Segments(final MappedByteBuffer[] buffers, final long[] firsts)
+        {
+            this.buffers = buffers;
+            this.firsts = firsts;
+        }
+    }
+
+    private final class SegmentSpliterator extends IndexedSpliterator<Spliterator.OfLong> implements Spliterator.OfLong
+    {
+        private static final int CHARACTERISTICS = ORDERED | SORTED | SIZED | NONNULL | IMMUTABLE | SUBSIZED;
+
+        private final MappedByteBuffer[] buffers;
+
+        SegmentSpliterator(final MappedByteBuffer[] buffers, final long index, final long fence)
+        {
+            super(index, fence);
+            this.buffers = buffers;
+        }
+
+        @Override
+        Spliterator.OfLong slice(final long index, final long fence)
+        {
+            return new SegmentSpliterator(buffers, index, fence);
+        }
+
+        /**
+         * Splits on the segment boundary nearest to the middle, if the remaining timings span more than one segment.
+         */
+        @Override
+        public Spliterator.OfLong trySplit()
+        {
+            final long low = index;
+            long mid = (low + fence) >>> 1;
+            final long boundary = (mid + (segmentMask >>> 1)) & ~(long) segmentMask;
+            if (boundary > low && boundary < fence)
+                mid = boundary;
+            if (low >= mid)
+                return null;
+            else
+            {
+                index = mid;
+                return slice(low, mid);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action)
+        {
+            Objects.requireNonNull(action);
+            if (index >= fence)
+                return false;
+            else
+            {
+                action.accept(packedAt(buffers, index++));
+                return true;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(final LongConsumer action)
+        {
+            Objects.requireNonNull(action);
+            long current = index;
+            final long end = fence;
+            while (current < end)
+            {
+                final MappedByteBuffer buffer = buffers[(int) (current >>> segmentShift)];
+                final long segmentEnd = Math.min(end, (current | segmentMask) + 1);
+                for (int offset = ((int) current & segmentMask) * Long.BYTES; current < segmentEnd;
+                     current++, offset += Long.BYTES)
+                    action.accept(buffer.getLong(offset));
+            }
+            index = end;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return CHARACTERISTICS;
+        }
+
+        @Override
+        public Comparator<? super Long> getComparator()
+        {
+            return null;
+        }
+    }
+}
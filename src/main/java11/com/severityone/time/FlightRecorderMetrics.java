@@ -0,0 +1,122 @@
+package com.severityone.time;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The {@link RangeMetrics} that emit JDK Flight Recorder events, for Java 11 and later. A split is an instant
+ * event; a chunk is a duration event, which begins when the chunk starts, and is passed back as the token of the
+ * chunk to be committed when it ends.
+ */
+final class FlightRecorderMetrics implements RangeMetrics
+{
+    private FlightRecorderMetrics()
+    {
+    }
+
+    static RangeMetrics create()
+    {
+        return new FlightRecorderMetrics();
+    }
+
+    @Override
+    public void split(final TemporalRange<?> range, final int depth, final long prefixSize, final long remainingSize)
+    {
+        final SplitEvent event = new SplitEvent();
+        if (event.shouldCommit())
+        {
+            event.elementType = range.getStartInclusive().getClass().getSimpleName();
+            event.unit = range.getUnit().toString();
+            event.amount = range.getAmount();
+            event.depth = depth;
+            event.prefixSize = prefixSize;
+            event.remainingSize = remainingSize;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object chunkStarted(final TemporalRange<?> range, final int depth, final long size)
+    {
+        final ChunkEvent event = new ChunkEvent();
+        event.size = size;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void chunkEnded(final TemporalRange<?> range, final int depth, final long elements, final long nanos,
+                           final Object token)
+    {
+        final ChunkEvent event = (ChunkEvent) token;
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.elementType = range.getStartInclusive().getClass().getSimpleName();
+            event.unit = range.getUnit().toString();
+            event.amount = range.getAmount();
+            event.depth = depth;
+            event.elements = elements;
+            event.commit();
+        }
+    }
+
+    @Name("com.severityone.time.RangeSplit")
+    @Label("Range Split")
+    @Category({"SeverityOne", "Time"})
+    @Description("A spliterator of a temporal range split off a prefix")
+    @StackTrace(false)
+    static final class SplitEvent extends Event
+    {
+        @Label("Element Type")
+        String elementType;
+
+        @Label("Unit")
+        String unit;
+
+        @Label("Amount")
+        long amount;
+
+        @Label("Depth")
+        @Description("The number of times that the spliterator had been split before")
+        int depth;
+
+        @Label("Prefix Size")
+        long prefixSize;
+
+        @Label("Remaining Size")
+        long remainingSize;
+    }
+
+    @Name("com.severityone.time.RangeChunk")
+    @Label("Range Chunk")
+    @Category({"SeverityOne", "Time"})
+    @Description("A chunk of consecutive elements of a temporal range was traversed")
+    @StackTrace(false)
+    static final class ChunkEvent extends Event
+    {
+        @Label("Element Type")
+        String elementType;
+
+        @Label("Unit")
+        String unit;
+
+        @Label("Amount")
+        long amount;
+
+        @Label("Depth")
+        @Description("The number of times that the spliterator had been split, or zero if there was none")
+        int depth;
+
+        @Label("Size")
+        long size;
+
+        @Label("Elements")
+        @Description("The number of elements that were produced")
+        long elements;
+    }
+}
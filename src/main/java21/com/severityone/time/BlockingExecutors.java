@@ -0,0 +1,24 @@
+package com.severityone.time;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the default executor for tasks that block on I/O, such as the actions of
+ * {@link TemporalRange#parallelForEach(int, java.util.function.Consumer)}. This version, for Java 21 and later,
+ * starts a virtual thread for every task, so that blocking tasks do not tie up platform threads.
+ */
+final class BlockingExecutors
+{
+    private static final Executor DEFAULT =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("time-ext-blocking-", 0).factory());
+
+    private BlockingExecutors()
+    {
+    }
+
+    static Executor defaultExecutor()
+    {
+        return DEFAULT;
+    }
+}
@@ -0,0 +1,125 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class BinaryCodecTest
+{
+    private static final LocalDate DATE = LocalDate.of(2019, Month.MARCH, 31);
+
+    @Test
+    public void testSortedTimings() throws IOException
+    {
+        final List<Timing> timings = new ArrayList<>();
+        for (int index = 0; index < 1000; index++)
+            timings.add(Timing.of(DATE.plusDays(index / 10),
+                                  SimpleLocalTIme.ofMinuteOfDay(index * 17 % 1440 / 10 * 10 + index % 10),
+                                  TimingType.values()[index % 2]));
+        timings.sort((first, second) -> Long.compare(first.toPacked(), second.toPacked()));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeSortedTimings(new DataOutputStream(bytes), timings);
+        assertTrue(bytes.size() < timings.size() * 3);
+        final List<Timing> read = BinaryCodec.readSortedTimings(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(packed(timings), packed(read));
+
+        final ByteBuffer buffer = ByteBuffer.allocate(bytes.size());
+        BinaryCodec.putSortedTimings(buffer, timings).flip();
+        assertArrayEquals(bytes.toByteArray(), buffer.array());
+        assertEquals(packed(timings), packed(BinaryCodec.getSortedTimings(buffer)));
+
+        final List<Timing> unsorted = Arrays.asList(timings.get(1), timings.get(0));
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.putSortedTimings(ByteBuffer.allocate(64), unsorted));
+    }
+
+    @Test
+    public void testSortedTimes() throws IOException
+    {
+        final List<SimpleLocalTIme> times = Arrays.asList(SimpleLocalTIme.MIDNIGHT, SimpleLocalTIme.of(8, 30),
+                                                          SimpleLocalTIme.of(8, 30), SimpleLocalTIme.MAX);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCodec.writeSortedTimes(new DataOutputStream(bytes), times);
+        final List<SimpleLocalTIme> read = BinaryCodec.readSortedTimes(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(times, read);
+        assertSame(times.get(1), read.get(1));
+
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        BinaryCodec.putSortedTimes(buffer, times).flip();
+        assertEquals(times, BinaryCodec.getSortedTimes(buffer));
+    }
+
+    @Test
+    public void testCorruptBuffers()
+    {
+        // a delta past the end of the day, and deltas that overflow past the largest timing
+        final ByteBuffer times = ByteBuffer.allocate(16);
+        BinaryCodec.putVarLong(BinaryCodec.putVarLong(times, 1), 24 * 60).flip();
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.getSortedTimes(times));
+
+        final ByteBuffer timings = ByteBuffer.allocate(32);
+        BinaryCodec.putVarLong(BinaryCodec.putVarLong(BinaryCodec.putVarLong(timings, 2), 0), Long.MAX_VALUE).flip();
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.getSortedTimings(timings));
+    }
+
+    @Test
+    public void testRanges() throws IOException
+    {
+        final List<TemporalRange<?>> ranges = Arrays.asList(
+                LocalDateRange.of(DATE, DATE.plusYears(1)),
+                new TemporalRange<>(DATE, DATE.minusMonths(5), -2, ChronoUnit.WEEKS),
+                LocalDateRange.of(DATE, DATE.plusYears(1)).everyNth(7).reversed(),
+                new TemporalRange<>(DATE.withDayOfMonth(31), DATE.plusYears(2), 1, ChronoUnit.MONTHS).subRange(1, 13).everyNth(2),
+                new TemporalRange<>(DATE.atTime(12, 0, 30), DATE.plusDays(2).atStartOfDay(), 90, ChronoUnit.MINUTES),
+                new TemporalRange<>(Instant.ofEpochSecond(-10, 5), Instant.ofEpochSecond(10), 3, ChronoUnit.SECONDS),
+                SimpleLocalTImeRange.of(SimpleLocalTIme.of(8, 0), SimpleLocalTIme.of(17, 30), 15),
+                SimpleLocalTImeRange.of(SimpleLocalTIme.of(22, 0), SimpleLocalTIme.of(2, 0), 10).reversed());
+        for (final TemporalRange<?> range : ranges)
+        {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BinaryCodec.writeRange(new DataOutputStream(bytes), range);
+            final TemporalRange<?> read = BinaryCodec.readRange(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            assertEquals(range.getClass(), read.getClass());
+            assertEquals(range.stream().collect(Collectors.toList()), read.stream().collect(Collectors.toList()));
+
+            final ByteBuffer buffer = ByteBuffer.allocate(64);
+            BinaryCodec.putRange(buffer, range).flip();
+            assertEquals(range.stream().collect(Collectors.toList()),
+                         BinaryCodec.getRange(buffer).stream().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testSerializationProxy() throws IOException, ClassNotFoundException
+    {
+        final Timing timing = Timing.of(DATE, SimpleLocalTIme.of(23, 59), TimingType.END_TIME);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream output = new ObjectOutputStream(bytes))
+        {
+            output.writeObject(timing);
+        }
+        assertTrue(bytes.size() < 64, "serialized size " + bytes.size());
+        try (final ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            final Timing read = (Timing) input.readObject();
+            assertEquals(timing.toPacked(), read.toPacked());
+            assertSame(timing.getTime(), read.getTime());
+        }
+    }
+
+    private static List<Long> packed(final List<Timing> timings)
+    {
+        return timings.stream().map(Timing::toPacked).collect(Collectors.toList());
+    }
+}
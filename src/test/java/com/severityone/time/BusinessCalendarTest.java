@@ -0,0 +1,98 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+public class BusinessCalendarTest
+{
+    private static final LocalDate START = LocalDate.of(2019, Month.DECEMBER, 30);
+    private static final LocalDate END = LocalDate.of(2023, Month.JANUARY, 3);
+
+    @Test
+    public void testAgainstDayByDay()
+    {
+        final SplittableRandom random = new SplittableRandom(5);
+        final Set<LocalDate> holidays = new HashSet<>();
+        final BusinessCalendar.Builder builder = BusinessCalendar.builder(LocalDateRange.of(START, END));
+        for (int index = 0; index < 40; index++)
+        {
+            final LocalDate holiday = START.plusDays(random.nextInt(1100));
+            holidays.add(holiday);
+            builder.holiday(holiday);
+        }
+        final BusinessCalendar calendar = builder.build();
+
+        for (int query = 0; query < 200; query++)
+        {
+            final LocalDate from = START.plusDays(random.nextInt(1000));
+            final LocalDate to = from.plusDays(random.nextInt(1, 100));
+            final LocalDateRange range = LocalDateRange.of(from, to);
+            final List<LocalDate> expected = range.stream()
+                                                  .filter(date -> isBusinessDay(date, holidays))
+                                                  .collect(Collectors.toList());
+            assertEquals(expected.size(), calendar.countBusinessDays(range));
+            assertEquals(expected, calendar.businessDays(range).collect(Collectors.toList()));
+            assertEquals(expected, calendar.businessDays(range).parallel().collect(Collectors.toList()));
+            assertEquals(isBusinessDay(from, holidays), calendar.isBusinessDay(from));
+
+            final int days = random.nextInt(1, 40);
+            LocalDate date = from;
+            for (int count = 0; count < days; )
+            {
+                date = date.plusDays(1);
+                if (isBusinessDay(date, holidays))
+                    count++;
+            }
+            assertEquals(date, calendar.nthBusinessDayAfter(from, days));
+            if (from.isAfter(START.plusDays(100)))
+                assertEquals(previous(to, days, holidays), calendar.nthBusinessDayAfter(to, -days));
+        }
+    }
+
+    @Test
+    public void testWeekendAndWindow()
+    {
+        final BusinessCalendar calendar = BusinessCalendar.builder(LocalDateRange.of(START, END))
+                                                          .weekend(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY)
+                                                          .build();
+        final LocalDate friday = LocalDate.of(2020, Month.JANUARY, 3);
+        assertFalse(calendar.isBusinessDay(friday));
+        assertTrue(calendar.isBusinessDay(friday.plusDays(2)));
+        assertEquals(friday.plusDays(2), calendar.nthBusinessDayAfter(friday.minusDays(1), 1));
+        assertSame(friday, calendar.nthBusinessDayAfter(friday, 0));
+        assertThrows(DateTimeException.class, () -> calendar.isBusinessDay(END));
+        assertThrows(DateTimeException.class, () -> calendar.nthBusinessDayAfter(END.minusDays(1), 5));
+        assertThrows(DateTimeException.class,
+                     () -> calendar.countBusinessDays(LocalDateRange.of(START.minusDays(1), START.plusDays(1))));
+    }
+
+    private static LocalDate previous(final LocalDate from, final int days, final Set<LocalDate> holidays)
+    {
+        LocalDate date = from;
+        for (int count = 0; count < days; )
+        {
+            date = date.minusDays(1);
+            if (isBusinessDay(date, holidays))
+                count++;
+        }
+        return date;
+    }
+
+    private static boolean isBusinessDay(final LocalDate date, final Set<LocalDate> holidays)
+    {
+        return date.getDayOfWeek() != DayOfWeek.SATURDAY &&
+               date.getDayOfWeek() != DayOfWeek.SUNDAY &&
+               !holidays.contains(date);
+    }
+}
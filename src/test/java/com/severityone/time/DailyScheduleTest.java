@@ -0,0 +1,101 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+public class DailyScheduleTest
+{
+    private static final LocalDate DATE = LocalDate.of(2020, Month.FEBRUARY, 29);
+
+    @Test
+    public void testSetOperations()
+    {
+        final SplittableRandom random = new SplittableRandom(9);
+        for (int round = 0; round < 100; round++)
+        {
+            final DailySchedule first = randomSchedule(random);
+            final DailySchedule second = randomSchedule(random);
+            final DailySchedule union = first.union(second);
+            final DailySchedule intersection = first.intersect(second);
+            final DailySchedule complement = first.complement();
+            int open = 0;
+            for (int minute = 0; minute < 1440; minute++)
+            {
+                final SimpleLocalTIme time = SimpleLocalTIme.ofMinuteOfDay(minute);
+                assertEquals(first.contains(time) || second.contains(time), union.contains(time));
+                assertEquals(first.contains(time) && second.contains(time), intersection.contains(time));
+                assertEquals(!first.contains(time), complement.contains(time));
+                if (first.contains(time))
+                    open++;
+                assertEquals(naiveNext(first, minute, true), first.nextOpen(time));
+                assertEquals(naiveNext(first, minute, false), first.nextClose(time));
+            }
+            assertEquals(open, first.openMinutes());
+            assertEquals(1440 - open, complement.openMinutes());
+            assertEquals(first, complement.complement());
+        }
+    }
+
+    @Test
+    public void testWrapAround()
+    {
+        final DailySchedule night = DailySchedule.of(SimpleLocalTIme.of(22, 0), SimpleLocalTIme.of(6, 0));
+        assertEquals(480, night.openMinutes());
+        assertTrue(night.contains(SimpleLocalTIme.MIDNIGHT));
+        assertFalse(night.contains(SimpleLocalTIme.NOON));
+        assertSame(SimpleLocalTIme.of(22, 0), night.nextOpen(SimpleLocalTIme.NOON));
+        assertSame(SimpleLocalTIme.of(6, 0), night.nextClose(SimpleLocalTIme.of(23, 0)));
+        assertEquals("[22:00/06:00]", night.toString());
+        assertEquals("[00:00/00:00]", DailySchedule.of(SimpleLocalTIme.NOON, SimpleLocalTIme.NOON).toString());
+        assertNull(DailySchedule.always().nextClose(SimpleLocalTIme.NOON));
+        assertNull(DailySchedule.never().nextOpen(SimpleLocalTIme.NOON));
+        assertEquals(DailySchedule.always(), night.union(night.complement()));
+    }
+
+    @Test
+    public void testOpenIntervals()
+    {
+        final DailySchedule schedule = DailySchedule.of(SimpleLocalTIme.of(22, 0), SimpleLocalTIme.of(6, 0))
+                                                    .union(DailySchedule.of(SimpleLocalTIme.of(12, 0),
+                                                                            SimpleLocalTIme.of(13, 0)));
+        final List<String> intervals = schedule.openIntervals(LocalDateRange.of(DATE, DATE.plusDays(2)))
+                                               .map(TimingInterval::toString)
+                                               .collect(Collectors.toList());
+        assertEquals(Arrays.asList("2020-02-29T00:00/2020-02-29T06:00",
+                                    "2020-02-29T12:00/2020-02-29T13:00",
+                                    "2020-02-29T22:00/2020-03-01T06:00",
+                                    "2020-03-01T12:00/2020-03-01T13:00",
+                                    "2020-03-01T22:00/2020-03-02T00:00"),
+                     intervals);
+        assertEquals(1, DailySchedule.always().openIntervals(LocalDateRange.of(DATE, DATE.plusDays(30))).count());
+        assertEquals(0, DailySchedule.never().openIntervals(LocalDateRange.of(DATE, DATE.plusDays(30))).count());
+    }
+
+    private static SimpleLocalTIme naiveNext(final DailySchedule schedule, final int from, final boolean open)
+    {
+        for (int offset = 0; offset < 1440; offset++)
+        {
+            final SimpleLocalTIme time = SimpleLocalTIme.ofMinuteOfDay((from + offset) % 1440);
+            if (schedule.contains(time) == open)
+                return time;
+        }
+        return null;
+    }
+
+    private static DailySchedule randomSchedule(final SplittableRandom random)
+    {
+        DailySchedule schedule = DailySchedule.never();
+        for (int index = random.nextInt(4); index > 0; index--)
+            schedule = schedule.union(DailySchedule.of(SimpleLocalTIme.ofMinuteOfDay(random.nextInt(1440)),
+                                                       SimpleLocalTIme.ofMinuteOfDay(random.nextInt(1440))));
+        return schedule;
+    }
+}
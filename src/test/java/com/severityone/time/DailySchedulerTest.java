@@ -0,0 +1,147 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DailySchedulerTest
+{
+    private static final ZoneId ZONE = ZoneId.of("Europe/Amsterdam");
+
+    @Test
+    public void testDailyRuns()
+    {
+        final MutableClock clock = new MutableClock(LocalDateTime.of(2021, Month.JUNE, 1, 8, 0));
+        final DailyScheduler scheduler = DailyScheduler.builder().clock(clock).executor(Runnable::run).build();
+        final List<String> runs = new ArrayList<>();
+        scheduler.schedule(SimpleLocalTIme.of(9, 0), () -> runs.add("daily " + clock.now()));
+        final LocalDate firstDate = LocalDate.of(2021, Month.JUNE, 2);
+        final DailyScheduler.Registration limited =
+                scheduler.schedule(SimpleLocalTIme.of(9, 0), LocalDateRange.of(firstDate, firstDate.plusDays(2)),
+                                   () -> runs.add("limited " + clock.now()));
+        final DailyScheduler.Registration cancelled =
+                scheduler.schedule(SimpleLocalTIme.of(10, 0), () -> runs.add("cancelled"));
+        assertEquals(3, scheduler.size());
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+
+        for (int minute = 0; minute < 5 * 24 * 60; minute++)
+        {
+            clock.advance(Duration.ofMinutes(1));
+            scheduler.tick();
+        }
+        assertEquals(7, runs.size());
+        assertEquals("daily 2021-06-01T09:00", runs.get(0));
+        assertEquals("limited 2021-06-02T09:00", runs.get(2));
+        assertEquals("limited 2021-06-03T09:00", runs.get(4));
+        assertFalse(limited.isActive());
+        assertEquals(1, scheduler.size());
+
+        // falling behind by a few hours catches up on the missed minutes
+        clock.advance(Duration.ofHours(3));
+        scheduler.tick();
+        assertEquals("daily 2021-06-06T11:00", runs.get(runs.size() - 1));
+
+        // starting does not catch up on the minutes before the scheduler was started
+        final int count = runs.size();
+        clock.advance(Duration.ofHours(23));
+        scheduler.start();
+        scheduler.close();
+        scheduler.tick();
+        assertEquals(count, runs.size());
+    }
+
+    @Test
+    public void testDaylightSavingTime()
+    {
+        final MutableClock clock = new MutableClock(LocalDateTime.of(2021, Month.MARCH, 27, 12, 0));
+        final DailyScheduler scheduler = DailyScheduler.builder().clock(clock).executor(Runnable::run).build();
+        final List<String> runs = new ArrayList<>();
+        scheduler.schedule(SimpleLocalTIme.of(2, 30), () -> runs.add(clock.now().toString()));
+
+        // 2021-03-28 02:00 does not exist, so the task runs at 03:00
+        for (int minute = 0; minute < 24 * 60; minute++)
+        {
+            clock.advance(Duration.ofMinutes(1));
+            scheduler.tick();
+        }
+        assertEquals(1, runs.size());
+        assertEquals("2021-03-28T03:00", runs.get(0));
+
+        // 2021-10-31 02:00 to 03:00 occurs twice, but the task runs only once
+        runs.clear();
+        clock.set(LocalDateTime.of(2021, Month.OCTOBER, 30, 12, 0));
+        scheduler.tick();
+        runs.clear();
+        for (int minute = 0; minute < 25 * 60; minute++)
+        {
+            clock.advance(Duration.ofMinutes(1));
+            scheduler.tick();
+        }
+        assertEquals(1, runs.size());
+        assertEquals("2021-10-31T02:30", runs.get(0));
+    }
+
+    @Test
+    public void testStartAndClose()
+    {
+        final DailyScheduler scheduler = DailyScheduler.builder().executor(Runnable::run).build();
+        scheduler.start();
+        scheduler.start();
+        scheduler.close();
+        scheduler.close();
+    }
+
+    private static final class MutableClock extends Clock
+    {
+        private Instant instant;
+
+        MutableClock(final LocalDateTime dateTime)
+        {
+            set(dateTime);
+        }
+
+        void set(final LocalDateTime dateTime)
+        {
+            instant = dateTime.atZone(ZONE).toInstant();
+        }
+
+        void advance(final Duration duration)
+        {
+            instant = instant.plus(duration);
+        }
+
+        LocalDateTime now()
+        {
+            return LocalDateTime.ofInstant(instant, ZONE);
+        }
+
+        @Override
+        public ZoneId getZone()
+        {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant()
+        {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class LocalDateRangeSetTest
+{
+    private static final LocalDate DATE = LocalDate.of(2020, Month.FEBRUARY, 29);
+
+    @Test
+    public void testSetAlgebra()
+    {
+        final SplittableRandom random = new SplittableRandom(3);
+        for (int round = 0; round < 20; round++)
+        {
+            final BitSet firstDays = new BitSet();
+            final BitSet secondDays = new BitSet();
+            final LocalDateRangeSet first = randomSet(random, firstDays);
+            final LocalDateRangeSet second = randomSet(random, secondDays);
+
+            assertSet(firstDays, first);
+            final BitSet union = (BitSet) firstDays.clone();
+            union.or(secondDays);
+            assertSet(union, first.union(second));
+            final BitSet intersection = (BitSet) firstDays.clone();
+            intersection.and(secondDays);
+            assertSet(intersection, first.intersection(second));
+            final BitSet difference = (BitSet) firstDays.clone();
+            difference.andNot(secondDays);
+            assertSet(difference, first.difference(second));
+
+            final BitSet gaps = new BitSet();
+            if (!firstDays.isEmpty())
+                gaps.set(firstDays.nextSetBit(0), firstDays.length());
+            gaps.andNot(firstDays);
+            assertSet(gaps, first.gaps());
+        }
+    }
+
+    @Test
+    public void testCoalesceAndContains()
+    {
+        final LocalDateRangeSet set = LocalDateRangeSet.of(LocalDateRange.of(DATE, DATE.plusDays(3)),
+                                                           LocalDateRange.of(DATE.plusDays(3), DATE.plusDays(5)),
+                                                           LocalDateRange.of(DATE.plusDays(7), DATE.plusDays(8)),
+                                                           LocalDateRange.of(DATE.plusDays(1), DATE.plusDays(2)));
+        assertEquals(2, set.rangeCount());
+        assertEquals(6, set.totalDays());
+        assertTrue(set.contains(DATE));
+        assertTrue(set.contains(DATE.plusDays(4)));
+        assertFalse(set.contains(DATE.plusDays(5)));
+        assertTrue(set.contains(DATE.plusDays(7)));
+        assertFalse(set.contains(DATE.minusDays(1)));
+        assertEquals("[2020-02-29/2020-03-05, 2020-03-07/2020-03-08]", set.toString());
+        assertSame(set, set.coalesce(1));
+        assertEquals(LocalDateRangeSet.of(LocalDateRange.of(DATE, DATE.plusDays(8))), set.coalesce(2));
+        assertEquals(5, set.iterator().next().stream().count());
+    }
+
+    private static LocalDateRangeSet randomSet(final SplittableRandom random, final BitSet days)
+    {
+        final List<LocalDateRange> ranges = new ArrayList<>();
+        for (int index = random.nextInt(50); index > 0; index--)
+        {
+            final int start = random.nextInt(1000);
+            final int length = random.nextInt(1, 40);
+            ranges.add(LocalDateRange.of(DATE.plusDays(start), DATE.plusDays(start + length)));
+            days.set(start, start + length);
+        }
+        return LocalDateRangeSet.of(ranges);
+    }
+
+    private static void assertSet(final BitSet expected, final LocalDateRangeSet actual)
+    {
+        final BitSet days = new BitSet();
+        LocalDate previousEnd = null;
+        for (final LocalDateRange range : actual)
+        {
+            final LocalDate start = range.stream().findFirst().get();
+            if (previousEnd != null)
+                assertTrue(previousEnd.isBefore(start), "ranges are not disjoint and non-adjacent");
+            range.stream().forEach(date -> days.set((int) (date.toEpochDay() - DATE.toEpochDay())));
+            previousEnd = start.plusDays(range.stream().count());
+        }
+        assertEquals(expected, days);
+        assertEquals(expected.cardinality(), actual.totalDays());
+        for (int day = -5; day < 1050; day++)
+            assertEquals(expected.get(Math.max(day, 0)) && day >= 0, actual.contains(DATE.plusDays(day)));
+    }
+}
@@ -7,9 +7,11 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.Spliterator;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.StreamSupport;
 
 public class LocalDateRangeTest
@@ -51,6 +53,53 @@ public class LocalDateRangeTest
         assertEquals(expected, actual.get());
     }
 
+    @Test
+    public void testEpochDays()
+    {
+        final LocalDate startDate = LocalDate.of(2019, Month.JANUARY, 1);
+        final LocalDate endDate = startDate.plusYears(5);
+        final LocalDateRange range = LocalDateRange.of(startDate, endDate);
+
+        final long[] expected = range.stream().mapToLong(LocalDate::toEpochDay).toArray();
+        assertArrayEquals(expected, range.epochDays().toArray());
+        assertArrayEquals(expected, range.parallelEpochDays().toArray());
+
+        final long[] filled = new long[expected.length + 1];
+        assertEquals(expected.length + 1, range.fillEpochDays(filled, 1));
+        assertArrayEquals(expected, Arrays.copyOfRange(filled, 1, filled.length));
+        assertThrows(IndexOutOfBoundsException.class, () -> range.fillEpochDays(filled, 2));
+
+        final AtomicLong actual = new AtomicLong(0);
+        range.forEachEpochDay(actual::addAndGet);
+        assertEquals(LongStream.of(expected).sum(), actual.get());
+
+        final Spliterator.OfLong spliterator = range.epochDays().spliterator();
+        final Spliterator.OfLong prefix = spliterator.trySplit();
+        assertEquals(expected.length / 2, prefix.getExactSizeIfKnown());
+        assertTrue(spliterator.tryAdvance((long epochDay) -> assertEquals(expected[expected.length / 2], epochDay)));
+    }
+
+    @Test
+    public void testViews()
+    {
+        final LocalDate startDate = LocalDate.of(2019, Month.JANUARY, 1);
+        final LocalDateRange range = LocalDateRange.of(startDate, startDate.plusDays(100));
+
+        final LocalDateRange reversed = range.subRange(10, 40).reversed();
+        assertEquals(startDate.plusDays(39), reversed.first());
+        assertArrayEquals(LongStream.range(10, 40).map(day -> startDate.toEpochDay() + 39 - day + 10).toArray(),
+                          reversed.parallelEpochDays().toArray());
+        assertEquals(startDate.toEpochDay() + 10, reversed.getMinEpochDay());
+        assertEquals(startDate.toEpochDay() + 40, reversed.getMaxEpochDayExclusive());
+
+        final LocalDateRange weekly = range.everyNth(7).tailRange(startDate.plusDays(10));
+        assertEquals(startDate.plusDays(14), weekly.first());
+        assertEquals(13, weekly.size());
+        assertArrayEquals(weekly.stream().mapToLong(LocalDate::toEpochDay).toArray(), weekly.epochDays().toArray());
+        assertThrows(IllegalArgumentException.class, weekly::getMinEpochDay);
+        assertEquals(10, LocalDateRangeSet.of(reversed, weekly).rangeCount());
+    }
+
     @Test
     public void testNullCheck() {
         assertThrows(NullPointerException.class, () -> LocalDateRange.of(null, null));
@@ -0,0 +1,73 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MinuteClockTest
+{
+    private static final ZoneId ZONE = ZoneId.of("Europe/Amsterdam");
+
+    @Test
+    public void testMinutes()
+    {
+        final AtomicLong millis = new AtomicLong(LocalDateTime.of(2021, Month.MARCH, 28, 1, 58, 30)
+                                                              .atZone(ZONE).toInstant().toEpochMilli());
+        final MinuteClock clock = new MinuteClock(ZONE, millis::get);
+        assertEquals(SimpleLocalTIme.of(1, 58), clock.time());
+        final LocalDate date = clock.date();
+        assertEquals(LocalDate.of(2021, Month.MARCH, 28), date);
+
+        millis.addAndGet(29_999);
+        assertSame(date, clock.date());
+        assertEquals(SimpleLocalTIme.of(1, 58), clock.time());
+
+        // 02:00 does not exist
+        millis.addAndGet(1);
+        assertEquals(SimpleLocalTIme.of(1, 59), clock.time());
+        millis.addAndGet(60_000);
+        assertEquals(SimpleLocalTIme.of(3, 0), clock.time());
+
+        // going back in time is noticed, too
+        millis.addAndGet(-86_400_000);
+        assertEquals(SimpleLocalTIme.of(2, 0), clock.time());
+        assertEquals(LocalDate.of(2021, Month.MARCH, 27), clock.date());
+    }
+
+    @Test
+    public void testAgainstInstants()
+    {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (final ZoneId zone : new ZoneId[]{ZONE, ZoneId.of("Asia/Kathmandu"), ZoneOffset.ofHours(-3), ZoneOffset.UTC})
+        {
+            final AtomicLong millis = new AtomicLong();
+            final MinuteClock clock = new MinuteClock(zone, millis::get);
+            for (int count = 0; count < 2000; count++)
+            {
+                millis.addAndGet(random.nextLong(-3_600_000L, 30L * 86_400_000));
+                final Instant instant = Instant.ofEpochMilli(millis.get());
+                assertEquals(SimpleLocalTIme.ofInstant(instant, zone), clock.time());
+                assertEquals(LocalDateTime.ofInstant(instant, zone).toLocalDate(), clock.date());
+            }
+        }
+    }
+
+    @Test
+    public void testShared()
+    {
+        assertSame(MinuteClock.of(ZONE), MinuteClock.of(ZoneId.of("Europe/Amsterdam")));
+        assertSame(MinuteClock.systemDefaultZone(), MinuteClock.of(ZoneId.systemDefault()));
+        assertEquals(MinuteClock.of(ZONE).getZone(), ZONE);
+        assertNotNull(SimpleLocalTIme.now());
+        assertNotNull(SimpleLocalTIme.now(ZONE));
+    }
+}
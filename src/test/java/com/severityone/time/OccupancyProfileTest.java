@@ -0,0 +1,102 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+public class OccupancyProfileTest
+{
+    private static final LocalDate DATE = LocalDate.of(2020, Month.FEBRUARY, 28);
+
+    @Test
+    public void testProfile()
+    {
+        final List<Timing> timings = new ArrayList<>();
+        add(timings, DATE, SimpleLocalTIme.of(9, 0), DATE, SimpleLocalTIme.of(17, 0));
+        add(timings, DATE, SimpleLocalTIme.of(12, 0), DATE, SimpleLocalTIme.of(13, 0));
+        add(timings, DATE, SimpleLocalTIme.of(22, 0), DATE.plusDays(3), SimpleLocalTIme.of(2, 0));
+        Collections.shuffle(timings);
+
+        final OccupancyProfile profile = timings.stream().collect(OccupancyProfile.collector());
+        assertEquals(DATE, profile.getDates().first());
+        assertEquals(4, profile.getDates().size());
+        assertEquals(0, profile.countAt(DATE, SimpleLocalTIme.of(8, 59)));
+        assertEquals(1, profile.countAt(DATE, SimpleLocalTIme.of(9, 0)));
+        assertEquals(2, profile.countAt(DATE, SimpleLocalTIme.of(12, 30)));
+        assertEquals(1, profile.countAt(DATE, SimpleLocalTIme.of(13, 0)));
+        assertEquals(1, profile.countAt(DATE.plusDays(1), SimpleLocalTIme.of(12, 0)));
+        assertEquals(0, profile.countAt(DATE.plusDays(3), SimpleLocalTIme.of(2, 0)));
+        assertEquals(0, profile.countAt(DATE.minusDays(1), SimpleLocalTIme.of(12, 0)));
+        assertEquals(0, profile.countAt(DATE.plusYears(1), SimpleLocalTIme.of(12, 0)));
+
+        assertEquals(2, profile.peak());
+        assertEquals(2, profile.peak(DATE));
+        assertEquals(1, profile.peak(DATE.plusDays(2)));
+        assertEquals(60, profile.minutesAbove(DATE, 1));
+        assertEquals(60, profile.minutesAbove(1));
+        assertEquals(1440, profile.minutesAbove(DATE.plusDays(1), 0));
+        assertEquals(8 * 60 + 2 * 60 + 2 * 1440 + 2 * 60, profile.minutesAbove(0));
+        assertEquals(1440, profile.countsOn(DATE).length);
+
+        final OccupancyProfile open = timings.subList(0, 1).stream().collect(OccupancyProfile.collector());
+        final int expected = timings.get(0).getTimingType() == TimingType.START_TIME ? 1 : -1;
+        assertEquals(expected, open.countAt(timings.get(0).plusDays(10)));
+
+        final OccupancyProfile empty = new ArrayList<Timing>().stream().collect(OccupancyProfile.collector());
+        assertTrue(empty.getDates().isEmpty());
+        assertEquals(0, empty.peak());
+    }
+
+    @Test
+    public void testParallel()
+    {
+        final SplittableRandom random = new SplittableRandom(7);
+        final List<Timing> timings = new ArrayList<>();
+        final long first = DATE.toEpochDay() * 24 * 60;
+        final Map<Long, Integer> expected = new HashMap<>();
+        for (int interval = 0; interval < 2000; interval++)
+        {
+            final long start = first + random.nextInt(60 * 24 * 60);
+            final long end = start + random.nextInt(3 * 24 * 60);
+            timings.add(Timing.ofEpochMinute(start, TimingType.START_TIME));
+            timings.add(Timing.ofEpochMinute(end, TimingType.END_TIME));
+            for (long minute = start; minute < end; minute++)
+                expected.merge(minute, 1, Integer::sum);
+        }
+        Collections.shuffle(timings, new Random(7));
+
+        final OccupancyProfile sequential = timings.stream().collect(OccupancyProfile.collector());
+        final OccupancyProfile parallel = timings.parallelStream().collect(OccupancyProfile.collector());
+        final OccupancyProfile packed = OccupancyProfile.ofPacked(timings.parallelStream()
+                                                                         .mapToLong(Timing::toPacked));
+        int peak = 0;
+        for (long minute = first; minute < first + 64 * 24 * 60; minute++)
+        {
+            final Timing timing = Timing.ofEpochMinute(minute, TimingType.START_TIME);
+            final int count = expected.getOrDefault(minute, 0);
+            assertEquals(count, sequential.countAt(timing));
+            assertEquals(count, parallel.countAt(timing));
+            assertEquals(count, packed.countAt(timing));
+            peak = Math.max(peak, count);
+        }
+        assertEquals(peak, parallel.peak());
+        assertEquals(expected.values().stream().filter(count -> count > 3).count(), parallel.minutesAbove(3));
+    }
+
+    private static void add(final List<Timing> timings, final LocalDate startDate, final SimpleLocalTIme startTime,
+                            final LocalDate endDate, final SimpleLocalTIme endTime)
+    {
+        timings.add(Timing.of(startDate, startTime, TimingType.START_TIME));
+        timings.add(Timing.of(endDate, endTime, TimingType.END_TIME));
+    }
+}
@@ -0,0 +1,92 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+public class SimpleLocalTImeRangeTest
+{
+    private static final SimpleLocalTIme NIGHT = SimpleLocalTIme.of(22, 0);
+    private static final SimpleLocalTIme MORNING = SimpleLocalTIme.of(2, 0);
+
+    @Test
+    public void testWrapAround()
+    {
+        final SimpleLocalTImeRange range = SimpleLocalTImeRange.of(NIGHT, MORNING, 15);
+        final List<SimpleLocalTIme> expected = new ArrayList<>();
+        for (int minute = 22 * 60; minute < 26 * 60; minute += 15)
+            expected.add(SimpleLocalTIme.ofMinuteOfDay(minute % (24 * 60)));
+        assertEquals(expected, range.stream().collect(Collectors.toList()));
+        assertEquals(expected, range.parallelStream().collect(Collectors.toList()));
+        assertArrayEquals(expected.stream().mapToInt(SimpleLocalTIme::toMinuteOfDay).toArray(),
+                          range.minutesOfDay().parallel().toArray());
+        final int[] minutes = new int[expected.size()];
+        assertEquals(minutes.length, range.fillMinutesOfDay(minutes, 0));
+        assertArrayEquals(range.minutesOfDay().toArray(), minutes);
+        assertSame(expected.get(10), range.get(10));
+        assertFalse(range.spliterator().hasCharacteristics(Spliterator.SORTED));
+        assertFalse(range.minutesOfDay().spliterator().hasCharacteristics(Spliterator.SORTED));
+
+        assertEquals(1440, SimpleLocalTImeRange.of(NIGHT, NIGHT).size());
+        assertEquals(Arrays.asList(NIGHT, MORNING), SimpleLocalTImeRange.of(NIGHT, SimpleLocalTIme.of(2, 1), 240).asList());
+        assertTrue(SimpleLocalTImeRange.of(MORNING, NIGHT, 5).spliterator().hasCharacteristics(Spliterator.SORTED));
+        assertThrows(IllegalArgumentException.class, () -> SimpleLocalTImeRange.of(NIGHT, MORNING, 0));
+    }
+
+    @Test
+    public void testLookups()
+    {
+        final List<SimpleLocalTImeRange> ranges = Arrays.asList(
+                SimpleLocalTImeRange.of(NIGHT, MORNING, 15),
+                SimpleLocalTImeRange.of(NIGHT, MORNING, 7).reversed(),
+                SimpleLocalTImeRange.of(MORNING, NIGHT, 60).everyNth(2),
+                SimpleLocalTImeRange.of(SimpleLocalTIme.of(23, 50), SimpleLocalTIme.of(0, 20)).subRange(5, 25),
+                SimpleLocalTImeRange.of(SimpleLocalTIme.of(8, 0), SimpleLocalTIme.of(12, 0)),
+                SimpleLocalTImeRange.of(SimpleLocalTIme.of(8, 0), SimpleLocalTIme.of(12, 0), 7).reversed());
+        for (final SimpleLocalTImeRange range : ranges)
+        {
+            final List<SimpleLocalTIme> expected = range.stream().collect(Collectors.toList());
+            final List<SimpleLocalTIme> sorted = new ArrayList<>(expected);
+            sorted.sort(null);
+            final List<SimpleLocalTIme> descending = new ArrayList<>(sorted);
+            Collections.reverse(descending);
+            final int first = expected.get(0).toMinuteOfDay();
+            final int direction = expected.size() < 2 ||
+                                  Math.floorMod(expected.get(1).toMinuteOfDay() - first, 24 * 60) < 12 * 60 ? 1 : -1;
+            for (int minute = 0; minute < 24 * 60; minute++)
+            {
+                final SimpleLocalTIme value = SimpleLocalTIme.ofMinuteOfDay(minute);
+                final int index = expected.indexOf(value);
+                assertEquals(index, range.indexOf(value));
+                assertEquals(index >= 0, range.contains(value));
+                assertEquals(sorted.stream().filter(element -> !element.isAfter(value)).reduce((a, b) -> b).orElse(null),
+                             range.floor(value));
+                assertEquals(sorted.stream().filter(element -> !element.isBefore(value)).findFirst().orElse(null),
+                             range.ceiling(value));
+                // a range in natural order is split by comparison, one that wraps around by going around the clock
+                final int before;
+                if (expected.equals(direction > 0 ? sorted : descending))
+                    before = (int) expected.stream().filter(element -> direction * element.compareTo(value) < 0).count();
+                else
+                {
+                    final int offset = Math.floorMod((minute - first) * direction, 24 * 60);
+                    before = (int) expected.stream()
+                                           .filter(element -> Math.floorMod((element.toMinuteOfDay() - first) *
+                                                                            direction, 24 * 60) < offset)
+                                           .count();
+                }
+                if (index >= 0)
+                    assertEquals(index, before);
+                assertEquals(expected.subList(0, before), range.headRange(value).asList());
+                assertEquals(expected.subList(before, expected.size()), range.tailRange(value).asList());
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+public class SimpleLocalTImeTest
+{
+    @Test
+    public void testCanonicalInstances()
+    {
+        for (int minuteOfDay = 0; minuteOfDay < 24 * 60; minuteOfDay++)
+        {
+            final SimpleLocalTIme time = SimpleLocalTIme.ofMinuteOfDay(minuteOfDay);
+            assertEquals(minuteOfDay, time.toMinuteOfDay());
+            assertEquals(minuteOfDay, time.get(ChronoField.MINUTE_OF_DAY));
+            assertSame(time, SimpleLocalTIme.of(minuteOfDay / 60, minuteOfDay % 60));
+            assertSame(time, SimpleLocalTIme.MIDNIGHT.plusMinutes(minuteOfDay));
+            assertSame(time, SimpleLocalTIme.MIDNIGHT.plusMinutes(minuteOfDay - 24 * 60));
+            assertSame(time, SimpleLocalTIme.from(LocalTime.of(minuteOfDay / 60, minuteOfDay % 60, 59)));
+            assertSame(time, SimpleLocalTIme.MIDNIGHT.withHour(minuteOfDay / 60).withMinute(minuteOfDay % 60));
+        }
+        assertSame(SimpleLocalTIme.MAX, SimpleLocalTIme.of(23, 59));
+        assertSame(SimpleLocalTIme.NOON, SimpleLocalTIme.MIDNIGHT.plusHours(12));
+        assertThrows(DateTimeException.class, () -> SimpleLocalTIme.ofMinuteOfDay(24 * 60));
+        assertThrows(DateTimeException.class, () -> SimpleLocalTIme.of(12, 60));
+    }
+
+    @Test
+    public void testOfInstant()
+    {
+        final ZoneId zoneId = ZoneId.of("Europe/Amsterdam");
+        final Instant instant = Instant.parse("2019-03-31T00:59:59.999Z");
+        for (int minutes = 0; minutes < 3 * 24 * 60; minutes += 13)
+        {
+            final Instant current = instant.plusSeconds(minutes * 60L);
+            final LocalTime expected = LocalDateTime.ofInstant(current, zoneId).toLocalTime();
+            assertSame(SimpleLocalTIme.of(expected.getHour(), expected.getMinute()),
+                       SimpleLocalTIme.ofInstant(current, zoneId));
+        }
+    }
+
+    @Test
+    public void testConverter()
+    {
+        final SplittableRandom random = new SplittableRandom(1);
+        for (final ZoneId zoneId : new ZoneId[] {ZoneId.of("Europe/Amsterdam"), ZoneId.of("Australia/Lord_Howe"), ZoneOffset.ofHours(-3)})
+        {
+            final TimeOfDayConverter converter = TimeOfDayConverter.of(zoneId);
+            final long[] epochMillis = new long[10_000];
+            for (int index = 0; index < epochMillis.length; index++)
+                epochMillis[index] = random.nextLong(-2_000_000_000_000L, 4_000_000_000_000L);
+            Arrays.sort(epochMillis, 0, epochMillis.length / 2);
+
+            final short[] minutes = new short[epochMillis.length];
+            final SimpleLocalTIme[] times = new SimpleLocalTIme[epochMillis.length];
+            converter.fromEpochMillis(epochMillis, 0, minutes, 0, epochMillis.length);
+            converter.fromEpochMillis(epochMillis, 0, times, 0, epochMillis.length);
+            for (int index = 0; index < epochMillis.length; index++)
+            {
+                final Instant instant = Instant.ofEpochMilli(epochMillis[index]);
+                final SimpleLocalTIme expected = SimpleLocalTIme.ofInstant(instant, zoneId);
+                assertEquals(expected.toMinuteOfDay(), minutes[index], instant.toString());
+                assertSame(expected, times[index]);
+                assertSame(expected, converter.toSimpleLocalTIme(instant));
+                assertEquals(LocalDateTime.ofInstant(instant, zoneId).toLocalTime().getHour(), expected.getHour());
+            }
+        }
+    }
+
+    @Test
+    public void testFieldsAndUnits()
+    {
+        for (int minuteOfDay = 0; minuteOfDay < 24 * 60; minuteOfDay += 37)
+        {
+            final SimpleLocalTIme time = SimpleLocalTIme.ofMinuteOfDay(minuteOfDay);
+            final LocalTime localTime = LocalTime.of(time.getHour(), time.getMinute());
+            for (final ChronoField field : ChronoField.values())
+            {
+                if (!time.isSupported(field))
+                {
+                    assertThrows(UnsupportedTemporalTypeException.class, () -> time.get(field), field.toString());
+                    continue;
+                }
+                assertEquals(localTime.get(field), time.get(field), field.toString());
+                assertEquals(field.range(), time.range(field));
+                for (long value = field.range().getMinimum(); value <= field.range().getMaximum(); value += 5)
+                {
+                    final LocalTime expected = localTime.with(field, value);
+                    assertEquals(SimpleLocalTIme.of(expected.getHour(), expected.getMinute()), time.with(field, value),
+                                 field + " " + value);
+                }
+            }
+            for (final ChronoUnit unit : ChronoUnit.values())
+            {
+                if (!time.isSupported(unit))
+                {
+                    assertThrows(UnsupportedTemporalTypeException.class, () -> time.until(time, unit),
+                                 unit.toString());
+                    continue;
+                }
+                for (int end = 0; end < 24 * 60; end += 53)
+                {
+                    final SimpleLocalTIme endTime = SimpleLocalTIme.ofMinuteOfDay(end);
+                    assertEquals(localTime.until(LocalTime.of(endTime.getHour(), endTime.getMinute()), unit),
+                                 time.until(endTime, unit), unit + " " + endTime);
+                }
+                final LocalTime expected = localTime.plus(3, unit);
+                assertEquals(SimpleLocalTIme.of(expected.getHour(), expected.getMinute()), time.plus(3, unit));
+            }
+        }
+        final TemporalRange<SimpleLocalTIme> halfDays =
+                new TemporalRange<>(SimpleLocalTIme.MIDNIGHT, SimpleLocalTIme.of(23, 0), 1, ChronoUnit.HALF_DAYS);
+        assertEquals(Arrays.asList(SimpleLocalTIme.MIDNIGHT, SimpleLocalTIme.of(12, 0)),
+                     halfDays.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testEquals()
+    {
+        assertEquals(SimpleLocalTIme.of(10, 15), SimpleLocalTIme.ofMinuteOfDay(615));
+        assertNotEquals(SimpleLocalTIme.of(10, 15), SimpleLocalTIme.of(10, 16));
+        assertNotEquals(SimpleLocalTIme.of(10, 15), LocalTime.of(10, 15));
+        assertNotEquals(SimpleLocalTIme.of(10, 15), null);
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException
+    {
+        final SimpleLocalTIme time = SimpleLocalTIme.of(17, 42);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream output = new ObjectOutputStream(bytes))
+        {
+            output.writeObject(time);
+        }
+        try (final ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            assertSame(time, input.readObject());
+        }
+    }
+
+    @Test
+    public void testCodec() throws IOException
+    {
+        final byte[] ascii = new byte[16];
+        final ByteBuffer buffer = ByteBuffer.allocate(16);
+        final StringBuilder builder = new StringBuilder();
+        for (int minuteOfDay = 0; minuteOfDay < 24 * 60; minuteOfDay++)
+        {
+            final SimpleLocalTIme time = SimpleLocalTIme.ofMinuteOfDay(minuteOfDay);
+            final String extended = String.format("%02d:%02d", time.getHour(), time.getMinute());
+            final String basic = extended.replace(":", "");
+            assertEquals(extended, time.toString());
+            assertSame(time, SimpleLocalTIme.parse(extended));
+            assertSame(time, SimpleLocalTIme.parse(basic));
+
+            builder.setLength(0);
+            assertEquals(basic, SimpleLocalTImeCodec.BASIC.appendTo(time, builder).toString());
+            assertEquals(7, SimpleLocalTImeCodec.EXTENDED.writeTo(time, ascii, 2));
+            assertSame(time, SimpleLocalTImeCodec.EXTENDED.parse(ascii, 2));
+
+            buffer.clear();
+            SimpleLocalTImeCodec.BASIC.writeTo(time, buffer).flip();
+            assertSame(time, SimpleLocalTImeCodec.BASIC.parse(buffer));
+            assertEquals(4, buffer.position());
+        }
+        assertEquals("12:34", SimpleLocalTImeCodec.EXTENDED.appendTo(SimpleLocalTIme.of(12, 34), new StringWriter()).toString());
+    }
+
+    @Test
+    public void testCodecValidation()
+    {
+        for (final String text : new String[] {"24:00", "12:60", "1:30", "12-30", "12:3x", "+1:30", "12:30 ", "2400", "123"})
+            assertThrows(DateTimeParseException.class, () -> SimpleLocalTIme.parse(text), text);
+        assertThrows(DateTimeParseException.class, () -> SimpleLocalTImeCodec.BASIC.parse("12:30"));
+        assertThrows(IndexOutOfBoundsException.class, () -> SimpleLocalTImeCodec.EXTENDED.parse("x12:3", 1));
+
+        final ByteBuffer buffer = ByteBuffer.wrap("99:99".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(DateTimeParseException.class, () -> SimpleLocalTImeCodec.EXTENDED.parse(buffer));
+        assertEquals(0, buffer.position());
+    }
+}
@@ -0,0 +1,351 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+public class TemporalRangeTest
+{
+    private static final LocalDate START_DATE = LocalDate.of(2019, Month.JANUARY, 1);
+
+    @Test
+    public void testStepSize()
+    {
+        final TemporalRange<LocalDate> range = new TemporalRange<>(START_DATE, START_DATE.plusDays(20), 7, ChronoUnit.DAYS);
+        final List<LocalDate> expected = new ArrayList<>();
+        for (LocalDate date = START_DATE; date.isBefore(START_DATE.plusDays(20)); date = date.plusDays(7))
+            expected.add(date);
+
+        assertEquals(expected.size(), range.spliterator().getExactSizeIfKnown());
+        assertEquals(expected, range.stream().collect(Collectors.toList()));
+        assertEquals(expected, range.parallelStream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testNegativeAmount()
+    {
+        final TemporalRange<LocalDate> range = new TemporalRange<>(START_DATE, START_DATE.minusDays(20), -7, ChronoUnit.DAYS);
+        final List<LocalDate> expected = new ArrayList<>();
+        for (LocalDate date = START_DATE; date.isAfter(START_DATE.minusDays(20)); date = date.minusDays(7))
+            expected.add(date);
+
+        assertEquals(expected.size(), range.spliterator().getExactSizeIfKnown());
+        assertEquals(expected, range.stream().collect(Collectors.toList()));
+        assertEquals(expected, range.parallelStream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testPartialUnit()
+    {
+        final LocalDate endDate = LocalDate.of(2019, Month.MARCH, 15);
+        final TemporalRange<LocalDate> range = new TemporalRange<>(START_DATE, endDate, 1, ChronoUnit.MONTHS);
+        final List<LocalDate> dates = range.stream().collect(Collectors.toList());
+
+        assertEquals(3, dates.size());
+        assertEquals(LocalDate.of(2019, Month.MARCH, 1), dates.get(2));
+    }
+
+    @Test
+    public void testSteppers()
+    {
+        final List<Temporal> starts = Arrays.asList(
+                LocalDate.of(2019, Month.JANUARY, 31),
+                LocalDate.of(2020, Month.FEBRUARY, 29),
+                LocalDate.of(-5, Month.AUGUST, 15),
+                LocalDateTime.of(2019, Month.MARCH, 31, 23, 59, 30, 123_456_789),
+                LocalDateTime.of(1969, Month.DECEMBER, 31, 0, 0),
+                Instant.parse("2019-10-27T00:59:59.999Z"),
+                Instant.ofEpochSecond(-1, 1),
+                SimpleLocalTIme.of(23, 45),
+                SimpleLocalTIme.MIDNIGHT);
+        for (final Temporal start : starts)
+            for (final ChronoUnit unit : ChronoUnit.values())
+                if (unit.compareTo(ChronoUnit.MILLENNIA) <= 0 && start.isSupported(unit))
+                {
+                    final TemporalStepper<Temporal> stepper = TemporalSteppers.of(start, unit);
+                    for (long units = -1500; units <= 1500; units += 7)
+                        assertEquals(start.plus(units, unit), stepper.plus(units), start + " plus " + units + " " + unit);
+                }
+    }
+
+    @Test
+    public void testBalancedSplit()
+    {
+        final LocalDateRange range = LocalDateRange.of(START_DATE, START_DATE.plusYears(30));
+        final long size = ChronoUnit.DAYS.between(START_DATE, START_DATE.plusYears(30));
+
+        final Spliterator<LocalDate> suffix = range.spliterator();
+        final Spliterator<LocalDate> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(size / 2, prefix.getExactSizeIfKnown());
+        assertEquals(size - size / 2, suffix.getExactSizeIfKnown());
+
+        final LocalDate[] first = new LocalDate[1];
+        prefix.tryAdvance(date -> first[0] = date);
+        assertEquals(START_DATE, first[0]);
+        suffix.tryAdvance(date -> first[0] = date);
+        assertEquals(START_DATE.plusDays(size / 2), first[0]);
+
+        Spliterator<LocalDate> spliterator = range.spliterator();
+        long splits = 0;
+        while (spliterator.trySplit() != null)
+            splits++;
+        assertEquals(1, spliterator.getExactSizeIfKnown());
+        assertTrue(splits <= 64 - Long.numberOfLeadingZeros(size));
+    }
+
+    @Test
+    public void testParallelOrder()
+    {
+        final LocalDateRange range = LocalDateRange.of(START_DATE, START_DATE.plusYears(10));
+        assertEquals(range.stream().collect(Collectors.toList()),
+                     range.parallelStream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testRandomAccess()
+    {
+        final LocalDate endOfMonth = LocalDate.of(2019, Month.JANUARY, 31);
+        final List<TemporalRange<LocalDate>> ranges = Arrays.asList(
+                new TemporalRange<>(endOfMonth, endOfMonth.plusYears(3), 1, ChronoUnit.MONTHS),
+                new TemporalRange<>(endOfMonth, endOfMonth.minusYears(3), -2, ChronoUnit.MONTHS),
+                new TemporalRange<>(START_DATE, START_DATE.minusDays(200), -7, ChronoUnit.DAYS),
+                new TemporalRange<>(START_DATE, START_DATE.plusYears(4), 1, ChronoUnit.DAYS));
+        for (final TemporalRange<LocalDate> range : ranges)
+        {
+            final List<LocalDate> expected = range.stream().collect(Collectors.toList());
+            assertEquals(expected.size(), range.size());
+            assertEquals(expected, range.asList());
+            assertEquals(expected.get(0), range.first());
+            assertEquals(expected.get(expected.size() - 1), range.last());
+            for (int index = 0; index < expected.size(); index++)
+            {
+                assertEquals(expected.get(index), range.get(index));
+                assertEquals(index, range.indexOf(expected.get(index)));
+            }
+            final List<LocalDate> sorted = new ArrayList<>(expected);
+            sorted.sort(null);
+            final LocalDate low = sorted.get(0).minusDays(40);
+            for (LocalDate date = low; date.isBefore(sorted.get(sorted.size() - 1).plusDays(40)); date = date.plusDays(3))
+            {
+                final LocalDate value = date;
+                assertEquals(expected.contains(value), range.contains(value));
+                assertEquals(expected.indexOf(value), range.asList().indexOf(value));
+                assertEquals(sorted.stream().filter(element -> !element.isAfter(value)).reduce((a, b) -> b).orElse(null),
+                             range.floor(value));
+                assertEquals(sorted.stream().filter(element -> !element.isBefore(value)).findFirst().orElse(null),
+                             range.ceiling(value));
+            }
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> ranges.get(0).get(36));
+    }
+
+    @Test
+    public void testViews()
+    {
+        final LocalDate endOfMonth = LocalDate.of(2019, Month.JANUARY, 31);
+        final TemporalRange<LocalDate> range = new TemporalRange<>(endOfMonth, endOfMonth.plusYears(2), 1, ChronoUnit.MONTHS);
+        final List<LocalDate> expected = range.stream().collect(Collectors.toList());
+
+        final TemporalRange<LocalDate> view = range.subRange(3, 20).reversed().everyNth(3).subRange(1, 5);
+        final List<LocalDate> reversed = new ArrayList<>(expected.subList(3, 20));
+        Collections.reverse(reversed);
+        final List<LocalDate> stepped = new ArrayList<>();
+        for (int index = 0; index < reversed.size(); index += 3)
+            stepped.add(reversed.get(index));
+        assertEquals(stepped.subList(1, 5), view.stream().collect(Collectors.toList()));
+        assertEquals(stepped.subList(1, 5), view.parallelStream().collect(Collectors.toList()));
+        assertEquals(4, view.spliterator().getExactSizeIfKnown());
+        assertEquals(2, view.spliterator().trySplit().getExactSizeIfKnown());
+        assertEquals(expected.get(16), view.first());
+        assertEquals(2, view.indexOf(expected.get(10)));
+
+        assertEquals(expected.subList(0, 5), range.headRange(expected.get(5)).asList());
+        assertEquals(expected.subList(5, 24), range.tailRange(expected.get(5).minusDays(1)).asList());
+        assertEquals(Arrays.asList(expected.get(23), expected.get(22), expected.get(21), expected.get(20)),
+                     range.reversed().headRange(expected.get(19)).asList());
+        assertTrue(range.subRange(7, 7).isEmpty());
+        assertTrue(range.everyNth(5).reversed().tailRange(endOfMonth.minusDays(1)).isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> range.subRange(5, 25));
+        assertThrows(IllegalArgumentException.class, () -> range.everyNth(0));
+    }
+
+    @Test
+    public void testBatches()
+    {
+        final LocalDateTime start = START_DATE.atTime(9, 30);
+        final TemporalRange<LocalDateTime> range = new TemporalRange<>(start, start.minusDays(3), -7, ChronoUnit.MINUTES);
+        final List<LocalDateTime> expected = range.stream().collect(Collectors.toList());
+
+        assertEquals(expected, Arrays.asList(range.toArray(new LocalDateTime[0])));
+        final LocalDateTime[] large = new LocalDateTime[expected.size() + 2];
+        Arrays.fill(large, start);
+        assertSame(large, range.toArray(large));
+        assertEquals(expected, Arrays.asList(large).subList(0, expected.size()));
+        assertNull(large[expected.size()]);
+
+        final List<LocalDateTime> batched = new ArrayList<>();
+        final List<Integer> sizes = new ArrayList<>();
+        range.forEachBatch(100, batch ->
+        {
+            batched.addAll(Arrays.asList(batch));
+            sizes.add(batch.length);
+        });
+        assertEquals(expected, batched);
+        assertEquals(expected.size() / 100 + 1, sizes.size());
+        assertEquals(expected.size() % 100, sizes.get(sizes.size() - 1).intValue());
+
+        final LocalDateTime[] buffer = new LocalDateTime[64];
+        batched.clear();
+        range.forEachBatch(buffer, (batch, count) ->
+        {
+            assertSame(buffer, batch);
+            batched.addAll(Arrays.asList(batch).subList(0, count));
+        });
+        assertEquals(expected, batched);
+        assertThrows(IllegalArgumentException.class, () -> range.forEachBatch(0, batch -> fail()));
+    }
+
+    @Test
+    public void testParallelForEach() throws Exception
+    {
+        final LocalDateRange range = LocalDateRange.of(START_DATE, START_DATE.plusYears(10));
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try
+        {
+            final Set<LocalDate> seen = ConcurrentHashMap.newKeySet();
+            final AtomicInteger running = new AtomicInteger();
+            final AtomicInteger maxRunning = new AtomicInteger();
+            range.parallelForEach(executor, 30, 3, date ->
+            {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                seen.add(date);
+                running.decrementAndGet();
+            }).get(10, TimeUnit.SECONDS);
+            assertEquals(range.size(), seen.size());
+            assertTrue(maxRunning.get() <= 3);
+
+            assertNull(range.parallelForEach(7, date -> {}).get(10, TimeUnit.SECONDS));
+
+            // an executor that runs workers on the calling thread does not nest a call per chunk
+            final LocalDateRange centuries = LocalDateRange.of(LocalDate.of(1900, 1, 1), LocalDate.of(2400, 1, 1));
+            final AtomicInteger inline = new AtomicInteger();
+            assertNull(centuries.parallelForEach(Runnable::run, 1, 1, date -> inline.incrementAndGet())
+                                .get(10, TimeUnit.SECONDS));
+            assertEquals(centuries.size(), inline.get());
+
+            final CompletableFuture<Void> failed = range.parallelForEach(executor, 100, date ->
+            {
+                if (date.getYear() == 2024)
+                    throw new IllegalStateException(date.toString());
+            });
+            final ExecutionException exception = assertThrows(ExecutionException.class,
+                                                              () -> failed.get(10, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof IllegalStateException);
+
+            final CountDownLatch started = new CountDownLatch(1);
+            final AtomicInteger count = new AtomicInteger();
+            final CompletableFuture<Void> cancelled = range.parallelForEach(executor, 10, 1, date ->
+            {
+                count.incrementAndGet();
+                started.countDown();
+                LockSupport.parkNanos(1_000_000);
+            });
+            started.await();
+            assertTrue(cancelled.cancel(true));
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertTrue(count.get() < range.size());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        assertThrows(IllegalArgumentException.class, () -> range.parallelForEach(0, date -> {}));
+    }
+
+    @Test
+    public void testMetrics() throws Exception
+    {
+        final LocalDateRange range = LocalDateRange.of(START_DATE, START_DATE.plusDays(1000));
+        final RangeCounters counters = new RangeCounters();
+        final List<Integer> depths = Collections.synchronizedList(new ArrayList<>());
+        RangeMetrics.install(counters.andThen(new RangeMetrics()
+        {
+            @Override
+            public void split(final TemporalRange<?> range, final int depth, final long prefixSize,
+                              final long remainingSize)
+            {
+                depths.add(depth);
+            }
+        }));
+        try
+        {
+            for (final LocalDate date : range)
+                assertNotNull(date);
+            assertEquals(0, counters.getChunks());
+
+            final Spliterator<LocalDate> suffix = range.spliterator();
+            final Spliterator<LocalDate> prefix = suffix.trySplit();
+            assertNotNull(prefix.trySplit());
+            assertNotNull(suffix.trySplit());
+            assertEquals(Arrays.asList(0, 1, 1), depths);
+            assertEquals(3, counters.getSplits());
+            assertEquals(2, counters.getMaxDepth());
+            prefix.forEachRemaining(date -> {});
+            assertEquals(1, counters.getChunks());
+            assertEquals(250, counters.getElements());
+
+            counters.reset();
+            assertEquals(1000, range.parallelStream().count());
+            range.parallelStream().forEach(date -> {});
+            assertEquals(1000, counters.getElements());
+            assertEquals(counters.getSplits() + 1, counters.getChunks());
+
+            counters.reset();
+            assertThrows(IllegalStateException.class, () -> range.spliterator().forEachRemaining(date ->
+            {
+                if (date.equals(START_DATE.plusDays(10)))
+                    throw new IllegalStateException();
+            }));
+            assertEquals(1, counters.getChunks());
+            assertEquals(10, counters.getElements());
+
+            counters.reset();
+            range.parallelForEach(100, date -> {}).get(10, TimeUnit.SECONDS);
+            assertEquals(10, counters.getChunks());
+            assertEquals(1000, counters.getElements());
+        }
+        finally
+        {
+            RangeMetrics.uninstall();
+        }
+
+        counters.reset();
+        range.parallelStream().forEach(date -> {});
+        assertEquals(0, counters.getSplits() + counters.getChunks());
+    }
+}
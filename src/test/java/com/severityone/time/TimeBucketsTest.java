@@ -0,0 +1,64 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.stream.IntStream;
+
+public class TimeBucketsTest
+{
+    private static final ZoneId ZONE = ZoneId.of("Europe/Amsterdam");
+    private static final LocalDate DATE = LocalDate.of(2020, Month.MARCH, 28);
+
+    @Test
+    public void testQuarterHoursAcrossDaylightSavingTime()
+    {
+        final LocalDateTime start = DATE.atStartOfDay();
+        final TimeBuckets<LocalDateTime> buckets =
+                TimeBuckets.of(new TemporalRange<>(start, start.plusDays(2), 15, ChronoUnit.MINUTES), ZONE);
+        assertEquals(192, buckets.size());
+        assertEquals(start.plusMinutes(30), buckets.bucketStart(2));
+
+        final ZonedDateTime morning = DATE.plusDays(1).atTime(3, 20).atZone(ZONE);
+        assertEquals(96 + 13, buckets.bucketOf(morning.toInstant().toEpochMilli()));
+        assertEquals(-1, buckets.bucketOf(start.atZone(ZONE).toInstant().toEpochMilli() - 1));
+        assertEquals(-1, buckets.bucketOf(start.plusDays(2).atZone(ZONE).toInstant().toEpochMilli()));
+
+        final long epochMilli = morning.toInstant().toEpochMilli();
+        IntStream.range(0, 10_000).parallel().forEach(index -> buckets.record(epochMilli, index));
+        assertEquals(10_000, buckets.count(96 + 13));
+        assertEquals(49_995_000, buckets.sum(96 + 13));
+        assertEquals(10_000, IntStream.range(0, buckets.size()).mapToLong(buckets::count).sum());
+        assertEquals(10_000, buckets.counts()[96 + 13]);
+        assertEquals(49_995_000, buckets.sums()[96 + 13]);
+    }
+
+    @Test
+    public void testDailyBuckets()
+    {
+        final TimeBuckets<LocalDate> buckets = TimeBuckets.of(LocalDateRange.of(DATE, DATE.plusDays(7)), ZONE);
+        assertTrue(buckets.record(DATE.atStartOfDay(ZONE).toInstant(), 1));
+        assertTrue(buckets.record(DATE.plusDays(1).atTime(23, 59).atZone(ZONE).toInstant(), 2));
+        assertFalse(buckets.record(DATE.minusDays(1).atTime(23, 59).atZone(ZONE).toInstant(), 3));
+        assertArrayEquals(new long[]{1, 1, 0, 0, 0, 0, 0}, buckets.counts());
+        assertArrayEquals(new long[]{1, 2, 0, 0, 0, 0, 0}, buckets.sums());
+
+        final Instant instant = Instant.parse("2020-03-28T10:15:30Z");
+        final TimeBuckets<Instant> hours =
+                TimeBuckets.of(new TemporalRange<>(instant, instant.plus(1, ChronoUnit.DAYS), 1, ChronoUnit.HOURS),
+                               ZONE);
+        assertEquals(1, hours.bucketOf(instant.plusSeconds(3600).toEpochMilli()));
+
+        assertThrows(UnsupportedTemporalTypeException.class,
+                     () -> TimeBuckets.of(new TemporalRange<>(DATE, DATE.plusYears(1), 1, ChronoUnit.MONTHS), ZONE));
+    }
+}
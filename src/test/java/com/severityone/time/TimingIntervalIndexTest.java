@@ -0,0 +1,94 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+public class TimingIntervalIndexTest
+{
+    private static final LocalDate DATE = LocalDate.of(2020, Month.FEBRUARY, 29);
+
+    @Test
+    public void testInterval()
+    {
+        final Timing start = Timing.of(DATE, SimpleLocalTIme.of(9, 0), TimingType.START_TIME);
+        final Timing end = Timing.of(DATE, SimpleLocalTIme.of(17, 30), TimingType.END_TIME);
+        final TimingInterval interval = TimingInterval.of(start, end);
+        assertEquals(start, interval.getStart());
+        assertEquals(end, interval.getEnd());
+        assertEquals(510, interval.toMinutes());
+        assertTrue(interval.contains(start));
+        assertFalse(interval.contains(end.withTimingType(TimingType.START_TIME)));
+        assertEquals("2020-02-29T09:00/2020-02-29T17:30", interval.toString());
+        assertThrows(IllegalArgumentException.class, () -> TimingInterval.of(end, start));
+        assertThrows(IllegalArgumentException.class, () -> TimingInterval.of(start, start));
+
+        final TimingInterval other = TimingInterval.ofEpochMinutes(end.toEpochMinute() - 30, end.toEpochMinute() + 60);
+        assertEquals(TimingInterval.ofEpochMinutes(end.toEpochMinute() - 30, end.toEpochMinute()),
+                     interval.intersection(other).get());
+        assertFalse(interval.intersection(TimingInterval.ofEpochMinutes(end.toEpochMinute(),
+                                                                        end.toEpochMinute() + 1)).isPresent());
+    }
+
+    @Test
+    public void testAgainstLinearScan()
+    {
+        final SplittableRandom random = new SplittableRandom(42);
+        final long base = DATE.toEpochDay() * 1440;
+        final List<TimingInterval> intervals = new ArrayList<>();
+        for (int index = 0; index < 20_000; index++)
+        {
+            final long start = base + random.nextInt(100_000);
+            intervals.add(TimingInterval.ofEpochMinutes(start, start + random.nextInt(random.nextBoolean() ? 60 : 5000)));
+        }
+        final TimingIntervalIndex<TimingInterval> index = TimingIntervalIndex.of(intervals);
+        assertEquals(intervals.size(), index.size());
+
+        for (int query = 0; query < 200; query++)
+        {
+            final long from = base + random.nextInt(-1000, 101_000);
+            final TimingInterval window = TimingInterval.ofEpochMinutes(from, from + random.nextInt(300));
+            final List<TimingInterval> expected = intervals.stream()
+                                                           .filter(window::overlaps)
+                                                           .sorted()
+                                                           .collect(Collectors.toList());
+            final List<TimingInterval> actual = index.overlapping(window).sorted().collect(Collectors.toList());
+            assertEquals(expected, actual);
+            final List<TimingInterval> parallel = StreamSupport.stream(index.spliterator(window.getStartEpochMinute(),
+                                                                                         window.getEndEpochMinute()),
+                                                                       true)
+                                                               .sorted()
+                                                               .collect(Collectors.toList());
+            assertEquals(expected, parallel);
+
+            final Timing timing = Timing.ofEpochMinute(from, TimingType.START_TIME);
+            assertEquals(intervals.stream().filter(interval -> interval.contains(timing)).count(),
+                         index.activeAt(timing).count());
+        }
+    }
+
+    @Test
+    public void testOrderAndValues()
+    {
+        final long base = DATE.toEpochDay() * 1440;
+        final TimingIntervalIndex<String> index = TimingIntervalIndex.<String>builder()
+                .add(TimingInterval.ofEpochMinutes(base + 30, base + 90), "c")
+                .add(TimingInterval.ofEpochMinutes(base, base + 60), "a")
+                .add(TimingInterval.ofEpochMinutes(base + 10, base + 20), "b")
+                .add(TimingInterval.ofEpochMinutes(base + 100, base + 200), "d")
+                .build();
+        assertEquals("abc", index.overlapping(TimingInterval.ofEpochMinutes(base, base + 100))
+                                 .collect(Collectors.joining()));
+        assertEquals("ac", index.activeAt(Timing.ofEpochMinute(base + 50, TimingType.START_TIME))
+                                .collect(Collectors.joining()));
+        assertEquals(0, index.overlapping(TimingInterval.ofEpochMinutes(base + 95, base + 95)).count());
+    }
+}
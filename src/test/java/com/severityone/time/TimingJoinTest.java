@@ -0,0 +1,274 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class TimingJoinTest
+{
+    private static final LocalDate DATE = LocalDate.of(2020, Month.FEBRUARY, 29);
+
+    @Test
+    public void testOverlaps()
+    {
+        final List<Timing> bookings = timings(interval(9, 0, 10, 0), interval(10, 0, 12, 0), interval(14, 0, 14, 0));
+        final List<Timing> windows = timings(interval(8, 0, 9, 30), interval(11, 0, 13, 0));
+        final List<TimingJoin.Overlap> overlaps = TimingJoin.overlaps(bookings.spliterator(), windows.spliterator())
+                                                            .collect(Collectors.toList());
+        assertEquals(2, overlaps.size());
+        assertEquals(interval(9, 0, 10, 0), overlaps.get(0).getLeft());
+        assertEquals(interval(8, 0, 9, 30), overlaps.get(0).getRight());
+        assertEquals(interval(9, 0, 9, 30), overlaps.get(0).getIntersection());
+        assertEquals(interval(11, 0, 12, 0), overlaps.get(1).getIntersection());
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> TimingJoin.overlaps(windows.subList(1, 4).spliterator(), windows.spliterator()).count());
+        assertThrows(IllegalArgumentException.class,
+                     () -> TimingJoin.overlaps(windows.subList(0, 3).spliterator(), windows.spliterator()).count());
+        final List<Timing> unordered = new ArrayList<>(windows);
+        Collections.reverse(unordered);
+        assertThrows(IllegalArgumentException.class,
+                     () -> TimingJoin.overlaps(windows.spliterator(), unordered.spliterator()).count());
+    }
+
+    @Test
+    public void testAgainstNestedLoops()
+    {
+        final SplittableRandom random = new SplittableRandom(42);
+        for (int round = 0; round < 30; round++)
+        {
+            final List<Timing> left = round % 3 == 0 ? timings(randomOverlappingIntervals(random))
+                                                     : timings(randomIntervals(random, round % 2 == 0));
+            final List<Timing> right = round % 3 == 1 ? timings(randomOverlappingIntervals(random))
+                                                      : timings(randomIntervals(random, true));
+            final Set<TimingJoin.Overlap> expected = new HashSet<>();
+            for (final TimingInterval l : pair(left))
+                for (final TimingInterval r : pair(right))
+                    if (l.overlaps(r))
+                        expected.add(TimingJoin.overlaps(timings(l).spliterator(), timings(r).spliterator())
+                                               .findFirst().get());
+            final List<TimingJoin.Overlap> actual = TimingJoin.overlaps(left.spliterator(), right.spliterator())
+                                                              .collect(Collectors.toList());
+            assertEquals(expected, new HashSet<>(actual));
+            assertEquals(expected.size(), actual.size());
+            for (final TimingJoin.Overlap overlap : actual)
+                assertEquals(overlap.getLeft().intersection(overlap.getRight()).get(), overlap.getIntersection());
+            final List<TimingJoin.Overlap> sorted = new ArrayList<>(actual);
+            sorted.sort(Comparator.comparing(TimingJoin.Overlap::getIntersection,
+                                             Comparator.comparing(TimingInterval::getStart)));
+            assertEquals(sorted, actual);
+
+            // joining by day gives the same overlaps, cut at midnight
+            final LocalDateRange days = LocalDateRange.of(DATE, DATE.plusDays(40));
+            final List<String> byDay = new ArrayList<>();
+            for (final TimingJoin.Overlap overlap : actual)
+                byDay.addAll(byDay(overlap));
+            Collections.sort(byDay);
+            assertEquals(byDay, strings(TimingJoin.overlapsByDay(days, left.spliterator(), right.spliterator())));
+            assertEquals(byDay, strings(TimingJoin.parallelOverlapsByDay(days, left.spliterator(),
+                                                                         right.spliterator())));
+        }
+    }
+
+    @Test
+    public void testLongInterval()
+    {
+        final long first = DATE.toEpochDay() * 24 * 60;
+        final List<TimingInterval> shifts = new ArrayList<>();
+        for (long minute = first; minute < first + 20_000; minute += 2)
+            shifts.add(TimingInterval.ofEpochMinutes(minute, minute + 1));
+        final TimingInterval month = TimingInterval.ofEpochMinutes(first, first + 20_000);
+        final List<TimingJoin.Overlap> overlaps =
+                TimingJoin.overlaps(timings(shifts).spliterator(), timings(month).spliterator())
+                          .collect(Collectors.toList());
+        assertEquals(shifts.size(), overlaps.size());
+        for (int index = 0; index < shifts.size(); index++)
+            assertEquals(shifts.get(index), overlaps.get(index).getIntersection());
+        assertEquals(shifts.size(), TimingJoin.overlaps(timings(month).spliterator(), timings(shifts).spliterator())
+                                              .count());
+    }
+
+    @Test
+    public void testOverlapsByDay()
+    {
+        final LocalDate next = DATE.plusDays(1);
+        final long midnight = next.toEpochDay() * 24 * 60;
+        final List<Timing> bookings = timings(TimingInterval.ofEpochMinutes(midnight - 120, midnight + 120));
+        final List<Timing> windows = timings(TimingInterval.ofEpochMinutes(midnight - 60, midnight + 60),
+                                             TimingInterval.ofEpochMinutes(midnight + 90, midnight + 24 * 60 + 90));
+        final LocalDateRange days = LocalDateRange.of(DATE, DATE.plusDays(3));
+        final List<TimingJoin.Overlap> overlaps =
+                TimingJoin.overlapsByDay(days, bookings.spliterator(), windows.spliterator())
+                          .collect(Collectors.toList());
+        assertEquals(Arrays.asList(TimingInterval.ofEpochMinutes(midnight - 60, midnight),
+                                   TimingInterval.ofEpochMinutes(midnight, midnight + 60),
+                                   TimingInterval.ofEpochMinutes(midnight + 90, midnight + 120)),
+                     overlaps.stream().map(TimingJoin.Overlap::getIntersection).collect(Collectors.toList()));
+        assertEquals(TimingInterval.ofEpochMinutes(midnight - 120, midnight), overlaps.get(0).getLeft());
+        assertEquals(overlaps, TimingJoin.parallelOverlapsByDay(days, bookings.spliterator(), windows.spliterator())
+                                         .collect(Collectors.toList()));
+
+        // an interval that starts on an earlier day, while intervals that start later end first
+        final List<Timing> nested = new ArrayList<>();
+        nested.add(Timing.of(DATE, SimpleLocalTIme.of(23, 0), TimingType.START_TIME));
+        nested.add(Timing.of(next, SimpleLocalTIme.of(10, 0), TimingType.START_TIME));
+        nested.add(Timing.of(next, SimpleLocalTIme.of(11, 0), TimingType.END_TIME));
+        nested.add(Timing.of(next, SimpleLocalTIme.of(12, 0), TimingType.END_TIME));
+        final List<Timing> early = timings(TimingInterval.ofEpochMinutes(midnight + 5 * 60, midnight + 6 * 60));
+        assertEquals(1, TimingJoin.overlaps(nested.spliterator(), early.spliterator()).count());
+        assertEquals(Collections.singletonList(TimingInterval.ofEpochMinutes(midnight + 5 * 60, midnight + 6 * 60)),
+                     TimingJoin.overlapsByDay(days, nested.spliterator(), early.spliterator())
+                               .map(TimingJoin.Overlap::getIntersection)
+                               .collect(Collectors.toList()));
+
+        // an interval that covers a whole day, without any timings on it
+        final List<Timing> spanning = timings(TimingInterval.ofEpochMinutes(midnight - 120, midnight + 24 * 60 + 120));
+        final List<TimingJoin.Overlap> covering =
+                TimingJoin.overlapsByDay(days, spanning.spliterator(), early.spliterator()).collect(Collectors.toList());
+        assertEquals(1, covering.size());
+        assertEquals(TimingInterval.ofEpochMinutes(midnight, midnight + 24 * 60), covering.get(0).getLeft());
+        assertEquals(TimingInterval.ofEpochMinutes(midnight + 5 * 60, midnight + 6 * 60),
+                     covering.get(0).getIntersection());
+
+        // timings cut off by the days are completed with the start of the first day and the end of the last one
+        final List<TimingJoin.Overlap> clipped =
+                TimingJoin.overlapsByDay(LocalDateRange.of(next, next.plusDays(1)),
+                                         spanning.subList(1, 2).spliterator(), early.spliterator())
+                          .collect(Collectors.toList());
+        assertEquals(1, clipped.size());
+        assertEquals(TimingInterval.ofEpochMinutes(midnight, midnight + 24 * 60), clipped.get(0).getLeft());
+
+        // an end that is not matched by a start ends an interval that started first, even after an earlier end
+        final long first = DATE.toEpochDay() * 24 * 60;
+        final List<Timing> ongoing = Arrays.asList(Timing.of(DATE, SimpleLocalTIme.of(10, 0), TimingType.START_TIME),
+                                                   Timing.of(DATE, SimpleLocalTIme.of(11, 0), TimingType.END_TIME),
+                                                   Timing.of(DATE.plusDays(2), SimpleLocalTIme.of(9, 0),
+                                                             TimingType.END_TIME));
+        final List<Timing> morning = timings(interval(9, 0, 12, 0));
+        final List<TimingJoin.Overlap> ended =
+                TimingJoin.overlapsByDay(days, ongoing.spliterator(), morning.spliterator())
+                          .collect(Collectors.toList());
+        assertEquals(Arrays.asList(TimingInterval.ofEpochMinutes(first, first + 11 * 60),
+                                   TimingInterval.ofEpochMinutes(first + 10 * 60, midnight)),
+                     ended.stream().map(TimingJoin.Overlap::getLeft).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(interval(9, 0, 11, 0), interval(10, 0, 12, 0)),
+                     ended.stream().map(TimingJoin.Overlap::getIntersection).collect(Collectors.toList()));
+        assertEquals(Collections.singletonList(interval(5, 0, 6, 0)),
+                     TimingJoin.overlapsByDay(days, ongoing.spliterator(), timings(interval(5, 0, 6, 0)).spliterator())
+                               .map(TimingJoin.Overlap::getIntersection)
+                               .collect(Collectors.toList()));
+    }
+
+    private static TimingInterval interval(final int startHour, final int startMinute, final int endHour,
+                                           final int endMinute)
+    {
+        return TimingInterval.of(Timing.of(DATE, SimpleLocalTIme.of(startHour, startMinute), TimingType.START_TIME),
+                                 Timing.of(DATE, SimpleLocalTIme.of(endHour, endMinute), TimingType.END_TIME));
+    }
+
+    private static List<Timing> timings(final TimingInterval... intervals)
+    {
+        return timings(Arrays.asList(intervals));
+    }
+
+    private static List<Timing> timings(final List<TimingInterval> intervals)
+    {
+        final List<Timing> timings = new ArrayList<>();
+        for (final TimingInterval interval : intervals)
+        {
+            timings.add(interval.getStart());
+            timings.add(interval.getEnd());
+        }
+        Collections.sort(timings);
+        return timings;
+    }
+
+    /**
+     * Pairs up timings in order the way the join does: every end ends the earliest start that has not ended yet.
+     */
+    private static List<TimingInterval> pair(final List<Timing> timings)
+    {
+        final List<TimingInterval> intervals = new ArrayList<>();
+        final ArrayDeque<Timing> open = new ArrayDeque<>();
+        for (final Timing timing : timings)
+            if (timing.getTimingType() == TimingType.START_TIME)
+                open.add(timing);
+            else
+                intervals.add(TimingInterval.of(open.poll(), timing));
+        intervals.sort(null);
+        return intervals;
+    }
+
+    /**
+     * Returns the overlap cut at every midnight, as strings of the pieces of both intervals and the intersection.
+     */
+    private static List<String> byDay(final TimingJoin.Overlap overlap)
+    {
+        final List<String> pieces = new ArrayList<>();
+        final TimingInterval intersection = overlap.getIntersection();
+        final long day = 24 * 60;
+        for (long from = Math.floorDiv(intersection.getStartEpochMinute(), day) * day;
+             from < intersection.getEndEpochMinute();
+             from += day)
+        {
+            final TimingInterval date = TimingInterval.ofEpochMinutes(from, from + day);
+            pieces.add(overlap.getLeft().intersection(date).get() + " & " +
+                       overlap.getRight().intersection(date).get() + " = " +
+                       intersection.intersection(date).get());
+        }
+        return pieces;
+    }
+
+    private static List<String> strings(final Stream<TimingJoin.Overlap> overlaps)
+    {
+        return overlaps.map(TimingJoin.Overlap::toString).sorted().collect(Collectors.toList());
+    }
+
+    /**
+     * Returns intervals over a month that may overlap each other, and may cover whole days.
+     */
+    private static List<TimingInterval> randomOverlappingIntervals(final SplittableRandom random)
+    {
+        final List<TimingInterval> intervals = new ArrayList<>();
+        final long first = DATE.toEpochDay() * 24 * 60;
+        for (int count = random.nextInt(1, 200); count > 0; count--)
+        {
+            final long start = first + random.nextInt(31 * 24 * 60);
+            intervals.add(TimingInterval.ofEpochMinutes(start, start + random.nextInt(0, 3 * 24 * 60)));
+        }
+        return intervals;
+    }
+
+    /**
+     * Returns intervals over a month that do not overlap each other, but may follow each other without a gap.
+     */
+    private static List<TimingInterval> randomIntervals(final SplittableRandom random, final boolean touching)
+    {
+        final List<TimingInterval> intervals = new ArrayList<>();
+        long minute = DATE.toEpochDay() * 24 * 60;
+        final long end = minute + 31 * 24 * 60;
+        while (true)
+        {
+            minute += touching && random.nextBoolean() ? 0 : random.nextInt(1, 600);
+            final long length = random.nextInt(0, 600);
+            if (minute + length > end)
+                return intervals;
+            intervals.add(TimingInterval.ofEpochMinutes(minute, minute + length));
+            minute += length;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+public class TimingStoreTest
+{
+    private static final LocalDate DATE = LocalDate.of(2020, Month.FEBRUARY, 29);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRangeQueries() throws IOException
+    {
+        final Path path = directory.resolve("timings.bin");
+        final SplittableRandom random = new SplittableRandom(11);
+        final long[] packed = new long[10_000];
+        long epochMinute = DATE.toEpochDay() * 1440;
+        for (int index = 0; index < packed.length; index++)
+        {
+            epochMinute += random.nextInt(1, 30);
+            packed[index] = Timing.ofEpochMinute(epochMinute, TimingType.values()[index & 1]).toPacked();
+        }
+
+        try (TimingStore store = TimingStore.open(path, 256))
+        {
+            for (final long value : packed)
+                store.appendPacked(value);
+            assertEquals(packed.length, store.size());
+            assertEquals(Timing.ofPacked(packed[1234]), store.get(1234));
+            assertThrows(IllegalArgumentException.class, () -> store.appendPacked(packed[0]));
+            assertQueries(store, packed, random);
+        }
+
+        try (TimingStore store = TimingStore.open(path))
+        {
+            assertEquals(packed.length, store.size());
+            assertQueries(store, packed, random);
+            store.append(Timing.ofPacked(packed[packed.length - 1]));
+            assertEquals(packed.length + 1, store.size());
+        }
+    }
+
+    private static void assertQueries(final TimingStore store, final long[] packed, final SplittableRandom random)
+    {
+        for (int query = 0; query < 50; query++)
+        {
+            final LocalDate start = DATE.plusDays(random.nextInt(-10, 110));
+            final LocalDateRange range = LocalDateRange.of(start, start.plusDays(random.nextInt(1, 20)));
+            final long from = range.getStartInclusive().toEpochDay() * 1440 * 2;
+            final long to = from + range.getLength() * 1440 * 2;
+            final long[] expected = LongStream.of(packed).filter(value -> value >= from && value < to).toArray();
+            assertArrayEquals(expected, store.packed(range).toArray());
+            assertArrayEquals(expected, store.parallelPacked(range).toArray());
+            assertEquals(expected.length, store.timings(range).count());
+        }
+        assertArrayEquals(packed, store.parallelPacked(LocalDateRange.of(DATE.minusDays(1), DATE.plusYears(1)))
+                                       .toArray());
+    }
+}
@@ -0,0 +1,106 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+public class TimingTest
+{
+    private static final LocalDate DATE = LocalDate.of(2020, Month.FEBRUARY, 29);
+
+    @Test
+    public void testPacking()
+    {
+        final Timing timing = Timing.of(DATE, SimpleLocalTIme.of(13, 37), TimingType.END_TIME);
+        assertEquals(DATE, timing.getDate());
+        assertSame(SimpleLocalTIme.of(13, 37), timing.getTime());
+        assertEquals(TimingType.END_TIME, timing.getTimingType());
+        assertEquals(timing, Timing.ofPacked(timing.toPacked()));
+        assertEquals(timing.hashCode(), Timing.ofPacked(timing.toPacked()).hashCode());
+        assertEquals("2020-02-29T13:37 END_TIME", timing.toString());
+
+        final Timing old = Timing.of(LocalDate.of(-4000, Month.JANUARY, 1), SimpleLocalTIme.MAX, TimingType.START_TIME);
+        assertEquals(LocalDate.of(-4000, Month.JANUARY, 1), old.getDate());
+        assertSame(SimpleLocalTIme.MAX, old.getTime());
+    }
+
+    @Test
+    public void testOrdering()
+    {
+        final SplittableRandom random = new SplittableRandom(7);
+        final List<Timing> timings = new ArrayList<>();
+        for (int index = 0; index < 1000; index++)
+            timings.add(Timing.of(DATE.plusDays(random.nextInt(-1000, 1000)),
+                                  SimpleLocalTIme.ofMinuteOfDay(random.nextInt(1440)),
+                                  TimingType.values()[random.nextInt(2)]));
+        final List<Timing> expected = new ArrayList<>(timings);
+        expected.sort((first, second) -> {
+            int result = first.getDate().compareTo(second.getDate());
+            if (result == 0)
+                result = first.getTime().compareTo(second.getTime());
+            if (result == 0)
+                result = first.getTimingType().compareTo(second.getTimingType());
+            return result;
+        });
+        Collections.sort(timings);
+        assertEquals(expected, timings);
+    }
+
+    @Test
+    public void testArithmetic()
+    {
+        final Timing timing = Timing.of(DATE, SimpleLocalTIme.of(23, 30), TimingType.START_TIME);
+        final LocalDateTime dateTime = DATE.atTime(23, 30);
+
+        for (final ChronoUnit unit : new ChronoUnit[] {ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.HALF_DAYS, ChronoUnit.DAYS, ChronoUnit.MONTHS, ChronoUnit.YEARS})
+            for (int amount = -50; amount <= 50; amount += 7)
+            {
+                final Timing result = timing.plus(amount, unit);
+                final LocalDateTime expected = dateTime.plus(amount, unit);
+                assertEquals(expected.toLocalDate(), result.getDate());
+                assertEquals(expected.getHour(), result.getTime().getHour());
+                assertEquals(expected.getMinute(), result.getTime().getMinute());
+                assertEquals(TimingType.START_TIME, result.getTimingType());
+                assertEquals(dateTime.until(expected, unit), timing.until(result, unit), amount + " " + unit);
+            }
+
+        assertEquals(Timing.of(DATE.withDayOfMonth(1), SimpleLocalTIme.of(23, 30), TimingType.START_TIME),
+                     timing.with(ChronoField.DAY_OF_MONTH, 1));
+        assertEquals(Timing.of(DATE, SimpleLocalTIme.of(8, 30), TimingType.START_TIME),
+                     timing.with(ChronoField.HOUR_OF_DAY, 8));
+        for (final ChronoField field : new ChronoField[] {ChronoField.HOUR_OF_AMPM, ChronoField.CLOCK_HOUR_OF_DAY,
+                                                          ChronoField.CLOCK_HOUR_OF_AMPM, ChronoField.AMPM_OF_DAY})
+        {
+            assertTrue(timing.isSupported(field));
+            assertEquals(dateTime.get(field), timing.get(field));
+            final LocalDateTime expected = dateTime.with(field, field.range().getMinimum());
+            assertEquals(Timing.of(expected.toLocalDate(), SimpleLocalTIme.of(expected.getHour(), expected.getMinute()),
+                                   TimingType.START_TIME),
+                         timing.with(field, field.range().getMinimum()), field.toString());
+        }
+        assertEquals(DATE.atTime(23, 30, 15), timing.adjustInto(DATE.minusDays(3).atTime(1, 2, 15)));
+        assertEquals(29, timing.range(ChronoField.DAY_OF_MONTH).getMaximum());
+    }
+
+    @Test
+    public void testRange()
+    {
+        final Timing start = Timing.of(DATE, SimpleLocalTIme.of(22, 0), TimingType.START_TIME);
+        final Timing end = start.plusMinutes(4 * 60);
+        final TemporalRange<Timing> range = new TemporalRange<>(start, end, 30, ChronoUnit.MINUTES);
+        final List<Timing> timings = range.stream().collect(Collectors.toList());
+        assertEquals(8, timings.size());
+        assertEquals(Timing.of(DATE.plusDays(1), SimpleLocalTIme.of(1, 30), TimingType.START_TIME), timings.get(7));
+    }
+}
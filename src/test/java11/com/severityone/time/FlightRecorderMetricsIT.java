@@ -0,0 +1,81 @@
+package com.severityone.time;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class FlightRecorderMetricsIT
+{
+    private static final String SPLIT = "com.severityone.time.RangeSplit";
+    private static final String CHUNK = "com.severityone.time.RangeChunk";
+
+    @Test
+    public void testEvents() throws IOException
+    {
+        final LocalDate start = LocalDate.of(2020, Month.JANUARY, 1);
+        final LocalDateRange range = LocalDateRange.of(start, start.plusDays(1000));
+        final Path file = Files.createTempFile("ranges", ".jfr");
+        try
+        {
+            try (Recording recording = new Recording())
+            {
+                recording.enable(SPLIT);
+                recording.enable(CHUNK);
+                recording.start();
+                RangeMetrics.install(RangeMetrics.flightRecorder());
+                try
+                {
+                    final Spliterator<LocalDate> suffix = range.spliterator();
+                    final Spliterator<LocalDate> prefix = suffix.trySplit();
+                    prefix.forEachRemaining(date -> {});
+                    suffix.forEachRemaining(date -> {});
+                }
+                finally
+                {
+                    RangeMetrics.uninstall();
+                }
+                recording.stop();
+                recording.dump(file);
+            }
+
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            final List<RecordedEvent> splits = events.stream()
+                                                     .filter(event -> event.getEventType().getName().equals(SPLIT))
+                                                     .collect(Collectors.toList());
+            final List<RecordedEvent> chunks = events.stream()
+                                                     .filter(event -> event.getEventType().getName().equals(CHUNK))
+                                                     .collect(Collectors.toList());
+            assertEquals(1, splits.size());
+            assertEquals(0, splits.get(0).getInt("depth"));
+            assertEquals(500, splits.get(0).getLong("prefixSize"));
+            assertEquals(500, splits.get(0).getLong("remainingSize"));
+            assertEquals("LocalDate", splits.get(0).getString("elementType"));
+
+            assertEquals(2, chunks.size());
+            for (final RecordedEvent chunk : chunks)
+            {
+                assertEquals(1, chunk.getInt("depth"));
+                assertEquals(500, chunk.getLong("size"));
+                assertEquals(500, chunk.getLong("elements"));
+                assertEquals("Days", chunk.getString("unit"));
+            }
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+}